@@ -2,8 +2,10 @@ package sk.peter.tenis;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class TenisApiApplication {
     public static void main(String[] args) {
         SpringApplication.run(TenisApiApplication.class, args);
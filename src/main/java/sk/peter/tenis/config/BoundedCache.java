@@ -0,0 +1,129 @@
+package sk.peter.tenis.config;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local Spring {@link org.springframework.cache.Cache} with a size limit and a time-to-live.
+ * <p>
+ * Entries live in an access-ordered map: when the cache is full the least recently used
+ * entry is dropped, and an entry older than the TTL is treated as missing. Hits, misses
+ * and evictions are counted for {@link #stats()}. {@code null} values are stored, so a
+ * lookup of an unknown key is answered from memory as well.
+ */
+public class BoundedCache extends AbstractValueAdaptingCache {
+
+    /**
+     * Counters of one cache.
+     *
+     * @param size      current number of entries
+     * @param hits      lookups answered from the cache
+     * @param misses    lookups that had to load the value
+     * @param evictions entries dropped because the cache was full or the entry expired
+     */
+    public record Stats(int size, long hits, long misses, long evictions) {
+    }
+
+    private record Entry(Object value, long expiresAt) {
+    }
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final Map<Object, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedCache(String name, int maxSize, Duration ttl) {
+        this(name, maxSize, ttl, Clock.systemUTC());
+    }
+
+    BoundedCache(String name, int maxSize, Duration ttl, Clock clock) {
+        super(true);
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                if (size() <= BoundedCache.this.maxSize) return false;
+                evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return entries;
+    }
+
+    @Override
+    protected synchronized Object lookup(Object key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt() <= clock.millis()) {
+            entries.remove(key);
+            evictions.increment();
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) return (T) cached.get();
+
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public synchronized void put(Object key, Object value) {
+        entries.put(key, new Entry(toStoreValue(value), clock.millis() + ttlMillis));
+    }
+
+    @Override
+    public synchronized void evict(Object key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @return current size and counters of the cache
+     */
+    public synchronized Stats stats() {
+        return new Stats(entries.size(), hits.sum(), misses.sum(), evictions.sum());
+    }
+}
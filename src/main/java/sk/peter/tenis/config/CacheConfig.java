@@ -0,0 +1,34 @@
+package sk.peter.tenis.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Enables Spring's cache abstraction with local, bounded caches.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Normalized player name → player ID, see {@link sk.peter.tenis.service.jpa.PlayerLookupService}.
+     */
+    public static final String PLAYER_IDS = "playerIds";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${tenis.cache.player-ids.max-size:10000}") int playerIdsMaxSize,
+                                     @Value("${tenis.cache.player-ids.ttl-seconds:600}") long playerIdsTtlSeconds) {
+        SimpleCacheManager manager = new SimpleCacheManager();
+        manager.setCaches(List.of(
+                new BoundedCache(PLAYER_IDS, playerIdsMaxSize, Duration.ofSeconds(playerIdsTtlSeconds))
+        ));
+        return manager;
+    }
+}
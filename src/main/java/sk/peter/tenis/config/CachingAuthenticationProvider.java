@@ -0,0 +1,118 @@
+package sk.peter.tenis.config;
+
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Authentication provider that remembers recently verified username/password pairs.
+ * <p>
+ * The frontend sends HTTP Basic credentials with every request, and verifying them with bcrypt
+ * costs tens of milliseconds of CPU each time. This provider verifies a pair with the delegate
+ * once and then answers the same pair from memory until the entry expires.
+ * <p>
+ * Entries are keyed by an HMAC-SHA256 of the credentials under a random key generated at startup,
+ * so neither passwords nor reusable hashes of them are kept. Only successful authentications are
+ * cached; wrong passwords always reach the delegate. The cache holds at most {@code maxEntries}
+ * pairs and drops the least recently used one when full.
+ * <p>
+ * There is no invalidation: the users are fixed in {@link SecurityConfig} and cannot change
+ * at runtime. If passwords ever become changeable, the change must evict the user's entries here,
+ * otherwise the old password keeps working until its entry expires.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private static final String HMAC = "HmacSHA256";
+
+    private final AuthenticationProvider delegate;
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Clock clock;
+    private final SecretKeySpec key;
+    private final Map<String, Entry> cache;
+
+    private record Entry(Authentication authentication, long expiresAt) {
+    }
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, Duration ttl, int maxEntries) {
+        this(delegate, ttl, maxEntries, Clock.systemUTC());
+    }
+
+    CachingAuthenticationProvider(AuthenticationProvider delegate, Duration ttl, int maxEntries, Clock clock) {
+        this.delegate = delegate;
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, HMAC);
+
+        // access-order LinkedHashMap = LRU
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > CachingAuthenticationProvider.this.maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (ttlMillis <= 0 || maxEntries <= 0 || authentication.getCredentials() == null) {
+            return delegate.authenticate(authentication);
+        }
+
+        String cacheKey = cacheKey(authentication.getName(), authentication.getCredentials().toString());
+        long now = clock.millis();
+
+        synchronized (cache) {
+            Entry entry = cache.get(cacheKey);
+            if (entry != null) {
+                if (entry.expiresAt() > now) return entry.authentication();
+                cache.remove(cacheKey);
+            }
+        }
+
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated()) {
+            // uložený token nesmie obsahovať heslo
+            Authentication verified = UsernamePasswordAuthenticationToken.authenticated(
+                    result.getPrincipal(), null, result.getAuthorities());
+            synchronized (cache) {
+                cache.put(cacheKey, new Entry(verified, now + ttlMillis));
+            }
+            return verified;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    private String cacheKey(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(key);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
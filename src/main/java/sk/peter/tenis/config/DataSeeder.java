@@ -1,25 +1,28 @@
 package sk.peter.tenis.config;
 
-import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.annotation.Profile;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.core.annotation.Order;
 import sk.peter.tenis.entity.PlayerEntity;
 import sk.peter.tenis.model.PlayerType;
 import sk.peter.tenis.repository.PlayerRepository;
+import sk.peter.tenis.service.jpa.SeedJpaService;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 
 /**
  * Data seeder for loading initial player data from CSV into the database.
  *
- * Active only under the "h2" profile and runs once on application startup.
+ * Active only under the "h2" profile and run once by {@link SeedRunner}, before {@link MatchesSeeder}.
  * Seeding is performed only if the "players" table is empty.
  *
  * Reads player data from a CSV file defined in application properties.
@@ -29,24 +32,28 @@ import java.util.Locale;
  * - Skips invalid or malformed rows
  * - Ignores duplicate players (case-insensitive by name)
  * - Supports basic fallback parsing for player type
+ * - Inserts all players with batched statements via {@link SeedJpaService}
  *
  * Used only for development/testing with H2 database.
  */
 @Configuration
+@DependsOn("derivedColumnsBackfill")
 @Profile("h2")
-public class DataSeeder {
+@Order(1)
+public class DataSeeder implements Seeder {
 
     private final PlayerRepository playerRepository;
+    private final SeedJpaService seedService;
 
     @Value("${tenis.csv.players:./data/players.csv}")
     private String playersCsvPath;
 
-    public DataSeeder(PlayerRepository playerRepository) {
+    public DataSeeder(PlayerRepository playerRepository, SeedJpaService seedService) {
         this.playerRepository = playerRepository;
+        this.seedService = seedService;
     }
 
-    @Transactional
-    @PostConstruct
+    @Override
     public void seed() throws IOException {
         if (playerRepository.count() > 0) {
             return;
@@ -58,6 +65,7 @@ public class DataSeeder {
             return;
         }
 
+        List<PlayerEntity> players = new ArrayList<>();
         try (BufferedReader br = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
             String line;
             while ((line = br.readLine()) != null) {
@@ -84,11 +92,11 @@ public class DataSeeder {
                     else continue;
                 }
 
-                if (playerRepository.existsByNameIgnoreCase(name)) continue;
-
-                PlayerEntity entity = new PlayerEntity(name, age, type);
-                playerRepository.save(entity);
+                players.add(new PlayerEntity(name, age, type));
             }
         }
+
+        int inserted = seedService.seedPlayers(players);
+        System.out.println("✅ Naimportovaných hráčov: " + inserted);
     }
 }
\ No newline at end of file
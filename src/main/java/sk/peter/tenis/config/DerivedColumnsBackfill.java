@@ -0,0 +1,103 @@
+package sk.peter.tenis.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import sk.peter.tenis.entity.MatchEntity;
+import sk.peter.tenis.entity.PlayerEntity;
+import sk.peter.tenis.repository.MatchRepository;
+import sk.peter.tenis.repository.PlayerRepository;
+
+import java.util.List;
+
+/**
+ * One-time backfill of derived columns: the normalized player name and
+ * the derived match columns (winner, sets and games per side, canonical player pair).
+ *
+ * Rows stored before these columns existed have them empty. On startup the
+ * backfill recomputes them in batches; once all rows are filled, it only costs
+ * two empty queries. Seeders depend on this bean, because their name lookups
+ * go through the normalized name column.
+ *
+ * A legacy row whose filled columns would hit the unique key is the same match
+ * (same players, date and result) stored twice. It is deleted and the surviving row kept,
+ * so no row stays without derived columns and later startups do not revisit it.
+ */
+@Component
+@DependsOn("schemaCleanup")
+@Profile({"h2", "mysql"})
+public class DerivedColumnsBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(DerivedColumnsBackfill.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    private final PlayerRepository playerRepository;
+    private final MatchRepository matchRepository;
+
+    public DerivedColumnsBackfill(PlayerRepository playerRepository, MatchRepository matchRepository) {
+        this.playerRepository = playerRepository;
+        this.matchRepository = matchRepository;
+    }
+
+    @PostConstruct
+    public void backfill() {
+        backfillPlayers();
+        backfillMatches();
+    }
+
+    private void backfillPlayers() {
+        int updated = 0;
+
+        List<PlayerEntity> batch;
+        while (!(batch = playerRepository.findTop500ByNameNormalizedIsNull()).isEmpty()) {
+            batch.forEach(PlayerEntity::refreshNameNormalized);
+            playerRepository.saveAll(batch);
+            updated += batch.size();
+        }
+
+        if (updated > 0) {
+            log.info("🔁 Doplnené normalizované mená hráčov: {}", updated);
+        }
+    }
+
+    private void backfillMatches() {
+        int updated = 0;
+        int deleted = 0;
+        long lastId = 0;
+
+        List<MatchEntity> batch;
+        while (!(batch = matchRepository.findWithoutDerivedColumns(lastId, Limit.of(BATCH_SIZE))).isEmpty()) {
+            batch.forEach(MatchEntity::refreshDerivedColumns);
+            lastId = batch.get(batch.size() - 1).getId();
+
+            try {
+                matchRepository.saveAll(batch);
+                updated += batch.size();
+            } catch (DataIntegrityViolationException e) {
+                // the same match stored twice – save the rest one by one, delete the copies
+                for (MatchEntity m : batch) {
+                    try {
+                        matchRepository.save(m);
+                        updated++;
+                    } catch (DataIntegrityViolationException duplicate) {
+                        matchRepository.deleteById(m.getId());
+                        deleted++;
+                    }
+                }
+            }
+        }
+
+        if (updated > 0) {
+            log.info("🔁 Doplnené odvodené stĺpce pre zápasy: {}", updated);
+        }
+        if (deleted > 0) {
+            log.warn("⚠ Odstránené duplicitné zápasy: {}", deleted);
+        }
+    }
+}
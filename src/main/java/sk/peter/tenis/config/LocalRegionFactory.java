@@ -0,0 +1,106 @@
+package sk.peter.tenis.config;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-process Hibernate second-level cache.
+ * <p>
+ * Every region (entity data, query results, update timestamps) is a bounded, access-ordered map
+ * inside the JVM, so cached players are read without a database round trip. Concurrency
+ * and invalidation are handled by Hibernate's access strategies on top of the storage;
+ * this class only stores values. Works the same for every database profile.
+ * <p>
+ * Enabled with {@code hibernate.cache.region.factory_class}; the size of each region is set by
+ * {@value #MAX_ENTRIES_SETTING} (default {@value #DEFAULT_MAX_ENTRIES}).
+ */
+public class LocalRegionFactory extends RegionFactoryTemplate {
+
+    public static final String MAX_ENTRIES_SETTING = "hibernate.cache.local.max_entries";
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        Object value = configValues.get(MAX_ENTRIES_SETTING);
+        if (value != null) {
+            maxEntries = Integer.parseInt(value.toString().trim());
+        }
+    }
+
+    @Override
+    protected void releaseFromUse() {
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                   DomainDataRegionBuildingContext buildingContext) {
+        return new MapStorage(maxEntries);
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        return new MapStorage(maxEntries);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        // časové pečiatky tabuliek sa nesmú vyhodiť, inak by dotazy z cache mohli byť zastarané
+        return new MapStorage(Integer.MAX_VALUE);
+    }
+
+    private static final class MapStorage implements DomainDataStorageAccess {
+        private final Map<Object, Object> entries;
+
+        MapStorage(int maxEntries) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+
+        @Override
+        public synchronized Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            return entries.get(key);
+        }
+
+        @Override
+        public synchronized void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            entries.put(key, value);
+        }
+
+        @Override
+        public synchronized boolean contains(Object key) {
+            return entries.containsKey(key);
+        }
+
+        @Override
+        public synchronized void evictData() {
+            entries.clear();
+        }
+
+        @Override
+        public synchronized void evictData(Object key) {
+            entries.remove(key);
+        }
+
+        @Override
+        public synchronized void release() {
+            entries.clear();
+        }
+    }
+}
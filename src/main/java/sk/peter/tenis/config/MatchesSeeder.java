@@ -1,14 +1,13 @@
 package sk.peter.tenis.config;
 
-import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.annotation.Profile;
-import org.springframework.transaction.annotation.Transactional;
-import sk.peter.tenis.entity.MatchEntity;
-import sk.peter.tenis.entity.PlayerEntity;
+import org.springframework.core.annotation.Order;
 import sk.peter.tenis.repository.MatchRepository;
-import sk.peter.tenis.repository.PlayerRepository;
+import sk.peter.tenis.service.jpa.SeedJpaService;
+import sk.peter.tenis.service.jpa.SeedJpaService.MatchRow;
 
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -16,6 +15,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * Jednorazový import zápasov z CSV do DB (iba profil 'h2').
@@ -27,33 +28,37 @@ import java.time.LocalDate;
  * Peter;Novak;"6:4, 6:2";2025-04-15
  * <p>
  * Delimiter je ';', whitespace sa orezáva.
+ * <p>
+ * Súbor sa číta postupne a zápasy sa vkladajú po dávkach cez {@link SeedJpaService};
+ * hráči sa načítajú raz do mapy, nie pre každý riadok.
  */
 @Configuration
+@DependsOn("derivedColumnsBackfill")
 @Profile("h2")
-public class MatchesSeeder {
+@Order(2)
+public class MatchesSeeder implements Seeder {
 
     private final MatchRepository matchRepository;
-    private final PlayerRepository playerRepository;
+    private final SeedJpaService seedService;
 
     @Value("${tenis.csv.matches:./data/matches.csv}")
     private String matchesCsvPath;
 
     public MatchesSeeder(MatchRepository matchRepository,
-                         PlayerRepository playerRepository) {
+                         SeedJpaService seedService) {
         this.matchRepository = matchRepository;
-        this.playerRepository = playerRepository;
+        this.seedService = seedService;
     }
 
     /**
      * Imports matches from CSV file into the database.
      *
-     * <p>The import runs only once during application startup
+     * <p>The import runs only once per application start
      * and only if the matches table is empty.</p>
      *
      * @throws IOException if the CSV file cannot be read
      */
-    @Transactional
-    @PostConstruct
+    @Override
     public void seed() throws IOException {
         if (matchRepository.count() > 0) {
             return;
@@ -66,26 +71,21 @@ public class MatchesSeeder {
         }
 
         try (BufferedReader br = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
-            String line;
-            boolean headerProcessed = false;
-
-            while ((line = br.readLine()) != null) {
-                line = line.trim();
-
-                if (line.isEmpty()) {
-                    continue;
-                }
-
-                if (!headerProcessed) {
-                    if (isHeader(line)) {
-                        headerProcessed = true;
-                        continue;
-                    }
-                    headerProcessed = true;
-                }
-
-                processLine(line);
-            }
+            boolean[] headerProcessed = {false};
+
+            Stream<MatchRow> rows = br.lines()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty())
+                    .filter(line -> {
+                        if (headerProcessed[0]) return true;
+                        headerProcessed[0] = true;
+                        return !isHeader(line);
+                    })
+                    .map(this::parseLine)
+                    .filter(Objects::nonNull);
+
+            int inserted = seedService.seedMatches(rows);
+            System.out.println("✅ Naimportovaných zápasov: " + inserted);
         }
     }
 
@@ -99,10 +99,10 @@ public class MatchesSeeder {
                 || lower.contains("dátum");
     }
 
-    private void processLine(String line) {
+    private MatchRow parseLine(String line) {
         String[] parts = line.split(";");
         if (parts.length < 4) {
-            return;
+            return null;
         }
 
         String nameA = parts[0].trim();
@@ -114,26 +114,9 @@ public class MatchesSeeder {
         try {
             date = LocalDate.parse(dateStr);
         } catch (Exception ex) {
-            return;
-        }
-
-        PlayerEntity playerA = playerRepository.findByNameIgnoreCase(nameA).orElse(null);
-        PlayerEntity playerB = playerRepository.findByNameIgnoreCase(nameB).orElse(null);
-
-        if (playerA == null || playerB == null) {
-            System.out.println("⚠ Preskakujem zápas: neznámy hráč A/B (" + nameA + "/" + nameB + ")");
-            return;
-        }
-
-        boolean duplicateMatch =
-                matchRepository.existsByPlayerA_NameIgnoreCaseAndPlayerB_NameIgnoreCaseAndDate(nameA, nameB, date)
-                        || matchRepository.existsByPlayerB_NameIgnoreCaseAndPlayerA_NameIgnoreCaseAndDate(nameA, nameB, date);
-
-        if (duplicateMatch) {
-            return;
+            return null;
         }
 
-        MatchEntity entity = new MatchEntity(playerA, playerB, result, date);
-        matchRepository.save(entity);
+        return new MatchRow(nameA, nameB, result, date);
     }
-}
\ No newline at end of file
+}
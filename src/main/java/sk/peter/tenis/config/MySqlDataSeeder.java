@@ -1,14 +1,16 @@
 package sk.peter.tenis.config;
 
-import jakarta.annotation.PostConstruct;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import sk.peter.tenis.entity.PlayerEntity;
 import sk.peter.tenis.model.Match;
 import sk.peter.tenis.model.Player;
 import sk.peter.tenis.service.CsvService;
 import sk.peter.tenis.service.jpa.MatchJpaService;
 import sk.peter.tenis.service.jpa.PlayerJpaService;
+import sk.peter.tenis.service.jpa.SeedJpaService;
+import sk.peter.tenis.service.jpa.SeedJpaService.MatchRow;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -17,30 +19,33 @@ import java.util.List;
  * One-time data seeder for the MySQL profile.
  *
  * Loads players and matches from CSV files into the database
- * during application startup.
+ * when {@link SeedRunner} runs the seeders.
  *
  * The seeding process runs only when the "mysql" profile is active
  * and only if the database does not already contain any data.
  *
- * The entire seeding operation is wrapped in a transaction
- * to ensure atomicity and consistency.
+ * Players and matches are inserted with batched statements via {@link SeedJpaService},
+ * each group in its own transaction.
  */
 @Component
+@DependsOn("derivedColumnsBackfill")
 @Profile("mysql")   // Aktivuje sa iba pri MySQL profile
-public class MySqlDataSeeder {
+public class MySqlDataSeeder implements Seeder {
 
     private final PlayerJpaService playerJpaService;
     private final MatchJpaService matchJpaService;
+    private final SeedJpaService seedService;
 
     public MySqlDataSeeder(PlayerJpaService playerJpaService,
-                           MatchJpaService matchJpaService) {
+                           MatchJpaService matchJpaService,
+                           SeedJpaService seedService) {
         this.playerJpaService = playerJpaService;
         this.matchJpaService = matchJpaService;
+        this.seedService = seedService;
     }
 
-    @Transactional
-    @PostConstruct
-    public void seedData() throws Exception {
+    @Override
+    public void seed() throws Exception {
         // Ak databáza už obsahuje dáta, neimportuj znova
         if (playerJpaService.count() > 0 || matchJpaService.count() > 0) {
             System.out.println("⚠️ Dáta už existujú v MySQL – import z CSV preskočený.");
@@ -51,22 +56,25 @@ public class MySqlDataSeeder {
         List<Player> players = new ArrayList<>();
         CsvService.loadPlayers(players);
 
-        if (!players.isEmpty()) {
-            players.forEach(playerJpaService::save);
-            System.out.println("✅ Naimportovaných hráčov: " + players.size());
+        int playerCount = seedService.seedPlayers(players.stream()
+                .map(p -> new PlayerEntity(p.getName(), p.getAge(), p.getType()))
+                .toList());
+        if (playerCount > 0) {
+            System.out.println("✅ Naimportovaných hráčov: " + playerCount);
         }
 
         // Načítaj zápasy z CSV
         List<Match> matches = new ArrayList<>();
         CsvService.loadMatches(matches, players);
 
-        if (!matches.isEmpty()) {
-            matches.forEach(matchJpaService::save);
-            System.out.println("✅ Naimportovaných zápasov: " + matches.size());
+        int matchCount = seedService.seedMatches(matches.stream()
+                .map(m -> new MatchRow(m.getPlayerA().getName(), m.getPlayerB().getName(), m.getScore(), m.getDate())));
+        if (matchCount > 0) {
+            System.out.println("✅ Naimportovaných zápasov: " + matchCount);
         }
 
-        if (!players.isEmpty() || !matches.isEmpty()) {
+        if (playerCount > 0 || matchCount > 0) {
             System.out.println("🎾 CSV dáta boli úspešne naimportované do MySQL.");
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,90 @@
+package sk.peter.tenis.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Drops unique indexes that are no longer declared on the entities.
+ *
+ * Hibernate's {@code ddl-auto=update} creates new indexes but never drops old ones,
+ * so an index replaced by a different definition would keep being enforced.
+ * Runs on startup before the backfill and the seeders.
+ */
+@Component
+@Profile({"h2", "mysql"})
+public class SchemaCleanup {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaCleanup.class);
+
+    private static final String MATCHES_TABLE = "matches";
+
+    // (pair, date) was replaced by (pair, date, result)
+    private static final List<String> OBSOLETE_MATCH_INDEXES = List.of("uk_match_pair_date");
+
+    private final DataSource dataSource;
+
+    public SchemaCleanup(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    public void dropObsoleteIndexes() {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData meta = connection.getMetaData();
+            boolean mysql = meta.getDatabaseProductName().toLowerCase(Locale.ROOT).contains("mysql");
+
+            for (String index : OBSOLETE_MATCH_INDEXES) {
+                // Hibernate creates unique indexes as unique constraints; in MySQL the backing index has the same name
+                String sql;
+                if (mysql) {
+                    if (!hasIndex(meta, MATCHES_TABLE, index)) continue;
+                    sql = "ALTER TABLE " + MATCHES_TABLE + " DROP INDEX " + index;
+                } else {
+                    if (!hasConstraint(connection, MATCHES_TABLE, index)) continue;
+                    sql = "ALTER TABLE " + MATCHES_TABLE + " DROP CONSTRAINT " + index;
+                }
+
+                try (Statement st = connection.createStatement()) {
+                    st.execute(sql);
+                }
+                log.info("🧹 Odstránený zastaraný index: {}", index);
+            }
+        } catch (SQLException e) {
+            log.warn("⚠ Kontrola zastaraných indexov zlyhala", e);
+        }
+    }
+
+    private static boolean hasIndex(DatabaseMetaData meta, String table, String index) throws SQLException {
+        try (ResultSet rs = meta.getIndexInfo(null, null, table, false, false)) {
+            while (rs.next()) {
+                if (index.equalsIgnoreCase(rs.getString("INDEX_NAME"))) return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasConstraint(Connection connection, String table, String constraint) throws SQLException {
+        // H2 stores unquoted identifiers in upper case
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT 1 FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS WHERE TABLE_NAME = ? AND CONSTRAINT_NAME = ?")) {
+            ps.setString(1, table.toUpperCase(Locale.ROOT));
+            ps.setString(2, constraint.toUpperCase(Locale.ROOT));
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package sk.peter.tenis.config;
 
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.core.userdetails.User;
@@ -14,6 +17,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.time.Duration;
+
 @Configuration
 public class SecurityConfig {
 
@@ -27,7 +32,7 @@ public class SecurityConfig {
                         .requestMatchers("/", "/index.html", "/assets/**", "/vite.svg").permitAll()
 
                         .requestMatchers(HttpMethod.GET,
-                                "/api/health",
+                                "/api/health/**",
                                 "/api/players/**",
                                 "/api/matches/**",
                                 "/api/stats/**"
@@ -57,6 +62,20 @@ public class SecurityConfig {
         return PasswordEncoderFactories.createDelegatingPasswordEncoder();
     }
 
+    /**
+     * Verifies HTTP Basic credentials with bcrypt once and remembers the result for a short time,
+     * so repeated requests with the same credentials skip the hash.
+     */
+    @Bean
+    public AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService,
+                                                         PasswordEncoder encoder,
+                                                         @Value("${tenis.auth.cache-ttl-seconds:300}") long ttlSeconds,
+                                                         @Value("${tenis.auth.cache-max-entries:1000}") int maxEntries) {
+        DaoAuthenticationProvider bcrypt = new DaoAuthenticationProvider(encoder);
+        bcrypt.setUserDetailsService(userDetailsService);
+        return new CachingAuthenticationProvider(bcrypt, Duration.ofSeconds(ttlSeconds), maxEntries);
+    }
+
     @Bean
     public UserDetailsService userDetailsService(PasswordEncoder encoder) {
 
@@ -0,0 +1,79 @@
+package sk.peter.tenis.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Runs all {@link Seeder}s once per application start.
+ *
+ * By default seeding runs during startup, before the web server opens its port.
+ * With {@code tenis.seed.async=true} it runs on a background thread after the
+ * application is ready; {@link SeedStatus} tells clients when the data is complete.
+ *
+ * Depends on the backfill, because seeders resolve players through the normalized name column.
+ */
+@Component
+@DependsOn("derivedColumnsBackfill")
+@Profile({"h2", "mysql"})
+public class SeedRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SeedRunner.class);
+
+    private final List<Seeder> seeders;
+    private final SeedStatus status;
+
+    @Value("${tenis.seed.async:false}")
+    private boolean async;
+
+    public SeedRunner(List<Seeder> seeders, SeedStatus status) {
+        this.seeders = seeders;
+        this.status = status;
+    }
+
+    @PostConstruct
+    public void seedOnStartup() {
+        if (async) {
+            status.pending();
+            return;
+        }
+        // on the startup path a failed seed still fails the startup, as before
+        if (!run()) {
+            throw new IllegalStateException("Seeding failed: " + status.getError());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedWhenReady() {
+        if (!async) return;
+
+        Thread thread = new Thread(this::run, "seed");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    boolean run() {
+        status.running();
+        long start = System.currentTimeMillis();
+        try {
+            for (Seeder seeder : seeders) {
+                seeder.seed();
+            }
+            status.done();
+            log.info("🎾 Seedovanie dokončené za {} ms", System.currentTimeMillis() - start);
+            return true;
+        } catch (Exception e) {
+            status.failed(e);
+            log.error("⚠ Seedovanie zlyhalo", e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package sk.peter.tenis.config;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Progress of the initial data seeding, reported by the health endpoint.
+ *
+ * Seeding runs either on the startup path (default) or, with
+ * {@code tenis.seed.async=true}, in the background once the web server is ready.
+ * In the second case the API is reachable before the data is complete,
+ * so clients can watch {@link #isReady()} instead.
+ *
+ * In CSV mode nothing is seeded and the state stays {@link State#NONE}.
+ */
+@Component
+public class SeedStatus {
+
+    public enum State {
+        NONE,
+        PENDING,
+        RUNNING,
+        DONE,
+        FAILED
+    }
+
+    private volatile State state = State.NONE;
+    private volatile String error;
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * @return failure message if seeding failed, otherwise {@code null}
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * @return {@code true} unless seeding is still waiting or running
+     */
+    public boolean isReady() {
+        State s = state;
+        return s != State.PENDING && s != State.RUNNING;
+    }
+
+    void pending() {
+        state = State.PENDING;
+    }
+
+    void running() {
+        state = State.RUNNING;
+    }
+
+    void done() {
+        state = State.DONE;
+    }
+
+    void failed(Exception e) {
+        error = e.getMessage();
+        state = State.FAILED;
+    }
+}
@@ -0,0 +1,17 @@
+package sk.peter.tenis.config;
+
+/**
+ * One step of the initial data seeding, run by {@link SeedRunner}.
+ *
+ * Steps run in {@link org.springframework.core.annotation.Order} order,
+ * so players are always stored before matches refer to them.
+ */
+public interface Seeder {
+
+    /**
+     * Loads the seed data unless the target table already contains rows.
+     *
+     * @throws Exception if the seed file cannot be read
+     */
+    void seed() throws Exception;
+}
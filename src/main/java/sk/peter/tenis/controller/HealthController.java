@@ -1,29 +1,76 @@
 package sk.peter.tenis.controller;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestMapping;
+import sk.peter.tenis.config.BoundedCache;
+import sk.peter.tenis.config.SeedStatus;
+
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * Simple health check controller.
  *
- * Used to verify that the application is running and reachable.
+ * Used to verify that the application is running and reachable,
+ * and whether the initial data seeding has finished.
+ * Also reports hit and miss counters of the local caches.
  */
 @RestController
 @RequestMapping("/api")
 public class HealthController {
 
+    private static final String STATUS = "OK";
+
+    private final SeedStatus seedStatus;
+    private final CacheManager cacheManager;
+
+    public HealthController(SeedStatus seedStatus, CacheManager cacheManager) {
+        this.seedStatus = seedStatus;
+        this.cacheManager = cacheManager;
+    }
+
     /**
      * Returns basic health status of the application.
      *
-     * @return "OK" if the application is running
+     * @return "OK" if the application is running, with the seeding state and cache counters
      */
+    @GetMapping(value = "/health", produces = "application/json")
+    public Map<String, Object> health() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", STATUS);
+        body.put("seed", seedStatus.getState());
+        body.put("ready", seedStatus.isReady());
+        if (seedStatus.getError() != null) {
+            body.put("seedError", seedStatus.getError());
+        }
+        body.put("caches", cacheStats());
+        return body;
+    }
 
-    private static final String STATUS = "OK";
+    private Map<String, BoundedCache.Stats> cacheStats() {
+        Map<String, BoundedCache.Stats> stats = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof BoundedCache bounded) {
+                stats.put(name, bounded.stats());
+            }
+        }
+        return stats;
+    }
 
-    @GetMapping(value = "/health", produces = "application/json")
-    public Map<String, String> health() {
-        return Map.of("status", STATUS);
+    /**
+     * Readiness check: 200 once the data is complete, 503 while seeding is still waiting or running.
+     *
+     * @return seeding state with the matching HTTP status
+     */
+    @GetMapping(value = "/health/ready", produces = "application/json")
+    public ResponseEntity<Map<String, Object>> ready() {
+        HttpStatus status = seedStatus.isReady() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status).body(Map.of("seed", seedStatus.getState()));
     }
-}
\ No newline at end of file
+}
@@ -1,142 +1,241 @@
 package sk.peter.tenis.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
-import org.springframework.core.env.Environment;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import sk.peter.tenis.dto.MatchCursor;
 import sk.peter.tenis.dto.MatchDto;
 import sk.peter.tenis.dto.MatchResponseDto;
 import sk.peter.tenis.dto.MatchUpdateDto;
-import sk.peter.tenis.entity.MatchEntity;
-import sk.peter.tenis.service.MatchService;
-import sk.peter.tenis.service.jpa.MatchJpaService;
+import sk.peter.tenis.storage.MatchStore;
 
-import java.util.Arrays;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * REST controller responsible for managing tennis matches.
  *
- * Supports two modes:
- * - CSV mode (default)
- * - JPA mode (when "mysql" profile is active)
+ * Works with the {@link MatchStore} selected by profile at startup
+ * (database for "h2" and "mysql", CSV or memory otherwise).
  */
 @RestController
 @RequestMapping("/api/matches")
 public class MatchController {
 
-    private final MatchService csvService;
-    private final MatchJpaService jpaService;
-    private final Environment env;
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+    static final int MAX_BULK_ROWS = 100_000;
+    // the first match is flushed right away, then every n-th
+    private static final int EXPORT_FLUSH_EVERY = 500;
+    private static final Set<String> CSV_DATE_HEADERS = Set.of("datum", "dátum", "date");
 
-    public MatchController(MatchService csvService,
-                           MatchJpaService jpaService,
-                           Environment env) {
-        this.csvService = csvService;
-        this.jpaService = jpaService;
-        this.env = env;
-    }
-
-    private boolean isJpaActive() {
-        return Arrays.stream(env.getActiveProfiles())
-                .anyMatch(p -> p.equalsIgnoreCase("mysql"));
-    }
+    private final MatchStore matchStore;
+    private final ObjectMapper objectMapper;
 
-    private MatchResponseDto toDto(MatchEntity match) {
-        return new MatchResponseDto(
-                match.getId(),
-                match.getPlayerA().getName(),
-                match.getPlayerB().getName(),
-                match.getResult(),
-                match.getDate()
-        );
+    public MatchController(MatchStore matchStore, ObjectMapper objectMapper) {
+        this.matchStore = matchStore;
+        this.objectMapper = objectMapper;
     }
 
     private ResponseEntity<Map<String, String>> badRequest(String message) {
         return ResponseEntity.badRequest().body(Map.of("error", message));
     }
 
+    /**
+     * Lists matches.
+     *
+     * <p>Without parameters the whole history is returned as a plain array (legacy behaviour).
+     * As soon as any parameter is present, one page ordered by date and ID is returned
+     * as {@code {items, nextCursor}}; the next page is requested with {@code cursor=nextCursor}
+     * and the same filters.</p>
+     *
+     * @param player optional player name filter
+     * @param from optional start date (YYYY-MM-DD)
+     * @param to optional end date (YYYY-MM-DD)
+     * @param size page size, 1 to {@value #MAX_PAGE_SIZE}, default {@value #DEFAULT_PAGE_SIZE}
+     * @param cursor cursor returned with the previous page
+     */
     @GetMapping
-    public ResponseEntity<?> getAllMatches() {
-        if (isJpaActive()) {
-            return ResponseEntity.ok(
-                    jpaService.findAll()
-                            .stream()
-                            .map(this::toDto)
-                            .toList()
-            );
+    public ResponseEntity<?> getAllMatches(@RequestParam(required = false) String player,
+                                           @RequestParam(required = false) String from,
+                                           @RequestParam(required = false) String to,
+                                           @RequestParam(required = false) Integer size,
+                                           @RequestParam(required = false) String cursor) {
+
+        if (player == null && from == null && to == null && size == null && cursor == null) {
+            return ResponseEntity.ok(matchStore.findAll());
         }
-        return ResponseEntity.ok(csvService.findAll());
+
+        LocalDate fromDate;
+        LocalDate toDate;
+        try {
+            fromDate = parseDate(from);
+            toDate = parseDate(to);
+        } catch (DateTimeParseException e) {
+            return badRequest("Invalid date format (use YYYY-MM-DD)");
+        }
+
+        String name = (player == null || player.isBlank()) ? null : player.trim();
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        MatchCursor after = MatchCursor.decode(cursor);
+
+        return ResponseEntity.ok(matchStore.findPage(name, fromDate, toDate, after, pageSize));
+    }
+
+    private static LocalDate parseDate(String value) {
+        return (value == null || value.isBlank()) ? null : LocalDate.parse(value.trim());
+    }
+
+    /**
+     * Streams the whole match history without building it in memory first.
+     *
+     * <p>Matches are written as they are read, by default as newline-delimited JSON
+     * (one match per line); {@code format=json} writes a single JSON array instead.</p>
+     *
+     * @param format {@code ndjson} (default) or {@code json}
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportMatches(
+            @RequestParam(defaultValue = "ndjson") String format) {
+
+        boolean asArray = format.equalsIgnoreCase("json");
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+                gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                if (asArray) gen.writeStartArray();
+
+                int[] written = {0};
+                Consumer<MatchResponseDto> writer = dto -> {
+                    try {
+                        gen.writeObject(dto);
+                        if (!asArray) gen.writeRaw('\n');
+                        if (++written[0] % EXPORT_FLUSH_EVERY == 1) gen.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                };
+
+                try {
+                    matchStore.forEachResponse(writer);
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+
+                if (asArray) gen.writeEndArray();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(asArray ? MediaType.APPLICATION_JSON : MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
+    /**
+     * Creates a match.
+     *
+     * <p>Returns {@code 201 Created} for a new match. Posting a match that is already stored
+     * is an idempotent replay: nothing changes and the stored match is returned with {@code 200 OK}.</p>
+     *
+     * @param matchDto match to create
+     */
     @PostMapping
     public ResponseEntity<?> createMatch(@RequestBody @Valid MatchDto matchDto) {
+        // odmietnutý zápis hlási store ako IllegalArgumentException → 400
+        MatchStore.Created result = matchStore.create(matchDto);
+        return ResponseEntity
+                .status(result.created() ? HttpStatus.CREATED : HttpStatus.OK)
+                .body(result.match());
+    }
 
-        if (isJpaActive()) {
+    /**
+     * Imports many matches at once from a JSON array of match objects.
+     *
+     * <p>Every row is validated like a single create; invalid rows and duplicates
+     * are reported per row and do not stop the import.</p>
+     *
+     * @param rows matches to import
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> importMatches(@RequestBody List<MatchDto> rows) {
+        return importRows(rows);
+    }
 
-            csvService.validateMatchBusinessRules(matchDto);
+    /**
+     * Imports many matches at once from CSV text ({@code PlayerA;PlayerB;Score;Date} per line,
+     * optional header line, recognised by a date column named {@code Datum} or {@code Date}).
+     *
+     * @param body CSV content
+     */
+    @PostMapping(value = "/bulk", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<?> importMatchesCsv(@RequestBody String body) {
+        return importRows(parseCsvRows(body));
+    }
 
-            MatchEntity saved = jpaService.save(matchDto);
+    private ResponseEntity<?> importRows(List<MatchDto> rows) {
+        if (rows == null || rows.isEmpty()) {
+            return badRequest("No matches to import");
+        }
+        if (rows.size() > MAX_BULK_ROWS) {
+            return badRequest("Too many matches in one import (max " + MAX_BULK_ROWS + ")");
+        }
 
-            if (saved == null) {
-                return badRequest("Player(s) not found");
-            }
+        return ResponseEntity.ok(matchStore.importMatches(rows));
+    }
 
-            return ResponseEntity
-                    .status(HttpStatus.CREATED)
-                    .body(toDto(saved));
-        }
+    private static List<MatchDto> parseCsvRows(String body) {
+        List<MatchDto> rows = new ArrayList<>();
+        if (body == null) return rows;
 
-        try {
-            var created = csvService.createFromDto(matchDto);
+        boolean first = true;
+        for (String line : body.split("\\R")) {
+            line = line.trim();
+            if (line.isEmpty()) continue;
 
-            if (created == null ||
-                    created.getPlayerA() == null ||
-                    created.getPlayerB() == null) {
-                return badRequest("Player(s) not found");
-            }
+            String[] parts = line.replace("\"", "").split(";", -1);
 
-            return ResponseEntity
-                    .status(HttpStatus.CREATED)
-                    .body(created);
+            if (first) {
+                first = false;
+                if (isCsvHeader(parts)) continue;
+            }
 
-        } catch (IllegalArgumentException e) {
-            return badRequest(e.getMessage());
-        } catch (Exception ex) {
-            return badRequest("CSV operation failed");
+            MatchDto dto = new MatchDto();
+            dto.setPlayerA(parts.length > 0 ? parts[0].trim() : null);
+            dto.setPlayerB(parts.length > 1 ? parts[1].trim() : null);
+            dto.setScore(parts.length > 2 ? parts[2].trim() : null);
+            dto.setDate(parts.length > 3 ? parts[3].trim() : null);
+            rows.add(dto);
         }
+        return rows;
+    }
+
+    // hlavička sa spozná podľa presného názvu stĺpca s dátumom, nie podľa podreťazca v mene hráča
+    private static boolean isCsvHeader(String[] parts) {
+        return parts.length > 3 && CSV_DATE_HEADERS.contains(parts[3].trim().toLowerCase(Locale.ROOT));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<?> updateMatch(@PathVariable Long id,
                                          @RequestBody @Valid MatchUpdateDto dto) {
-
-        if (isJpaActive()) {
-            try {
-                MatchEntity updated = jpaService.update(id, dto);
-                return ResponseEntity.ok(toDto(updated));
-            } catch (RuntimeException e) {
-                return badRequest("Match not found");
-            }
-        }
-
-        return badRequest("Update by ID not supported in CSV mode");
+        return ResponseEntity.ok(matchStore.update(id, dto));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteMatchById(@PathVariable Long id) {
-
-        if (isJpaActive()) {
-            try {
-                jpaService.deleteById(id);
-                return ResponseEntity.noContent().build();
-            } catch (RuntimeException e) {
-                return badRequest("Match not found");
-            }
-        }
-
-        return badRequest("Delete by ID not supported in CSV mode");
+        matchStore.deleteById(id);
+        return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+}
@@ -1,45 +1,29 @@
 package sk.peter.tenis.controller;
 
 import jakarta.validation.Valid;
-import org.springframework.core.env.Environment;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import sk.peter.tenis.dto.PlayerDto;
-import sk.peter.tenis.model.Player;
-import sk.peter.tenis.service.PlayerService;
-import sk.peter.tenis.service.jpa.PlayerJpaService;
+import sk.peter.tenis.dto.PlayerResponseDto;
+import sk.peter.tenis.storage.PlayerStore;
 
-import java.util.Arrays;
 import java.util.List;
 
 /**
  * REST controller for managing players.
  *
- * Supports CSV mode and JPA mode (when "h2" or "mysql" profile is active).
+ * Works with the {@link PlayerStore} selected by profile at startup
+ * (database for "h2" and "mysql", CSV or memory otherwise).
  */
 @RestController
 @RequestMapping("/api/players")
 public class PlayerController {
 
-    private final PlayerService csvService;
-    private final PlayerJpaService jpaService;
-    private final Environment env;
+    private final PlayerStore playerStore;
 
-    public PlayerController(PlayerService csvService,
-                            PlayerJpaService jpaService,
-                            Environment env) {
-        this.csvService = csvService;
-        this.jpaService = jpaService;
-        this.env = env;
-    }
-
-    /**
-     * Checks if JPA profile is active (H2 or MySQL).
-     */
-    private boolean isJpaActive() {
-        return Arrays.stream(env.getActiveProfiles())
-                .anyMatch(p -> p.equalsIgnoreCase("h2") || p.equalsIgnoreCase("mysql"));
+    public PlayerController(PlayerStore playerStore) {
+        this.playerStore = playerStore;
     }
 
     // ---------------- CRUD ----------------
@@ -48,60 +32,24 @@ public class PlayerController {
      * Returns all players.
      */
     @GetMapping
-    public List<?> getAllPlayers() {
-        if (isJpaActive()) {
-            return jpaService.findAll();
-        }
-        return csvService.findAll();
+    public List<PlayerResponseDto> getAllPlayers() {
+        return playerStore.findAll();
     }
 
     /**
      * Returns player by ID (JPA) or by name lookup (CSV fallback).
      */
     @GetMapping("/{id}")
-    public Object getPlayer(@PathVariable Long id) {
-        if (isJpaActive()) {
-            return jpaService.findById(id).orElse(null);
-        }
-        return csvService.findAll().stream()
-                .filter(p -> p.getName().equalsIgnoreCase(String.valueOf(id)))
-                .findFirst()
-                .orElse(null);
+    public PlayerResponseDto getPlayer(@PathVariable Long id) {
+        return playerStore.findById(id);
     }
 
     /**
      * Creates a new player and returns CREATED on success.
      */
     @PostMapping
-    public ResponseEntity<Object> createPlayer(@RequestBody @Valid PlayerDto playerDto) {
-        Object savedPlayer;
-
-        if (isJpaActive()) {
-            // typ hráča
-            sk.peter.tenis.model.PlayerType type = sk.peter.tenis.model.PlayerType.fromInput(playerDto.getType());
-            if (type == null) {
-                try {
-                    type = sk.peter.tenis.model.PlayerType.valueOf(playerDto.getType().trim().toUpperCase());
-                } catch (Exception ignored) {
-                    type = sk.peter.tenis.model.PlayerType.AMATER;
-                }
-            }
-
-            // vytvor model Player
-            sk.peter.tenis.model.Player player = new sk.peter.tenis.model.Player(
-                    playerDto.getName().trim(),
-                    playerDto.getAge(),
-                    type
-            );
-
-            // ulož cez JPA service
-            jpaService.save(player);
-            savedPlayer = player;
-        } else {
-            // CSV režim
-            savedPlayer = csvService.createFromDto(playerDto);
-        }
-
+    public ResponseEntity<PlayerResponseDto> createPlayer(@RequestBody @Valid PlayerDto playerDto) {
+        PlayerResponseDto savedPlayer = playerStore.create(playerDto);
         return ResponseEntity.status(HttpStatus.CREATED).body(savedPlayer);
     }
 
@@ -109,14 +57,9 @@ public class PlayerController {
      * Updates a player by name.
      */
     @PutMapping("/{name}")
-    public ResponseEntity<?> updatePlayer(@PathVariable String name, @RequestBody PlayerDto dto) {
-        if (isJpaActive()) {
-            Player updated = jpaService.update(name, dto);
-            return ResponseEntity.ok(updated);
-        } else {
-            Player updated = csvService.update(name, dto);
-            return ResponseEntity.ok(updated);
-        }
+    public ResponseEntity<PlayerResponseDto> updatePlayer(@PathVariable String name, @RequestBody PlayerDto dto) {
+        PlayerResponseDto updated = playerStore.update(name, dto);
+        return ResponseEntity.ok(updated);
     }
 
     /**
@@ -124,15 +67,7 @@ public class PlayerController {
      */
     @DeleteMapping("/{name}")
     public ResponseEntity<Void> deletePlayer(@PathVariable String name) {
-        if (isJpaActive()) {
-            jpaService.findAll().stream()
-                    .filter(p -> p.getName().equalsIgnoreCase(name))
-                    .findFirst()
-                    .ifPresent(p -> jpaService.deleteById(p.getId()));
-        } else {
-            csvService.delete(name);
-        }
-
+        playerStore.delete(name);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+}
@@ -7,13 +7,18 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import sk.peter.tenis.dto.EloPlayerDto;
+import sk.peter.tenis.dto.EloRatingDto;
+import sk.peter.tenis.dto.HeadToHeadDto;
 import sk.peter.tenis.dto.LeaderboardDto;
 import sk.peter.tenis.dto.PlayerStatsDto;
-import sk.peter.tenis.service.StatsService;
+import sk.peter.tenis.exception.NotFoundException;
+import sk.peter.tenis.service.DataVersion;
+import sk.peter.tenis.storage.StatsEngine;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
 
@@ -24,6 +29,13 @@ import java.util.Locale;
  * - top players
  * - export leaderboard as CSV
  * - player stats for a selected date range
+ * - head-to-head stats of two players
+ * - Elo ranking and Elo history of a player
+ *
+ * Statistics come from the {@link StatsEngine} selected by profile at startup.
+ * Leaderboard responses are served from a snapshot cached per {@link DataVersion}.
+ * They carry an ETag of that version, and a request whose If-None-Match still
+ * matches is answered with 304 without rendering anything.
  */
 @RestController
 @RequestMapping("/api/stats")
@@ -33,17 +45,91 @@ public class StatsController {
     private static final String DEFAULT_TOP_LIMIT = "3";
     private static final int MAX_TOP_LIMIT = 50;
 
-    private static final Comparator<LeaderboardDto> WIN_RATE_DESC =
-            Comparator.comparingDouble(LeaderboardDto::getWinRatePercent).reversed();
+    private final StatsEngine statsEngine;
+    private final DataVersion dataVersion;
 
-    private final StatsService statsService;
+    private volatile Snapshot snapshot;
 
-    public StatsController(StatsService statsService) {
-        this.statsService = statsService;
+    public StatsController(StatsEngine statsEngine, DataVersion dataVersion) {
+        this.statsEngine = statsEngine;
+        this.dataVersion = dataVersion;
     }
 
-    private List<LeaderboardDto> getLeaderboard() {
-        return statsService.getLeaderboard();
+    /**
+     * Responses for one data version; each part is rendered on its first request.
+     * Data is always read after the version, so a snapshot is never older than its version.
+     */
+    private final class Snapshot {
+        final long version;
+        final String etag;
+        private volatile List<LeaderboardDto> rows;
+        private volatile List<LeaderboardDto> top;
+        private volatile byte[] csv;
+        private volatile List<EloRatingDto> elo;
+
+        Snapshot(long version, String etag) {
+            this.version = version;
+            this.etag = etag;
+        }
+
+        List<LeaderboardDto> rows() {
+            List<LeaderboardDto> list = rows;
+            if (list == null) {
+                rows = list = statsEngine.getLeaderboard();
+            }
+            return list;
+        }
+
+        // the largest top list ever served; smaller limits are its prefixes
+        List<LeaderboardDto> top() {
+            List<LeaderboardDto> list = top;
+            if (list == null) {
+                top = list = statsEngine.getTopPlayers(MAX_TOP_LIMIT);
+            }
+            return list;
+        }
+
+        List<EloRatingDto> elo() {
+            List<EloRatingDto> list = elo;
+            if (list == null) {
+                elo = list = statsEngine.getEloRanking();
+            }
+            return list;
+        }
+
+        byte[] csv() {
+            byte[] bytes = csv;
+            if (bytes == null) {
+                csv = bytes = renderCsv(rows());
+            }
+            return bytes;
+        }
+    }
+
+    private Snapshot snapshot() {
+        long version = dataVersion.current();
+        Snapshot current = snapshot;
+        if (current == null || current.version != version) {
+            current = new Snapshot(version, dataVersion.etag(version));
+            snapshot = current;
+        }
+        return current;
+    }
+
+    private static byte[] renderCsv(List<LeaderboardDto> rows) {
+        StringBuilder sb = new StringBuilder(256);
+        sb.append(CSV_HEADER);
+
+        for (LeaderboardDto row : rows) {
+            sb.append(row.getName()).append(";")
+                    .append(row.getMatches()).append(";")
+                    .append(row.getWins()).append(";")
+                    .append(row.getLosses()).append(";")
+                    .append(String.format(Locale.US, "%.1f", row.getWinRatePercent()))
+                    .append("\n");
+        }
+
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
     }
 
     private LocalDate parseDate(String value) {
@@ -54,49 +140,42 @@ public class StatsController {
      * Returns full leaderboard.
      */
     @GetMapping("/leaderboard")
-    public List<LeaderboardDto> leaderboard() {
-        return getLeaderboard();
+    public ResponseEntity<List<LeaderboardDto>> leaderboard(WebRequest request) {
+        Snapshot s = snapshot();
+        if (request.checkNotModified(s.etag)) return null;
+
+        return ResponseEntity.ok().eTag(s.etag).body(s.rows());
     }
 
     /**
-     * Returns top players by win rate.
+     * Returns top players by win rate, read from the head of the sorted leaderboard.
      */
     @GetMapping("/top")
-    public List<LeaderboardDto> getTopPlayers(@RequestParam(defaultValue = DEFAULT_TOP_LIMIT) int limit) {
+    public ResponseEntity<List<LeaderboardDto>> getTopPlayers(@RequestParam(defaultValue = DEFAULT_TOP_LIMIT) int limit,
+                                                              WebRequest request) {
+        Snapshot s = snapshot();
+        if (request.checkNotModified(s.etag)) return null;
 
-        limit = Math.min(limit, MAX_TOP_LIMIT);
+        List<LeaderboardDto> top = s.top();
+        limit = Math.max(0, Math.min(limit, top.size()));
 
-        return getLeaderboard().stream()
-                .filter(p -> p.getMatches() > 0 && p.getWinRatePercent() > 0)
-                .sorted(WIN_RATE_DESC)
-                .limit(limit)
-                .toList();
+        return ResponseEntity.ok().eTag(s.etag).body(top.subList(0, limit));
     }
 
     /**
      * Exports the leaderboard as CSV file.
      */
     @GetMapping("/export")
-    public ResponseEntity<byte[]> exportCsv() {
-        StringBuilder sb = new StringBuilder(256);
-        sb.append(CSV_HEADER);
-
-        for (LeaderboardDto row : getLeaderboard()) {
-            sb.append(row.getName()).append(";")
-                    .append(row.getMatches()).append(";")
-                    .append(row.getWins()).append(";")
-                    .append(row.getLosses()).append(";")
-                    .append(String.format(Locale.US, "%.1f", row.getWinRatePercent()))
-                    .append("\n");
-        }
-
-        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+    public ResponseEntity<byte[]> exportCsv(WebRequest request) {
+        Snapshot s = snapshot();
+        if (request.checkNotModified(s.etag)) return null;
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(new MediaType("text", "csv", StandardCharsets.UTF_8));
         headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=leaderboard.csv");
+        headers.setETag(s.etag);
 
-        return new ResponseEntity<>(bytes, headers, HttpStatus.OK);
+        return new ResponseEntity<>(s.csv(), headers, HttpStatus.OK);
     }
 
     /**
@@ -111,6 +190,43 @@ public class StatsController {
         LocalDate fromDate = parseDate(from);
         LocalDate toDate = parseDate(to);
 
-        return statsService.getPlayerStats(name, fromDate, toDate);
+        return statsEngine.getPlayerStats(name, fromDate, toDate);
+    }
+
+    /**
+     * Returns head-to-head statistics of two players with optional date range,
+     * seen from player {@code a}.
+     */
+    @GetMapping("/h2h")
+    public HeadToHeadDto getHeadToHead(
+            @RequestParam final String a,
+            @RequestParam final String b,
+            @RequestParam(required = false) final String from,
+            @RequestParam(required = false) final String to) {
+
+        return statsEngine.getHeadToHead(a, b, parseDate(from), parseDate(to));
+    }
+
+    /**
+     * Returns all players ordered by Elo rating.
+     */
+    @GetMapping("/elo")
+    public ResponseEntity<List<EloRatingDto>> eloRanking(WebRequest request) {
+        Snapshot s = snapshot();
+        if (request.checkNotModified(s.etag)) return null;
+
+        return ResponseEntity.ok().eTag(s.etag).body(s.elo());
+    }
+
+    /**
+     * Returns the Elo rating of a player with its change in every match.
+     */
+    @GetMapping("/elo/player")
+    public EloPlayerDto getEloForPlayer(@RequestParam final String name) {
+        EloPlayerDto dto = statsEngine.getEloForPlayer(name);
+        if (dto == null) {
+            throw new NotFoundException("Player has no rated matches");
+        }
+        return dto;
     }
-}
\ No newline at end of file
+}
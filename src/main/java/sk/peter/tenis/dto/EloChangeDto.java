@@ -0,0 +1,69 @@
+package sk.peter.tenis.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object representing the rating change of one player in one match.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EloChangeDto {
+    private final LocalDate date;
+    private final String opponent;
+    private final Boolean won;
+    private final double delta;
+    private final double rating;
+
+    /**
+     * Creates a rating change entry.
+     *
+     * @param date     match date
+     * @param opponent name of the opponent
+     * @param won      {@code true} for a win, {@code false} for a loss, {@code null} if the score has no winner
+     * @param delta    rating change caused by the match, rounded to one decimal
+     * @param rating   rating after the match, rounded to one decimal
+     */
+    public EloChangeDto(LocalDate date, String opponent, Boolean won, double delta, double rating) {
+        this.date = date;
+        this.opponent = opponent;
+        this.won = won;
+        this.delta = delta;
+        this.rating = rating;
+    }
+
+    /**
+     * @return match date
+     */
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * @return name of the opponent
+     */
+    public String getOpponent() {
+        return opponent;
+    }
+
+    /**
+     * @return match result, {@code null} if the score has no winner
+     */
+    public Boolean getWon() {
+        return won;
+    }
+
+    /**
+     * @return rating change caused by the match
+     */
+    public double getDelta() {
+        return delta;
+    }
+
+    /**
+     * @return rating after the match
+     */
+    public double getRating() {
+        return rating;
+    }
+}
@@ -0,0 +1,56 @@
+package sk.peter.tenis.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object representing the Elo rating of one player with its history.
+ */
+public class EloPlayerDto {
+    private final String name;
+    private final double rating;
+    private final int matches;
+    private final List<EloChangeDto> history;
+
+    /**
+     * Creates an Elo rating summary.
+     *
+     * @param name    player name
+     * @param rating  current Elo rating, rounded to one decimal
+     * @param matches number of rated matches
+     * @param history rating changes in match order
+     */
+    public EloPlayerDto(String name, double rating, int matches, List<EloChangeDto> history) {
+        this.name = name;
+        this.rating = rating;
+        this.matches = matches;
+        this.history = history;
+    }
+
+    /**
+     * @return player name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return current Elo rating
+     */
+    public double getRating() {
+        return rating;
+    }
+
+    /**
+     * @return number of rated matches
+     */
+    public int getMatches() {
+        return matches;
+    }
+
+    /**
+     * @return rating changes in match order, oldest first
+     */
+    public List<EloChangeDto> getHistory() {
+        return history;
+    }
+}
@@ -0,0 +1,44 @@
+package sk.peter.tenis.dto;
+
+/**
+ * Data Transfer Object representing a row of the Elo ranking.
+ */
+public class EloRatingDto {
+    private final String name;
+    private final double rating;
+    private final int matches;
+
+    /**
+     * Creates an Elo ranking entry.
+     *
+     * @param name    player name
+     * @param rating  current Elo rating, rounded to one decimal
+     * @param matches number of rated matches
+     */
+    public EloRatingDto(String name, double rating, int matches) {
+        this.name = name;
+        this.rating = rating;
+        this.matches = matches;
+    }
+
+    /**
+     * @return player name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return current Elo rating
+     */
+    public double getRating() {
+        return rating;
+    }
+
+    /**
+     * @return number of rated matches
+     */
+    public int getMatches() {
+        return matches;
+    }
+}
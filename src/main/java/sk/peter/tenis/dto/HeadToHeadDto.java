@@ -0,0 +1,108 @@
+package sk.peter.tenis.dto;
+
+/**
+ * Data Transfer Object representing head-to-head statistics of two players.
+ *
+ * <p>All counts are seen from the side of {@code playerA}:
+ * wins are matches won by player A against player B, and so on.</p>
+ */
+public class HeadToHeadDto {
+    private final String playerA;
+    private final String playerB;
+    private final int matches;
+    private final int wins;
+    private final int losses;
+    private final int setsWon;
+    private final int setsLost;
+    private final int gamesWon;
+    private final int gamesLost;
+
+    /**
+     * Creates a head-to-head summary.
+     *
+     * @param playerA   name of the player whose side the counts describe
+     * @param playerB   name of the opponent
+     * @param matches   number of matches between the two players
+     * @param wins      matches won by player A
+     * @param losses    matches won by player B
+     * @param setsWon   sets won by player A
+     * @param setsLost  sets won by player B
+     * @param gamesWon  games won by player A
+     * @param gamesLost games won by player B
+     */
+    public HeadToHeadDto(String playerA, String playerB, int matches, int wins, int losses,
+                         int setsWon, int setsLost, int gamesWon, int gamesLost) {
+        this.playerA = playerA;
+        this.playerB = playerB;
+        this.matches = matches;
+        this.wins = wins;
+        this.losses = losses;
+        this.setsWon = setsWon;
+        this.setsLost = setsLost;
+        this.gamesWon = gamesWon;
+        this.gamesLost = gamesLost;
+    }
+
+    /**
+     * @return name of player A
+     */
+    public String getPlayerA() {
+        return playerA;
+    }
+
+    /**
+     * @return name of player B
+     */
+    public String getPlayerB() {
+        return playerB;
+    }
+
+    /**
+     * @return number of matches between the two players
+     */
+    public int getMatches() {
+        return matches;
+    }
+
+    /**
+     * @return matches won by player A
+     */
+    public int getWins() {
+        return wins;
+    }
+
+    /**
+     * @return matches won by player B
+     */
+    public int getLosses() {
+        return losses;
+    }
+
+    /**
+     * @return sets won by player A
+     */
+    public int getSetsWon() {
+        return setsWon;
+    }
+
+    /**
+     * @return sets won by player B
+     */
+    public int getSetsLost() {
+        return setsLost;
+    }
+
+    /**
+     * @return games won by player A
+     */
+    public int getGamesWon() {
+        return gamesWon;
+    }
+
+    /**
+     * @return games won by player B
+     */
+    public int getGamesLost() {
+        return gamesLost;
+    }
+}
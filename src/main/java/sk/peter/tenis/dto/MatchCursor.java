@@ -0,0 +1,45 @@
+package sk.peter.tenis.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Keyset position in the match list ordered by date and ID.
+ *
+ * <p>A page request with a cursor returns only matches that come strictly after
+ * the match identified by {@code date} and {@code id}. On the wire the cursor is
+ * an opaque URL-safe token.</p>
+ *
+ * @param date date of the last match on the previous page
+ * @param id   ID of the last match on the previous page
+ */
+public record MatchCursor(LocalDate date, long id) {
+
+    /**
+     * @return opaque token to send to the client
+     */
+    public String encode() {
+        String raw = date + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @param token cursor token, may be {@code null} or blank
+     * @return decoded cursor or {@code null} if no token was given
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static MatchCursor decode(String token) {
+        if (token == null || token.isBlank()) return null;
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf(':');
+            return new MatchCursor(LocalDate.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
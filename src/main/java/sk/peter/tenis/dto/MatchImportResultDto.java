@@ -0,0 +1,65 @@
+package sk.peter.tenis.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object representing the result of a bulk match import.
+ *
+ * <p>Contains totals per outcome and one result for every submitted row,
+ * in the order the rows were submitted.</p>
+ */
+public class MatchImportResultDto {
+
+    private final int created;
+    private final int duplicates;
+    private final int failed;
+    private final List<MatchImportRowDto> rows;
+
+    /**
+     * Creates an import result and counts the outcomes.
+     *
+     * @param rows result of every submitted row
+     */
+    public MatchImportResultDto(List<MatchImportRowDto> rows) {
+        int c = 0, d = 0, f = 0;
+        for (MatchImportRowDto r : rows) {
+            switch (r.getStatus()) {
+                case CREATED -> c++;
+                case DUPLICATE -> d++;
+                case ERROR -> f++;
+            }
+        }
+        this.created = c;
+        this.duplicates = d;
+        this.failed = f;
+        this.rows = rows;
+    }
+
+    /**
+     * @return number of stored matches
+     */
+    public int getCreated() {
+        return created;
+    }
+
+    /**
+     * @return number of rows skipped as duplicates
+     */
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * @return number of rejected rows
+     */
+    public int getFailed() {
+        return failed;
+    }
+
+    /**
+     * @return result of every submitted row
+     */
+    public List<MatchImportRowDto> getRows() {
+        return rows;
+    }
+}
@@ -0,0 +1,72 @@
+package sk.peter.tenis.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Data Transfer Object representing the outcome of one row of a bulk match import.
+ *
+ * <p>Null values are excluded from JSON response.</p>
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MatchImportRowDto {
+
+    /**
+     * Outcome of an imported row.
+     */
+    public enum Status {
+        /** the match was stored */
+        CREATED,
+        /** the same match was already stored or appeared earlier in the import */
+        DUPLICATE,
+        /** the row was rejected, see the message */
+        ERROR
+    }
+
+    private final int row;
+    private final Status status;
+    private final Long id;
+    private final String message;
+
+    /**
+     * Creates a row result.
+     *
+     * @param row 1-based position of the row in the import (CSV header and blank lines are not counted)
+     * @param status outcome of the row
+     * @param id ID of the stored match, or {@code null} if not available
+     * @param message reason of an error, or {@code null}
+     */
+    public MatchImportRowDto(int row, Status status, Long id, String message) {
+        this.row = row;
+        this.status = status;
+        this.id = id;
+        this.message = message;
+    }
+
+    /**
+     * @return 1-based position of the row in the import
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * @return outcome of the row
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return ID of the stored match, or {@code null}
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @return reason of an error, or {@code null}
+     */
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,41 @@
+package sk.peter.tenis.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object representing one page of matches.
+ *
+ * <p>Matches are ordered by date and ID. {@code nextCursor} is passed back
+ * as the {@code cursor} request parameter to read the following page;
+ * it is {@code null} on the last page.</p>
+ */
+public class MatchPageDto {
+
+    private final List<MatchResponseDto> items;
+    private final String nextCursor;
+
+    /**
+     * Creates a page of matches.
+     *
+     * @param items matches on this page
+     * @param nextCursor cursor of the next page, or {@code null} if this is the last page
+     */
+    public MatchPageDto(List<MatchResponseDto> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * @return matches on this page
+     */
+    public List<MatchResponseDto> getItems() {
+        return items;
+    }
+
+    /**
+     * @return cursor of the next page, or {@code null} if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
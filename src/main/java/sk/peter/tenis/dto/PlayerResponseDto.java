@@ -0,0 +1,62 @@
+package sk.peter.tenis.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import sk.peter.tenis.model.PlayerType;
+
+/**
+ * Data Transfer Object representing a player returned to the client.
+ *
+ * <p>The ID is present only for players stored in the database;
+ * CSV players have none and it is left out of the JSON.</p>
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PlayerResponseDto {
+
+    private final Long id;
+    private final String name;
+    private final int age;
+    private final PlayerType type;
+
+    /**
+     * Creates a player response DTO.
+     *
+     * @param id   player ID, or {@code null} if the backend has no IDs
+     * @param name player name
+     * @param age  player age
+     * @param type player type
+     */
+    public PlayerResponseDto(Long id, String name, int age, PlayerType type) {
+        this.id = id;
+        this.name = name;
+        this.age = age;
+        this.type = type;
+    }
+
+    /**
+     * @return player ID, or {@code null}
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @return player name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return player age
+     */
+    public int getAge() {
+        return age;
+    }
+
+    /**
+     * @return player type
+     */
+    public PlayerType getType() {
+        return type;
+    }
+}
@@ -1,6 +1,8 @@
 package sk.peter.tenis.entity;
 
 import jakarta.persistence.*;
+import sk.peter.tenis.util.ScoreCodec;
+
 import java.time.LocalDate;
 
 /**
@@ -16,6 +18,16 @@ import java.time.LocalDate;
  * - References two players via ManyToOne relationships
  * - Result is stored as a text (e.g. "6:4, 6:2")
  * - Date is stored as LocalDate
+ * - Winner, sets and games per side are derived from the result whenever
+ *   the result or a player changes, so reads never have to parse the score
+ * - The pair of players is also stored in canonical order (lower ID first),
+ *   so a pairing can be found with one index probe regardless of A/B order
+ *
+ * Indexes:
+ * - (date) for date-range queries over all players
+ * - (player_a_id, date) and (player_b_id, date) for per-player queries with a date window
+ * - unique (player_low_id, player_high_id, date, result) – the same match cannot be stored twice,
+ *   whichever player is A; its (pair, date) prefix also serves pairing lookups
  *
  * Constraints:
  * - Both players must be present (not null)
@@ -23,9 +35,20 @@ import java.time.LocalDate;
  */
 
 @Entity
-@Table(name = "matches")
+@Table(
+        name = "matches",
+        indexes = {
+                @Index(name = "idx_match_date", columnList = "date"),
+                @Index(name = "idx_match_player_a_date", columnList = "player_a_id, date"),
+                @Index(name = "idx_match_player_b_date", columnList = "player_b_id, date"),
+                @Index(name = "uk_match_pair_date_result",
+                        columnList = "player_low_id, player_high_id, date, result", unique = true)
+        }
+)
 public class MatchEntity {
 
+    public static final int RESULT_MAX_LENGTH = 20;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -38,12 +61,36 @@ public class MatchEntity {
     @JoinColumn(name = "player_b_id", nullable = false)
     private PlayerEntity playerB;
 
-    @Column(nullable = false, length = 20 )
+    @Column(nullable = false, length = RESULT_MAX_LENGTH)
     private String result;       // napr. "6:4, 6:2"
 
     @Column(nullable = false)
     private LocalDate date;
 
+    // --- Derived from result ---
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "winner_id")
+    private PlayerEntity winner;  // null ak sa víťaz nedá určiť
+
+    @Column(name = "sets_a")
+    private Integer setsA;
+
+    @Column(name = "sets_b")
+    private Integer setsB;
+
+    @Column(name = "games_a")
+    private Integer gamesA;
+
+    @Column(name = "games_b")
+    private Integer gamesB;
+
+    // --- Canonical pair (lower player ID first) ---
+    @Column(name = "player_low_id")
+    private Long playerLowId;
+
+    @Column(name = "player_high_id")
+    private Long playerHighId;
+
     // --- Constructors ---
     public MatchEntity() {
     }
@@ -53,6 +100,37 @@ public class MatchEntity {
         this.playerB = playerB;
         this.result = result;
         this.date = date;
+        refreshDerivedColumns();
+    }
+
+    /**
+     * Recomputes winner, sets and games per side from the current result and players,
+     * and the canonical player pair.
+     * Called automatically by the constructor, setters and before insert; public for backfilling existing rows.
+     */
+    @PrePersist
+    public void refreshDerivedColumns() {
+        int score = ScoreCodec.encode(result);
+
+        setsA = ScoreCodec.setsA(score);
+        setsB = ScoreCodec.setsB(score);
+        gamesA = ScoreCodec.gamesA(score);
+        gamesB = ScoreCodec.gamesB(score);
+        winner = switch (ScoreCodec.winner(score)) {
+            case ScoreCodec.WINNER_A -> playerA;
+            case ScoreCodec.WINNER_B -> playerB;
+            default -> null;
+        };
+
+        Long idA = playerA != null ? playerA.getId() : null;
+        Long idB = playerB != null ? playerB.getId() : null;
+        if (idA != null && idB != null) {
+            playerLowId = Math.min(idA, idB);
+            playerHighId = Math.max(idA, idB);
+        } else {
+            playerLowId = null;
+            playerHighId = null;
+        }
     }
 
     // --- Getters & Setters ---
@@ -70,6 +148,7 @@ public class MatchEntity {
 
     public void setPlayerA(PlayerEntity playerA) {
         this.playerA = playerA;
+        refreshDerivedColumns();
     }
 
     public PlayerEntity getPlayerB() {
@@ -78,6 +157,7 @@ public class MatchEntity {
 
     public void setPlayerB(PlayerEntity playerB) {
         this.playerB = playerB;
+        refreshDerivedColumns();
     }
 
     public String getResult() {
@@ -86,6 +166,7 @@ public class MatchEntity {
 
     public void setResult(String result) {
         this.result = result;
+        refreshDerivedColumns();
     }
 
     public LocalDate getDate() {
@@ -96,6 +177,34 @@ public class MatchEntity {
         this.date = date;
     }
 
+    public PlayerEntity getWinner() {
+        return winner;
+    }
+
+    public Integer getSetsA() {
+        return setsA;
+    }
+
+    public Integer getSetsB() {
+        return setsB;
+    }
+
+    public Integer getGamesA() {
+        return gamesA;
+    }
+
+    public Integer getGamesB() {
+        return gamesB;
+    }
+
+    public Long getPlayerLowId() {
+        return playerLowId;
+    }
+
+    public Long getPlayerHighId() {
+        return playerHighId;
+    }
+
     @Override
     public String toString() {
         return "MatchEntity{" +
@@ -104,6 +213,7 @@ public class MatchEntity {
                 ", playerBId=" + (playerB != null ? playerB.getId() : null) +
                 ", result='" + result + '\'' +
                 ", date=" + date +
+                ", winnerId=" + (winner != null ? winner.getId() : null) +
                 '}';
     }
 
@@ -3,9 +3,12 @@ package sk.peter.tenis.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import sk.peter.tenis.model.PlayerType;
 
 import java.io.Serializable;
+import java.util.Locale;
 
 /**
  * JPA entity representing a tennis player stored in the database.
@@ -16,17 +19,24 @@ import java.io.Serializable;
  * Key features:
  * - ID is auto-generated
  * - Name is unique and indexed
+ * - Normalized name (trimmed, lower-case) is stored in its own indexed column,
+ *   so case-insensitive lookups can use an index instead of lower(name)
  * - Type is stored as enum string
+ * - Kept in the Hibernate second-level cache (read-write), so resolving
+ *   the players of a match usually needs no database round trip
  *
  * Validation:
  * - Name: 2–100 characters, not null
  * - Type: not null
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(
         name = "players",
         indexes = {
-                @Index(name = "idx_player_name", columnList = "name")
+                @Index(name = "idx_player_name", columnList = "name"),
+                @Index(name = "idx_player_name_normalized", columnList = "name_normalized", unique = true)
         }
 )
 public class PlayerEntity implements Serializable {
@@ -42,6 +52,10 @@ public class PlayerEntity implements Serializable {
     @Column(nullable = false, unique = true, length = 100)
     private String name;
 
+    // always derived from name; nullable only so that existing rows can be backfilled
+    @Column(name = "name_normalized", length = 100)
+    private String nameNormalized;
+
     @Column(nullable = false)
     private int age;
 
@@ -55,7 +69,7 @@ public class PlayerEntity implements Serializable {
     }
 
     public PlayerEntity(String name, int age, PlayerType type) {
-        this.name = name;
+        setName(name);
         this.age = age;
         this.type = type;
     }
@@ -71,6 +85,32 @@ public class PlayerEntity implements Serializable {
 
     public void setName(String name) {
         this.name = name;
+        this.nameNormalized = normalizeName(name);
+    }
+
+    public String getNameNormalized() {
+        return nameNormalized;
+    }
+
+    /**
+     * Recomputes the normalized name from the current name.
+     * Used for rows stored before the column existed.
+     */
+    @PrePersist
+    @PreUpdate
+    public void refreshNameNormalized() {
+        this.nameNormalized = normalizeName(name);
+    }
+
+    /**
+     * Normalizes a player name for case-insensitive lookups:
+     * surrounding whitespace is removed and letters are lower-cased.
+     *
+     * @param name player name, may be {@code null}
+     * @return normalized name or {@code null}
+     */
+    public static String normalizeName(String name) {
+        return name == null ? null : name.trim().toLowerCase(Locale.ROOT);
     }
 
     public int getAge() {
@@ -12,7 +12,7 @@ import java.util.Map;
 /**
  * Global exception handler for REST API.
  *
- * <p>Handles validation errors and illegal arguments,
+ * <p>Handles validation errors, illegal arguments and conflicts,
  * returning structured error responses to the client.</p>
  */
 @RestControllerAdvice
@@ -50,4 +50,16 @@ public class ApiExceptionHandler {
 
         return errors;
     }
-}
\ No newline at end of file
+
+    /**
+     * Handles writes that conflict with stored data.
+     *
+     * @param ex exception
+     * @return error message map
+     */
+    @ExceptionHandler(ConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Map<String, String> onConflict(ConflictException ex) {
+        return Map.of("error", ex.getMessage());
+    }
+}
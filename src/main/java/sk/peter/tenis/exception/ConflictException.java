@@ -0,0 +1,14 @@
+package sk.peter.tenis.exception;
+
+/**
+ * Exception thrown when a write conflicts with data already stored,
+ * e.g. an edit that would turn a match into a duplicate of another one.
+ * <p>
+ * Returned as HTTP 409 (CONFLICT) by {@link ApiExceptionHandler}.
+ */
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
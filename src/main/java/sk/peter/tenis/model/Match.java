@@ -1,6 +1,7 @@
 package sk.peter.tenis.model;
 
 import java.time.LocalDate;
+import java.util.Locale;
 import java.util.Objects;
 
 /**
@@ -57,6 +58,23 @@ public class Match {
         return date;
     }
 
+    /**
+     * Identity used to detect duplicate matches: the same two players in any order,
+     * the same score and the same date. Names and score are compared trimmed and case-insensitively.
+     *
+     * @return canonical key of this match
+     */
+    public String key() {
+        String a = normalize(playerA.getName());
+        String b = normalize(playerB.getName());
+        String pair = a.compareTo(b) <= 0 ? a + ';' + b : b + ';' + a;
+        return pair + ';' + normalize(score) + ';' + date;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
     @Override
     public String toString() {
         return "Zápas: " + playerA.getName() + " vs " + playerB.getName() +
@@ -0,0 +1,43 @@
+package sk.peter.tenis.repository;
+
+/**
+ * Projection of head-to-head totals of two players computed by the database,
+ * seen from the side of the first player.
+ */
+public interface HeadToHeadRow {
+
+    /**
+     * @return number of matches between the two players
+     */
+    long getMatches();
+
+    /**
+     * @return matches won by the first player
+     */
+    long getWins();
+
+    /**
+     * @return matches won by the second player
+     */
+    long getLosses();
+
+    /**
+     * @return sets won by the first player
+     */
+    long getSetsWon();
+
+    /**
+     * @return sets won by the second player
+     */
+    long getSetsLost();
+
+    /**
+     * @return games won by the first player
+     */
+    long getGamesWon();
+
+    /**
+     * @return games won by the second player
+     */
+    long getGamesLost();
+}
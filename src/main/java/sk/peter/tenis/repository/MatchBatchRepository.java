@@ -0,0 +1,100 @@
+package sk.peter.tenis.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import sk.peter.tenis.entity.MatchEntity;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Inserts many matches with batched JDBC statements.
+ *
+ * <p>Match IDs are generated by the database ({@code IDENTITY}), which prevents Hibernate
+ * from batching inserts, so bulk imports bypass the persistence context and write rows
+ * directly, {@value #BATCH_SIZE} per round trip. Derived columns are taken from the
+ * (not persisted) entities, so rows look exactly as if saved through JPA.</p>
+ *
+ * <p>Runs in the caller's transaction.</p>
+ */
+@Repository
+public class MatchBatchRepository {
+
+    /**
+     * Number of rows sent to the database in one batch.
+     */
+    public static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL = """
+            insert into matches (player_a_id, player_b_id, result, date, winner_id,
+                                 sets_a, sets_b, games_a, games_b, player_low_id, player_high_id)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MatchBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts all matches in batches.
+     *
+     * @param matches new matches with both players already stored
+     * @return generated IDs in the order of {@code matches}; 0 where the driver did not report an ID
+     */
+    public long[] insertAll(List<MatchEntity> matches) {
+        if (matches.isEmpty()) return new long[0];
+
+        return jdbcTemplate.execute((ConnectionCallback<long[]>) connection -> {
+            long[] ids = new long[matches.size()];
+
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                int batchStart = 0;
+                for (int i = 0; i < matches.size(); i++) {
+                    bind(ps, matches.get(i));
+                    ps.addBatch();
+
+                    if (i + 1 - batchStart == BATCH_SIZE || i == matches.size() - 1) {
+                        ps.executeBatch();
+                        readKeys(ps, ids, batchStart, i + 1);
+                        batchStart = i + 1;
+                    }
+                }
+            }
+            return ids;
+        });
+    }
+
+    private static void bind(PreparedStatement ps, MatchEntity m) throws SQLException {
+        ps.setLong(1, m.getPlayerA().getId());
+        ps.setLong(2, m.getPlayerB().getId());
+        ps.setString(3, m.getResult());
+        ps.setObject(4, m.getDate());
+        if (m.getWinner() != null) {
+            ps.setLong(5, m.getWinner().getId());
+        } else {
+            ps.setNull(5, Types.BIGINT);
+        }
+        ps.setInt(6, m.getSetsA());
+        ps.setInt(7, m.getSetsB());
+        ps.setInt(8, m.getGamesA());
+        ps.setInt(9, m.getGamesB());
+        ps.setLong(10, m.getPlayerLowId());
+        ps.setLong(11, m.getPlayerHighId());
+    }
+
+    private static void readKeys(PreparedStatement ps, long[] ids, int from, int to) throws SQLException {
+        try (ResultSet keys = ps.getGeneratedKeys()) {
+            int i = from;
+            while (i < to && keys.next()) {
+                ids[i++] = keys.getLong(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package sk.peter.tenis.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of the canonical key of a stored match
+ * (see the unique key on {@link sk.peter.tenis.entity.MatchEntity}).
+ */
+public interface MatchKeyRow {
+
+    /**
+     * @return lower of the two player IDs
+     */
+    Long getPlayerLowId();
+
+    /**
+     * @return higher of the two player IDs
+     */
+    Long getPlayerHighId();
+
+    /**
+     * @return match date
+     */
+    LocalDate getDate();
+
+    /**
+     * @return match result
+     */
+    String getResult();
+}
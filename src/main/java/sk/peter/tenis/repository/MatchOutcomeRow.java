@@ -0,0 +1,15 @@
+package sk.peter.tenis.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Players, date and winner of one stored match, without loading the entities.
+ *
+ * @param id        ID of the match
+ * @param playerAId ID of player A
+ * @param playerBId ID of player B
+ * @param winnerId  ID of the winner, or {@code null} if the score has no winner
+ * @param date      match date
+ */
+public record MatchOutcomeRow(Long id, Long playerAId, Long playerBId, Long winnerId, LocalDate date) {
+}
@@ -1,21 +1,104 @@
 package sk.peter.tenis.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import sk.peter.tenis.dto.MatchResponseDto;
 import sk.peter.tenis.entity.MatchEntity;
+import sk.peter.tenis.entity.PlayerEntity;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for working with match entities.
  *
  * <p>Provides basic CRUD operations inherited from {@link JpaRepository}
  * and custom query methods for filtering and duplicate checks.</p>
+ *
+ * <p>List queries fetch both players in the same select, so reading player
+ * names from the returned matches does not trigger additional queries.
+ * They return read-only entities: Hibernate keeps no snapshot for dirty checking.</p>
+ *
+ * <p>Filtering queries are written so that each one is served by a single index
+ * declared on {@link MatchEntity}: a player filter never combines the two player
+ * columns with {@code or}, it queries each side separately.</p>
  */
 public interface MatchRepository extends JpaRepository<MatchEntity, Long> {
 
+    /**
+     * JDBC fetch size used by {@link #streamAllAsResponse()}.
+     */
+    int EXPORT_FETCH_SIZE = 500;
+
+    /**
+     * Lower date bound used when a query has no start date (earliest date MySQL can store).
+     */
+    LocalDate MIN_DATE = LocalDate.of(1000, 1, 1);
+
+    /**
+     * Upper date bound used when a query has no end date.
+     */
+    LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
+    /**
+     * Order of all match lists: by date, then by ID.
+     */
+    Comparator<MatchEntity> BY_DATE_AND_ID =
+            Comparator.comparing(MatchEntity::getDate).thenComparing(MatchEntity::getId);
+
+    /**
+     * Returns all matches together with both players.
+     *
+     * @return list of all matches
+     */
+    @Override
+    @EntityGraph(attributePaths = {"playerA", "playerB"})
+    List<MatchEntity> findAll();
+
+    /**
+     * Returns all matches projected straight into response DTOs, ordered by ID.
+     *
+     * @return list of match response DTOs
+     */
+    @Query("""
+            select new sk.peter.tenis.dto.MatchResponseDto(m.id, a.name, b.name, m.result, m.date)
+            from MatchEntity m
+            join m.playerA a
+            join m.playerB b
+            order by m.id
+            """)
+    List<MatchResponseDto> findAllAsResponse();
+
+    /**
+     * Streams all matches as response DTOs, ordered by ID.
+     *
+     * <p>Rows are fetched from the database in chunks of {@value #EXPORT_FETCH_SIZE},
+     * so the whole table is never held in memory. DTOs are not managed entities, so the
+     * persistence context does not grow while the stream is consumed. Must be called
+     * inside a transaction and the stream must be closed.</p>
+     *
+     * @return stream of match response DTOs
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("""
+            select new sk.peter.tenis.dto.MatchResponseDto(m.id, a.name, b.name, m.result, m.date)
+            from MatchEntity m
+            join m.playerA a
+            join m.playerB b
+            order by m.id
+            """)
+    Stream<MatchResponseDto> streamAllAsResponse();
+
     /**
      * Returns matches played within the given date range.
      *
@@ -23,63 +106,325 @@ public interface MatchRepository extends JpaRepository<MatchEntity, Long> {
      * @param to end date
      * @return list of matches between the given dates
      */
+    @EntityGraph(attributePaths = {"playerA", "playerB"})
     List<MatchEntity> findByDateBetween(LocalDate from, LocalDate to);
 
     /**
      * Returns matches where the given player appears either as player A or player B.
      *
-     * @param nameA player name for player A comparison
-     * @param nameB player name for player B comparison
+     * @param playerAId player ID for player A comparison
+     * @param playerBId player ID for player B comparison
      * @return list of matches for the given player
      */
-    List<MatchEntity> findByPlayerA_NameIgnoreCaseOrPlayerB_NameIgnoreCase(String nameA, String nameB);
+    @EntityGraph(attributePaths = {"playerA", "playerB"})
+    List<MatchEntity> findByPlayerA_IdOrPlayerB_Id(Long playerAId, Long playerBId);
 
     /**
-     * Searches matches using optional player name and optional date range filters.
+     * Searches matches using optional player and optional date range filters.
      *
-     * @param name player name, or {@code null} to ignore player filter
+     * <p>The player is given by ID (resolve names with {@link PlayerRepository#findIdByNameIgnoreCase(String)}).
+     * A player filter is answered by two range scans, one over {@code (player_a_id, date)} and one over
+     * {@code (player_b_id, date)}, merged here; without a player the {@code (date)} index is used.</p>
+     *
+     * @param playerId player ID, or {@code null} to ignore player filter
      * @param from start date, or {@code null} to ignore lower date bound
      * @param to end date, or {@code null} to ignore upper date bound
-     * @return filtered list of matches sorted by date ascending
+     * @return filtered list of matches sorted by date and ID ascending
+     */
+    default List<MatchEntity> search(Long playerId, LocalDate from, LocalDate to) {
+        LocalDate lower = from != null ? from : MIN_DATE;
+        LocalDate upper = to != null ? to : MAX_DATE;
+
+        if (playerId == null) {
+            return searchByDate(lower, upper);
+        }
+
+        List<MatchEntity> result = new ArrayList<>(searchByPlayerA(playerId, lower, upper));
+        result.addAll(searchByPlayerB(playerId, lower, upper));
+        result.sort(BY_DATE_AND_ID);
+        return result;
+    }
+
+    /**
+     * Returns matches within a date range, ordered by date and ID.
+     *
+     * @param from start date (inclusive)
+     * @param to end date (inclusive)
+     * @return matches in the range
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"playerA", "playerB"})
     @Query("""
             select m from MatchEntity m
-            where (:from is null or m.date >= :from)
-              and (:to   is null or m.date <= :to)
-              and (
-                    :name is null
-                    or lower(m.playerA.name) = lower(:name)
-                    or lower(m.playerB.name) = lower(:name)
-                  )
-            order by m.date asc
+            where m.date >= :from and m.date <= :to
+            order by m.date asc, m.id asc
+            """)
+    List<MatchEntity> searchByDate(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Returns matches where the given player is player A, within a date range.
+     *
+     * @param playerId player ID
+     * @param from start date (inclusive)
+     * @param to end date (inclusive)
+     * @return matches ordered by date and ID
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"playerA", "playerB"})
+    @Query("""
+            select m from MatchEntity m
+            where m.playerA.id = :playerId
+              and m.date >= :from and m.date <= :to
+            order by m.date asc, m.id asc
+            """)
+    List<MatchEntity> searchByPlayerA(@Param("playerId") Long playerId,
+                                      @Param("from") LocalDate from,
+                                      @Param("to") LocalDate to);
+
+    /**
+     * Returns matches where the given player is player B, within a date range.
+     *
+     * @param playerId player ID
+     * @param from start date (inclusive)
+     * @param to end date (inclusive)
+     * @return matches ordered by date and ID
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = {"playerA", "playerB"})
+    @Query("""
+            select m from MatchEntity m
+            where m.playerB.id = :playerId
+              and m.date >= :from and m.date <= :to
+            order by m.date asc, m.id asc
+            """)
+    List<MatchEntity> searchByPlayerB(@Param("playerId") Long playerId,
+                                      @Param("from") LocalDate from,
+                                      @Param("to") LocalDate to);
+
+    /**
+     * Reads one page of matches within a date range, projected into response DTOs.
+     *
+     * <p>Matches are ordered by date and ID. Paging is keyset based: instead of an offset,
+     * the date and ID of the last match already read are passed in, so every page costs
+     * the same regardless of how deep the client has scrolled. For the first page pass
+     * {@link #MIN_DATE} and {@code 0}.</p>
+     *
+     * @param from start date (inclusive)
+     * @param to end date (inclusive)
+     * @param afterDate date of the last match already read
+     * @param afterId ID of the last match already read
+     * @param limit maximum number of returned matches
+     * @return matches following the given position
+     */
+    @Query("""
+            select new sk.peter.tenis.dto.MatchResponseDto(m.id, a.name, b.name, m.result, m.date)
+            from MatchEntity m
+            join m.playerA a
+            join m.playerB b
+            where m.date >= :from and m.date <= :to
+              and (m.date > :afterDate or m.id > :afterId)
+            order by m.date asc, m.id asc
+            """)
+    List<MatchResponseDto> pageByDate(@Param("from") LocalDate from,
+                                      @Param("to") LocalDate to,
+                                      @Param("afterDate") LocalDate afterDate,
+                                      @Param("afterId") long afterId,
+                                      Limit limit);
+
+    /**
+     * Same as {@link #pageByDate}, restricted to matches where the given player is player A.
+     *
+     * @param playerId player ID
+     * @param from start date (inclusive)
+     * @param to end date (inclusive)
+     * @param afterDate date of the last match already read
+     * @param afterId ID of the last match already read
+     * @param limit maximum number of returned matches
+     * @return matches following the given position
+     */
+    @Query("""
+            select new sk.peter.tenis.dto.MatchResponseDto(m.id, a.name, b.name, m.result, m.date)
+            from MatchEntity m
+            join m.playerA a
+            join m.playerB b
+            where m.playerA.id = :playerId
+              and m.date >= :from and m.date <= :to
+              and (m.date > :afterDate or m.id > :afterId)
+            order by m.date asc, m.id asc
             """)
-    List<MatchEntity> search(
-            @Param("name") String name,
-            @Param("from") LocalDate from,
-            @Param("to") LocalDate to
-    );
+    List<MatchResponseDto> pageByPlayerA(@Param("playerId") Long playerId,
+                                         @Param("from") LocalDate from,
+                                         @Param("to") LocalDate to,
+                                         @Param("afterDate") LocalDate afterDate,
+                                         @Param("afterId") long afterId,
+                                         Limit limit);
 
     /**
-     * Checks whether a match already exists for the given players and date.
+     * Same as {@link #pageByDate}, restricted to matches where the given player is player B.
      *
-     * @param playerA name of player A
-     * @param playerB name of player B
+     * @param playerId player ID
+     * @param from start date (inclusive)
+     * @param to end date (inclusive)
+     * @param afterDate date of the last match already read
+     * @param afterId ID of the last match already read
+     * @param limit maximum number of returned matches
+     * @return matches following the given position
+     */
+    @Query("""
+            select new sk.peter.tenis.dto.MatchResponseDto(m.id, a.name, b.name, m.result, m.date)
+            from MatchEntity m
+            join m.playerA a
+            join m.playerB b
+            where m.playerB.id = :playerId
+              and m.date >= :from and m.date <= :to
+              and (m.date > :afterDate or m.id > :afterId)
+            order by m.date asc, m.id asc
+            """)
+    List<MatchResponseDto> pageByPlayerB(@Param("playerId") Long playerId,
+                                         @Param("from") LocalDate from,
+                                         @Param("to") LocalDate to,
+                                         @Param("afterDate") LocalDate afterDate,
+                                         @Param("afterId") long afterId,
+                                         Limit limit);
+
+    /**
+     * Aggregates played matches, wins and losses per player in a single query.
+     *
+     * <p>Only players with at least one match are returned, ordered by player ID.</p>
+     *
+     * @return one row per player
+     */
+    @Query("""
+            select p.id as id,
+                   p.name as name,
+                   count(m) as played,
+                   sum(case when m.winner = p then 1 else 0 end) as wins,
+                   sum(case when m.winner is not null and m.winner <> p then 1 else 0 end) as losses
+            from MatchEntity m
+            join PlayerEntity p on (p = m.playerA or p = m.playerB)
+            group by p.id, p.name
+            order by p.id
+            """)
+    List<PlayerResultRow> aggregatePlayerResults();
+
+    /**
+     * Finds a match by its canonical key.
+     *
+     * @param playerLowId lower of the two player IDs
+     * @param playerHighId higher of the two player IDs
      * @param date match date
-     * @return {@code true} if such match exists
+     * @param result match result
+     * @return optional containing the match if found
      */
-    boolean existsByPlayerA_NameIgnoreCaseAndPlayerB_NameIgnoreCaseAndDate(String playerA,
-                                                                           String playerB,
-                                                                           LocalDate date);
+    Optional<MatchEntity> findByPlayerLowIdAndPlayerHighIdAndDateAndResult(Long playerLowId,
+                                                                          Long playerHighId,
+                                                                          LocalDate date,
+                                                                          String result);
 
     /**
-     * Checks whether a match already exists for the given players in reversed order and date.
+     * Finds the same match (same players in any order, date and result) with a single probe
+     * of the unique canonical key.
      *
-     * @param playerB name of player B
-     * @param playerA name of player A
+     * @param playerA one player
+     * @param playerB the other player
      * @param date match date
-     * @return {@code true} if such match exists
+     * @param result match result
+     * @return optional containing the stored match if found
+     */
+    default Optional<MatchEntity> findSameMatch(PlayerEntity playerA, PlayerEntity playerB,
+                                                LocalDate date, String result) {
+        long idA = playerA.getId();
+        long idB = playerB.getId();
+        return findByPlayerLowIdAndPlayerHighIdAndDateAndResult(Math.min(idA, idB), Math.max(idA, idB), date, result);
+    }
+
+    /**
+     * Returns canonical keys of all matches within a date range.
+     * Used by bulk imports to detect duplicates without probing row by row.
+     *
+     * @param from start date (inclusive)
+     * @param to end date (inclusive)
+     * @return keys of matches in the range
+     */
+    @Query("""
+            select m.playerLowId as playerLowId, m.playerHighId as playerHighId,
+                   m.date as date, m.result as result
+            from MatchEntity m
+            where m.date >= :from and m.date <= :to
+            """)
+    List<MatchKeyRow> findKeysBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Returns players, date and winner of every match, read as plain values,
+     * ordered by date and ID. Used to build per-player timelines and Elo ratings in memory.
+     *
+     * @return one row per match, in match order
+     */
+    @Query("""
+            select new sk.peter.tenis.repository.MatchOutcomeRow(m.id, m.playerA.id, m.playerB.id, w.id, m.date)
+            from MatchEntity m
+            left join m.winner w
+            order by m.date, m.id
+            """)
+    List<MatchOutcomeRow> findAllOutcomes();
+
+    /**
+     * Aggregates all matches between two players within a date range, seen from player {@code a}.
+     *
+     * <p>Matches are found through the unique index on the canonical player pair
+     * ({@code player_low_id, player_high_id, date, ...}), so only the pair's rows are read.</p>
+     *
+     * @param a ID of the player whose side the totals describe
+     * @param b ID of the opponent
+     * @param low smaller of the two IDs
+     * @param high larger of the two IDs
+     * @param from start date (inclusive)
+     * @param to end date (inclusive)
+     * @return head-to-head totals
      */
-    boolean existsByPlayerB_NameIgnoreCaseAndPlayerA_NameIgnoreCaseAndDate(String playerB,
-                                                                           String playerA,
-                                                                           LocalDate date);
-}
\ No newline at end of file
+    @Query("""
+            select count(m) as matches,
+                   coalesce(sum(case when m.winner.id = :a then 1 else 0 end), 0) as wins,
+                   coalesce(sum(case when m.winner.id = :b then 1 else 0 end), 0) as losses,
+                   coalesce(sum(case when m.playerA.id = :a then m.setsA else m.setsB end), 0) as setsWon,
+                   coalesce(sum(case when m.playerA.id = :a then m.setsB else m.setsA end), 0) as setsLost,
+                   coalesce(sum(case when m.playerA.id = :a then m.gamesA else m.gamesB end), 0) as gamesWon,
+                   coalesce(sum(case when m.playerA.id = :a then m.gamesB else m.gamesA end), 0) as gamesLost
+            from MatchEntity m
+            where m.playerLowId = :low and m.playerHighId = :high
+              and m.date >= :from and m.date <= :to
+            """)
+    HeadToHeadRow aggregateHeadToHead(@Param("a") long a, @Param("b") long b,
+                                      @Param("low") long low, @Param("high") long high,
+                                      @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Head-to-head totals of two players, seen from player {@code a}.
+     *
+     * @param a ID of the player whose side the totals describe
+     * @param b ID of the opponent
+     * @param from start date, or {@code null}
+     * @param to end date, or {@code null}
+     * @return head-to-head totals
+     */
+    default HeadToHeadRow headToHead(long a, long b, LocalDate from, LocalDate to) {
+        return aggregateHeadToHead(a, b, Math.min(a, b), Math.max(a, b),
+                from != null ? from : MIN_DATE, to != null ? to : MAX_DATE);
+    }
+
+    /**
+     * Returns a batch of matches whose derived columns (winner, sets, games, canonical pair)
+     * were not computed yet.
+     *
+     * @param afterId only matches with a greater ID are returned
+     * @param limit maximum batch size
+     * @return matches without derived columns, ordered by ID
+     */
+    @Query("""
+            select m from MatchEntity m
+            where m.id > :afterId
+              and (m.setsA is null or m.playerLowId is null)
+            order by m.id
+            """)
+    List<MatchEntity> findWithoutDerivedColumns(@Param("afterId") long afterId, Limit limit);
+}
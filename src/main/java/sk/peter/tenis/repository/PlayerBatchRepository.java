@@ -0,0 +1,67 @@
+package sk.peter.tenis.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sk.peter.tenis.entity.PlayerEntity;
+
+import java.util.List;
+
+/**
+ * Inserts many players with batched JDBC statements.
+ *
+ * <p>Player IDs are generated by the database ({@code IDENTITY}), so Hibernate would send
+ * one insert per player. Seeding writes rows directly instead, {@value MatchBatchRepository#BATCH_SIZE}
+ * per round trip.</p>
+ *
+ * <p>Runs in the caller's transaction. Hibernate does not see these inserts, so the cached
+ * player queries are evicted right away and again after the transaction commits.</p>
+ */
+@Repository
+public class PlayerBatchRepository {
+
+    private static final String INSERT_SQL =
+            "insert into players (name, name_normalized, age, type) values (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public PlayerBatchRepository(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Inserts all players in batches.
+     *
+     * @param players new players with distinct normalized names
+     */
+    public void insertAll(List<PlayerEntity> players) {
+        if (players.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, players, MatchBatchRepository.BATCH_SIZE, (ps, p) -> {
+            ps.setString(1, p.getName());
+            ps.setString(2, PlayerEntity.normalizeName(p.getName()));
+            ps.setInt(3, p.getAge());
+            ps.setString(4, p.getType().name());
+        });
+        evictCachedQueries();
+    }
+
+    private void evictCachedQueries() {
+        var cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictQueryRegions();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // iný dotaz mohol medzitým uložiť výsledok bez nových hráčov
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evictQueryRegions();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package sk.peter.tenis.repository;
+
+/**
+ * ID and name of one stored player, without loading the entity.
+ *
+ * @param id   player ID
+ * @param name player name
+ */
+public record PlayerNameRow(Long id, String name) {
+}
@@ -1,8 +1,15 @@
 package sk.peter.tenis.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import sk.peter.tenis.entity.PlayerEntity;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -10,16 +17,74 @@ import java.util.Optional;
  *
  * <p>Provides basic CRUD operations inherited from {@link JpaRepository}
  * and additional query methods for player lookup.</p>
+ *
+ * <p>Case-insensitive lookups go through the indexed {@code name_normalized} column.
+ * Their results are kept in the Hibernate query cache, which Hibernate invalidates
+ * on every write to the {@code players} table.</p>
  */
 public interface PlayerRepository extends JpaRepository<PlayerEntity, Long> {
 
     /**
-     * Finds a player by name ignoring case sensitivity.
+     * Finds a player by normalized name (see {@link PlayerEntity#normalizeName(String)}).
+     *
+     * @param nameNormalized normalized player name
+     * @return optional containing player if found
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<PlayerEntity> findByNameNormalized(String nameNormalized);
+
+    /**
+     * Checks whether a player with the given normalized name exists.
+     *
+     * @param nameNormalized normalized player name
+     * @return {@code true} if player exists
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    boolean existsByNameNormalized(String nameNormalized);
+
+    /**
+     * Returns the ID of the player with the given normalized name, without loading the entity.
+     *
+     * @param nameNormalized normalized player name
+     * @return optional containing player ID if found
+     */
+    @Query("select p.id from PlayerEntity p where p.nameNormalized = :nameNormalized")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<Long> findIdByNameNormalized(@Param("nameNormalized") String nameNormalized);
+
+    /**
+     * Finds all players whose normalized name is in the given collection, with one query.
+     *
+     * @param namesNormalized normalized player names
+     * @return players found (missing names are simply absent)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<PlayerEntity> findByNameNormalizedIn(Collection<String> namesNormalized);
+
+    /**
+     * Returns a batch of players whose normalized name was not computed yet.
+     *
+     * @return up to 500 players without normalized name
+     */
+    List<PlayerEntity> findTop500ByNameNormalizedIsNull();
+
+    /**
+     * Returns ID and name of every player, read as plain values.
+     *
+     * @return one row per player
+     */
+    @Query("select new sk.peter.tenis.repository.PlayerNameRow(p.id, p.name) from PlayerEntity p")
+    List<PlayerNameRow> findAllNames();
+
+    /**
+     * Finds a player by name ignoring case sensitivity and surrounding whitespace.
      *
      * @param name player name
      * @return optional containing player if found
      */
-    Optional<PlayerEntity> findByNameIgnoreCase(String name);
+    default Optional<PlayerEntity> findByNameIgnoreCase(String name) {
+        return name == null ? Optional.empty() : findByNameNormalized(PlayerEntity.normalizeName(name));
+    }
 
     /**
      * Checks whether a player with the given name exists (case-insensitive).
@@ -27,5 +92,17 @@ public interface PlayerRepository extends JpaRepository<PlayerEntity, Long> {
      * @param name player name
      * @return {@code true} if player exists
      */
-    boolean existsByNameIgnoreCase(String name);
-}
\ No newline at end of file
+    default boolean existsByNameIgnoreCase(String name) {
+        return name != null && existsByNameNormalized(PlayerEntity.normalizeName(name));
+    }
+
+    /**
+     * Returns the ID of a player by name (case-insensitive).
+     *
+     * @param name player name
+     * @return optional containing player ID if found
+     */
+    default Optional<Long> findIdByNameIgnoreCase(String name) {
+        return name == null ? Optional.empty() : findIdByNameNormalized(PlayerEntity.normalizeName(name));
+    }
+}
@@ -0,0 +1,35 @@
+package sk.peter.tenis.repository;
+
+/**
+ * Projection of one aggregated leaderboard row computed by the database.
+ *
+ * <p>Wins and losses count only matches with a known winner,
+ * while {@code played} counts every match of the player.</p>
+ */
+public interface PlayerResultRow {
+
+    /**
+     * @return player ID
+     */
+    Long getId();
+
+    /**
+     * @return player name
+     */
+    String getName();
+
+    /**
+     * @return number of matches the player took part in
+     */
+    long getPlayed();
+
+    /**
+     * @return number of matches won
+     */
+    long getWins();
+
+    /**
+     * @return number of matches lost
+     */
+    long getLosses();
+}
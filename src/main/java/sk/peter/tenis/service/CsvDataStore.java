@@ -0,0 +1,350 @@
+package sk.peter.tenis.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import sk.peter.tenis.model.Match;
+import sk.peter.tenis.model.Player;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * Resident in-memory store for players and matches in CSV mode.
+ * <p>
+ * Both CSV files are parsed once at startup; afterwards all reads are served
+ * from an immutable snapshot, so readers never block and never touch the disk.
+ * Writes are serialized, persisted via {@link CsvService} and only then
+ * published as a new snapshot.
+ * <p>
+ * Match changes are appended to the match journal; {@link #compact()} periodically
+ * rewrites {@code matches.csv} from the current snapshot and drops the journal.
+ * Every published snapshot bumps the {@link DataVersion}.
+ * <p>
+ * With {@code tenis.csv.persist=false} (the {@code memory} profile) the store starts empty
+ * and never touches the files; data lives only as long as the application.
+ * The store exists only without a database profile, so the CSV files are neither loaded
+ * nor compacted in {@code h2}/{@code mysql} mode.
+ */
+@Component
+@Profile("!h2 & !mysql")
+public class CsvDataStore {
+
+    private static final Logger log = LoggerFactory.getLogger(CsvDataStore.class);
+
+    private final DataVersion dataVersion;
+    private final boolean persistent;
+
+    private volatile Snapshot snapshot = Snapshot.of(List.of(), List.of());
+
+    private boolean journalDirty;
+
+    // bumped whenever players change or the store is reloaded – matches may be re-resolved then
+    private volatile long playersVersion;
+
+    public CsvDataStore(DataVersion dataVersion, @Value("${tenis.csv.persist:true}") boolean persistent) {
+        this.dataVersion = dataVersion;
+        this.persistent = persistent;
+    }
+
+    /**
+     * Loads players and matches from {@code data/*.csv}.
+     * Missing files are created empty; a store that is not persistent starts empty without reading them.
+     *
+     * @throws IllegalStateException if the files exist but cannot be read – starting empty would let
+     *                               the next write overwrite them
+     */
+    @PostConstruct
+    public synchronized void load() {
+        if (!persistent) {
+            snapshot = Snapshot.of(List.of(), List.of());
+            playersVersion++;
+            dataVersion.bump();
+            return;
+        }
+        try {
+            List<Player> players = CsvService.loadPlayersFromCsv();
+            List<Match> matches = CsvService.loadMatchesFromCsv(players);
+            snapshot = Snapshot.of(players, matches);
+            journalDirty = CsvService.hasMatchJournal();
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to load CSV data from data/*.csv", e);
+        }
+        playersVersion++;
+        dataVersion.bump();
+    }
+
+    /**
+     * Folds the match journal back into {@code matches.csv}.
+     * Runs periodically and does nothing if no match was changed since the last compaction.
+     */
+    @Scheduled(fixedDelayString = "${tenis.csv.compact-interval-ms:60000}")
+    public synchronized void compact() {
+        if (!journalDirty || !persistent) return;
+
+        try {
+            CsvService.saveMatches(snapshot.matches());
+            journalDirty = false;
+        } catch (Exception e) {
+            // žurnál ostáva, ďalší beh to skúsi znova
+            log.warn("⚠ Zápis matches.csv zlyhal, žurnál ostáva na ďalší pokus", e);
+        }
+    }
+
+    // ====================== READS ======================
+
+    /**
+     * @return immutable list of all players
+     */
+    public List<Player> getPlayers() {
+        return snapshot.players();
+    }
+
+    /**
+     * @return immutable list of all matches
+     */
+    public List<Match> getMatches() {
+        return snapshot.matches();
+    }
+
+    /**
+     * @return immutable list of all matches ordered by date; matches from the same day keep their stored order
+     */
+    public List<Match> getMatchesByDate() {
+        return snapshot.matchesByDate();
+    }
+
+    /**
+     * Returns a counter that changes whenever the player list changes or the store is reloaded.
+     * Such changes can drop matches of removed players, so derived match statistics must be rebuilt.
+     *
+     * @return current players version
+     */
+    public long getPlayersVersion() {
+        return playersVersion;
+    }
+
+    /**
+     * Finds a player by name (case-insensitive, surrounding whitespace ignored).
+     *
+     * @param name player name
+     * @return player or {@code null} if not found
+     */
+    public Player findPlayer(String name) {
+        if (name == null) return null;
+        return snapshot.playersByName().get(key(name));
+    }
+
+    // ====================== PLAYER WRITES ======================
+
+    /**
+     * Adds a new player unless a player with the same name already exists.
+     *
+     * @param player player to add
+     * @return {@code true} if the player was added
+     * @throws Exception if the CSV file cannot be written
+     */
+    public synchronized boolean addPlayer(Player player) throws Exception {
+        Snapshot current = snapshot;
+        if (current.playersByName().containsKey(key(player.getName()))) {
+            return false;
+        }
+
+        List<Player> players = new ArrayList<>(current.players());
+        players.add(player);
+        publishPlayers(players);
+        return true;
+    }
+
+    /**
+     * Replaces an existing player with the result of {@code change}.
+     *
+     * @param name   name of the player to replace (case-insensitive)
+     * @param change function producing the updated player
+     * @return updated player or {@code null} if the player was not found
+     * @throws Exception if the CSV file cannot be written
+     */
+    public synchronized Player updatePlayer(String name, UnaryOperator<Player> change) throws Exception {
+        Player existing = findPlayer(name);
+        if (existing == null) return null;
+
+        List<Player> players = new ArrayList<>(snapshot.players());
+        Player updated = change.apply(existing);
+        players.set(players.indexOf(existing), updated);
+        publishPlayers(players);
+        return updated;
+    }
+
+    /**
+     * Removes a player by name.
+     *
+     * @param name player name (case-insensitive)
+     * @return {@code true} if the player was removed
+     * @throws Exception if the CSV file cannot be written
+     */
+    public synchronized boolean removePlayer(String name) throws Exception {
+        Player existing = findPlayer(name);
+        if (existing == null) return false;
+
+        List<Player> players = new ArrayList<>(snapshot.players());
+        players.remove(existing);
+        publishPlayers(players);
+        return true;
+    }
+
+    // ====================== MATCH WRITES ======================
+
+    /**
+     * Adds a match unless the same match (same players in any order, score and date) is already stored.
+     *
+     * @param match match to add
+     * @return {@code true} if the match was added
+     * @throws Exception if the CSV file cannot be written
+     */
+    public synchronized boolean addMatch(Match match) throws Exception {
+        return addMatches(List.of(match))[0];
+    }
+
+    /**
+     * Adds several matches with one journal write and one snapshot swap.
+     * Matches already stored, or repeated within {@code candidates}, are skipped.
+     *
+     * @param candidates matches to add
+     * @return for every candidate {@code true} if it was added, {@code false} if it was a duplicate
+     * @throws Exception if the CSV file cannot be written
+     */
+    public synchronized boolean[] addMatches(List<Match> candidates) throws Exception {
+        List<Match> current = snapshot.matches();
+
+        Set<String> keys = new HashSet<>(current.size() + candidates.size());
+        for (Match m : current) {
+            keys.add(m.key());
+        }
+
+        boolean[] added = new boolean[candidates.size()];
+        List<Match> accepted = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            Match candidate = candidates.get(i);
+            if (keys.add(candidate.key())) {
+                accepted.add(candidate);
+                added[i] = true;
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            if (persistent) CsvService.appendMatches(accepted);
+            List<Match> matches = new ArrayList<>(current.size() + accepted.size());
+            matches.addAll(current);
+            matches.addAll(accepted);
+            publishMatches(matches);
+        }
+        return added;
+    }
+
+    /**
+     * Replaces an existing match.
+     *
+     * @param existing match currently stored
+     * @param updated  new version of the match
+     * @return {@code true} if the match was found and replaced
+     * @throws Exception if the CSV file cannot be written
+     */
+    public synchronized boolean replaceMatch(Match existing, Match updated) throws Exception {
+        List<Match> matches = new ArrayList<>(snapshot.matches());
+        int idx = matches.indexOf(existing);
+        if (idx < 0) return false;
+
+        if (persistent) CsvService.appendMatchReplacement(existing, updated);
+        matches.set(idx, updated);
+        publishMatches(matches);
+        return true;
+    }
+
+    /**
+     * Removes a match from the store.
+     *
+     * @param existing match currently stored
+     * @return {@code true} if the match was found and removed
+     * @throws Exception if the CSV file cannot be written
+     */
+    public synchronized boolean removeMatch(Match existing) throws Exception {
+        List<Match> matches = new ArrayList<>(snapshot.matches());
+        if (!matches.remove(existing)) return false;
+
+        if (persistent) CsvService.appendMatchRemoval(existing);
+        publishMatches(matches);
+        return true;
+    }
+
+    // ====================== HELPERS ======================
+
+    private void publishPlayers(List<Player> players) throws Exception {
+        if (persistent) CsvService.savePlayers(players);
+
+        // matches hold player references – resolve them again against the new player list in memory;
+        // matches.csv is read only at startup
+        List<Match> matches = resolveMatches(snapshot.matches(), players);
+        // zápasy odstránených hráčov ešte sú v súbore – ďalšia kompakcia ich zahodí
+        if (matches.size() != snapshot.matches().size()) journalDirty = true;
+        snapshot = Snapshot.of(players, matches);
+        playersVersion++;
+        dataVersion.bump();
+    }
+
+    private void publishMatches(List<Match> matches) {
+        snapshot = Snapshot.of(snapshot.players(), matches);
+        journalDirty = true;
+        dataVersion.bump();
+    }
+
+    // matches whose players are still present, pointing to the current player objects
+    private static List<Match> resolveMatches(List<Match> matches, List<Player> players) {
+        Map<String, Player> byName = new HashMap<>();
+        for (Player p : players) {
+            byName.putIfAbsent(key(p.getName()), p);
+        }
+
+        List<Match> resolved = new ArrayList<>(matches.size());
+        for (Match m : matches) {
+            Player a = byName.get(key(m.getPlayerA().getName()));
+            Player b = byName.get(key(m.getPlayerB().getName()));
+            if (a != null && b != null) {
+                resolved.add(new Match(a, b, m.getScore(), m.getDate()));
+            }
+        }
+        return resolved;
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Snapshot(List<Player> players,
+                            Map<String, Player> playersByName,
+                            List<Match> matches,
+                            List<Match> matchesByDate) {
+
+        static Snapshot of(List<Player> players, List<Match> matches) {
+            Map<String, Player> byName = new HashMap<>();
+            for (Player p : players) {
+                byName.putIfAbsent(key(p.getName()), p);
+            }
+            // stable sort – matches from the same day stay in insertion order
+            List<Match> byDate = matches.stream()
+                    .sorted(Comparator.comparing(Match::getDate))
+                    .toList();
+            return new Snapshot(List.copyOf(players), Map.copyOf(byName), List.copyOf(matches), byDate);
+        }
+    }
+}
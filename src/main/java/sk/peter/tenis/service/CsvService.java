@@ -3,14 +3,26 @@ package sk.peter.tenis.service;
 import sk.peter.tenis.model.Match;
 import sk.peter.tenis.model.Player;
 import sk.peter.tenis.model.PlayerType;
+import sk.peter.tenis.util.ScoreCodec;
 
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * CSV I/O service for players and matches stored in {@code data/*.csv}.
@@ -19,22 +31,53 @@ import java.util.List;
  * <ul>
  *   <li>Players: {@code "Meno;Vek;Typ"}</li>
  *   <li>Matches: {@code "HracA;HracB;Vysledok;Datum"}</li>
+ *   <li>Match journal: {@code "+;HracA;HracB;Vysledok;Datum"} (insert)
+ *       or {@code "-;HracA;HracB;Vysledok;Datum"} (tombstone)</li>
  * </ul>
+ * Single match changes are appended to {@code matches.journal} instead of rewriting
+ * {@code matches.csv}; the journal is replayed on load and folded back into the
+ * snapshot by {@link #saveMatches(List)}.
+ * <p>
  * This service is used in CSV mode to mirror the same business rules
  * as the console version of the application.
  */
 public final class CsvService {
 
-    private static final Path DATA_DIR = Paths.get("data");
-    private static final Path PLAYERS_CSV = DATA_DIR.resolve("players.csv");
-    private static final Path MATCHES_CSV = DATA_DIR.resolve("matches.csv");
+    private static final Path DEFAULT_DATA_DIR = Paths.get("data");
+
+    private static volatile Path dataDir = DEFAULT_DATA_DIR;
 
     private static final String PLAYERS_HEADER = "Meno;Vek;Typ";
     private static final String MATCHES_HEADER = "HracA;HracB;Vysledok;Datum";
 
+    private static final String JOURNAL_INSERT = "+";
+    private static final String JOURNAL_DELETE = "-";
+
     private CsvService() {
     }
 
+    /**
+     * Points the service at another data directory; {@code null} restores {@code data/}.
+     * Meant for tests, which must not touch the checked-in files.
+     *
+     * @param dir directory holding the CSV files and the journal
+     */
+    static void useDataDir(Path dir) {
+        dataDir = dir == null ? DEFAULT_DATA_DIR : dir;
+    }
+
+    private static Path playersCsv() {
+        return dataDir.resolve("players.csv");
+    }
+
+    private static Path matchesCsv() {
+        return dataDir.resolve("matches.csv");
+    }
+
+    private static Path matchesJournal() {
+        return dataDir.resolve("matches.journal");
+    }
+
     // ====================== PLAYERS ======================
 
     /**
@@ -59,15 +102,20 @@ public final class CsvService {
     public static void loadPlayers(List<Player> target) throws Exception {
         ensureDataDir();
 
-        if (!Files.exists(PLAYERS_CSV)) {
-            try (var w = Files.newBufferedWriter(PLAYERS_CSV, StandardCharsets.UTF_8)) {
+        if (!Files.exists(playersCsv())) {
+            try (var w = Files.newBufferedWriter(playersCsv(), StandardCharsets.UTF_8)) {
                 w.write(PLAYERS_HEADER);
                 w.newLine();
             }
             return;
         }
 
-        try (var reader = Files.newBufferedReader(PLAYERS_CSV, StandardCharsets.UTF_8)) {
+        Set<String> knownNames = new HashSet<>();
+        for (Player p : target) {
+            knownNames.add(nameKey(p.getName()));
+        }
+
+        try (var reader = Files.newBufferedReader(playersCsv(), StandardCharsets.UTF_8)) {
             String line;
             boolean first = true;
 
@@ -96,15 +144,7 @@ public final class CsvService {
                 PlayerType type = PlayerType.fromInput(typeStr);
                 if (type == null) type = PlayerType.AMATER;
 
-                boolean exists = false;
-                for (Player p : target) {
-                    if (p.getName().equalsIgnoreCase(name)) {
-                        exists = true;
-                        break;
-                    }
-                }
-
-                if (!exists) {
+                if (knownNames.add(nameKey(name))) {
                     target.add(new Player(name, age, type));
                 }
             }
@@ -120,7 +160,7 @@ public final class CsvService {
     public static void savePlayers(List<Player> players) throws Exception {
         ensureDataDir();
 
-        try (var writer = Files.newBufferedWriter(PLAYERS_CSV, StandardCharsets.UTF_8)) {
+        try (var writer = Files.newBufferedWriter(playersCsv(), StandardCharsets.UTF_8)) {
             writer.write(PLAYERS_HEADER);
             writer.newLine();
 
@@ -147,7 +187,8 @@ public final class CsvService {
     }
 
     /**
-     * Loads matches from {@code matches.csv} into the provided target list.
+     * Loads matches from {@code matches.csv} into the provided target list
+     * and then replays {@code matches.journal} on top of them.
      * Only valid matches with existing players and valid scores are loaded.
      *
      * @param target  target list to be filled with matches
@@ -157,56 +198,54 @@ public final class CsvService {
     public static void loadMatches(List<Match> target, List<Player> players) throws Exception {
         ensureDataDir();
 
-        if (!Files.exists(MATCHES_CSV)) {
-            try (var w = Files.newBufferedWriter(MATCHES_CSV, StandardCharsets.UTF_8)) {
-                w.write(MATCHES_HEADER);
-                w.newLine();
-            }
-            return;
+        Map<String, Player> playersByName = new HashMap<>();
+        for (Player p : players) {
+            playersByName.putIfAbsent(nameKey(p.getName()), p);
         }
 
-        try (var reader = Files.newBufferedReader(MATCHES_CSV, StandardCharsets.UTF_8)) {
-            String line;
-            boolean first = true;
-
-            while ((line = reader.readLine()) != null) {
-                if (line.isBlank()) continue;
-
-                if (first) {
-                    first = false;
-                    if (line.toLowerCase().startsWith("hraca;")) continue;
-                }
+        // insertion-ordered index keyed on the canonical match key keeps loading linear
+        Map<String, Match> loaded = new LinkedHashMap<>();
+        for (Match m : target) {
+            loaded.putIfAbsent(m.key(), m);
+        }
 
-                String[] parts = line.split(";", -1);
-                if (parts.length < 4) continue;
+        if (!Files.exists(matchesCsv())) {
+            try (var w = Files.newBufferedWriter(matchesCsv(), StandardCharsets.UTF_8)) {
+                w.write(MATCHES_HEADER);
+                w.newLine();
+            }
+        } else {
+            try (var reader = Files.newBufferedReader(matchesCsv(), StandardCharsets.UTF_8)) {
+                String line;
+                boolean first = true;
 
-                String nameA = parts[0].trim();
-                String nameB = parts[1].trim();
-                String score = parts[2].trim();
-                String dateStr = parts[3].trim();
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) continue;
 
-                Player a = findPlayerByExactName(players, nameA);
-                Player b = findPlayerByExactName(players, nameB);
+                    if (first) {
+                        first = false;
+                        if (line.toLowerCase().startsWith("hraca;")) continue;
+                    }
 
-                if (a == null || b == null) continue;
-                if (!isValidScore(score)) continue;
+                    Match m = parseMatch(line.split(";", -1), 0, playersByName);
+                    if (m == null) continue;
 
-                LocalDate date;
-                try {
-                    date = LocalDate.parse(dateStr);
-                } catch (Exception e) {
-                    continue;
+                    loaded.putIfAbsent(m.key(), m);
                 }
-
-                if (matchExists(target, a, b, score, date)) continue;
-
-                target.add(new Match(a, b, score, date));
             }
         }
+
+        replayJournal(loaded, playersByName);
+
+        target.clear();
+        target.addAll(loaded.values());
     }
 
     /**
-     * Persists the given list of matches to {@code matches.csv}.
+     * Persists the given list of matches to {@code matches.csv} as a clean snapshot.
+     * <p>
+     * The snapshot is written to a temporary file and atomically moved into place;
+     * afterwards the journal is dropped, because its entries are contained in the snapshot.
      *
      * @param matches matches to save
      * @throws Exception if file I/O fails
@@ -214,75 +253,172 @@ public final class CsvService {
     public static void saveMatches(List<Match> matches) throws Exception {
         ensureDataDir();
 
-        try (var writer = Files.newBufferedWriter(MATCHES_CSV, StandardCharsets.UTF_8)) {
+        Path tmp = matchesCsv().resolveSibling(matchesCsv().getFileName() + ".tmp");
+        try (var writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
             writer.write(MATCHES_HEADER);
             writer.newLine();
 
             for (Match m : matches) {
-                writer.write(m.getPlayerA().getName() + ";" +
-                        m.getPlayerB().getName() + ";" +
-                        m.getScore() + ";" +
-                        m.getDate());
+                writer.write(formatMatch(m));
                 writer.newLine();
             }
         }
+
+        try {
+            Files.move(tmp, matchesCsv(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, matchesCsv(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.deleteIfExists(matchesJournal());
     }
 
-    // ====================== HELPER METHODS ======================
+    // ====================== MATCH JOURNAL ======================
+
+    /**
+     * Appends a newly created match to {@code matches.journal}.
+     *
+     * @param match created match
+     * @throws Exception if file I/O fails
+     */
+    public static void appendMatch(Match match) throws Exception {
+        appendJournal(JOURNAL_INSERT + ";" + formatMatch(match) + System.lineSeparator());
+    }
 
-    private static Player findPlayerByExactName(List<Player> players, String name) {
-        return players.stream()
-                .filter(p -> p.getName().equalsIgnoreCase(name))
-                .findFirst()
-                .orElse(null);
+    /**
+     * Appends several new matches to {@code matches.journal} in a single write.
+     *
+     * @param matches new matches
+     * @throws Exception if file I/O fails
+     */
+    public static void appendMatches(List<Match> matches) throws Exception {
+        StringBuilder records = new StringBuilder();
+        for (Match m : matches) {
+            records.append(JOURNAL_INSERT).append(';').append(formatMatch(m)).append(System.lineSeparator());
+        }
+        appendJournal(records.toString());
     }
 
-    private static boolean isValidScore(String score) {
-        String[] sets = score.split(",");
+    /**
+     * Appends a tombstone for a deleted match to {@code matches.journal}.
+     *
+     * @param match deleted match
+     * @throws Exception if file I/O fails
+     */
+    public static void appendMatchRemoval(Match match) throws Exception {
+        appendJournal(JOURNAL_DELETE + ";" + formatMatch(match) + System.lineSeparator());
+    }
 
-        for (String set : sets) {
-            set = set.trim();
+    /**
+     * Appends a replace record (tombstone of the old version followed by the new version)
+     * to {@code matches.journal} in a single write.
+     *
+     * @param existing match before the change
+     * @param updated  match after the change
+     * @throws Exception if file I/O fails
+     */
+    public static void appendMatchReplacement(Match existing, Match updated) throws Exception {
+        appendJournal(JOURNAL_DELETE + ";" + formatMatch(existing) + System.lineSeparator()
+                + JOURNAL_INSERT + ";" + formatMatch(updated) + System.lineSeparator());
+    }
 
-            if (!set.matches("\\d:\\d")) return false;
+    /**
+     * @return {@code true} if there are journal entries not yet folded into {@code matches.csv}
+     * @throws Exception if file I/O fails
+     */
+    public static boolean hasMatchJournal() throws Exception {
+        return Files.exists(matchesJournal()) && Files.size(matchesJournal()) > 0;
+    }
 
-            String[] parts = set.split(":");
-            int a = Integer.parseInt(parts[0]);
-            int b = Integer.parseInt(parts[1]);
+    private static void appendJournal(String records) throws Exception {
+        ensureDataDir();
 
-            boolean valid =
-                    (a == 6 && b <= 4) || (b == 6 && a <= 4) ||
-                            (a == 7 && (b == 5 || b == 6)) ||
-                            (b == 7 && (a == 5 || a == 6));
+        // po neúplnom zápise (pád počas append) začni nový riadok, inak by sa záznam prilepil k torzu
+        if (!endsWithNewline(matchesJournal())) {
+            records = System.lineSeparator() + records;
+        }
 
-            if (!valid) return false;
+        try (var writer = Files.newBufferedWriter(matchesJournal(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(records);
         }
+    }
+
+    private static boolean endsWithNewline(Path file) throws Exception {
+        if (!Files.exists(file)) return true;
 
-        return true;
+        try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+            if (channel.size() == 0) return true;
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.position(channel.size() - 1).read(last);
+            return last.get(0) == '\n';
+        }
     }
 
-    private static boolean matchExists(List<Match> list, Player a, Player b, String score, LocalDate date) {
-        for (Match m : list) {
-            boolean sameOrder =
-                    m.getPlayerA().getName().equalsIgnoreCase(a.getName()) &&
-                            m.getPlayerB().getName().equalsIgnoreCase(b.getName());
+    private static void replayJournal(Map<String, Match> loaded, Map<String, Player> playersByName) throws Exception {
+        if (!Files.exists(matchesJournal())) return;
+
+        try (var reader = Files.newBufferedReader(matchesJournal(), StandardCharsets.UTF_8)) {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+
+                String[] parts = line.split(";", -1);
+                if (parts.length < 5) continue;
 
-            boolean swappedOrder =
-                    m.getPlayerA().getName().equalsIgnoreCase(b.getName()) &&
-                            m.getPlayerB().getName().equalsIgnoreCase(a.getName());
+                Match m = parseMatch(parts, 1, playersByName);
+                if (m == null) continue;
 
-            if ((sameOrder || swappedOrder)
-                    && m.getScore().equalsIgnoreCase(score)
-                    && m.getDate().equals(date)) {
-                return true;
+                String op = parts[0].trim();
+                if (JOURNAL_INSERT.equals(op)) {
+                    loaded.putIfAbsent(m.key(), m);
+                } else if (JOURNAL_DELETE.equals(op)) {
+                    loaded.remove(m.key());
+                }
             }
         }
+    }
+
+    // ====================== HELPER METHODS ======================
+
+    private static String nameKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Match parseMatch(String[] parts, int offset, Map<String, Player> playersByName) {
+        if (parts.length < offset + 4) return null;
+
+        String nameA = parts[offset].trim();
+        String nameB = parts[offset + 1].trim();
+        String score = parts[offset + 2].trim();
+        String dateStr = parts[offset + 3].trim();
+
+        Player a = playersByName.get(nameKey(nameA));
+        Player b = playersByName.get(nameKey(nameB));
+
+        if (a == null || b == null) return null;
+        if (!ScoreCodec.isValid(ScoreCodec.encode(score))) return null;
+
+        LocalDate date;
+        try {
+            date = LocalDate.parse(dateStr);
+        } catch (Exception e) {
+            return null;
+        }
+
+        return new Match(a, b, score, date);
+    }
 
-        return false;
+    private static String formatMatch(Match m) {
+        return m.getPlayerA().getName() + ";" +
+                m.getPlayerB().getName() + ";" +
+                m.getScore() + ";" +
+                m.getDate();
     }
 
     private static void ensureDataDir() throws Exception {
-        if (!Files.exists(DATA_DIR)) {
-            Files.createDirectories(DATA_DIR);
+        if (!Files.exists(dataDir)) {
+            Files.createDirectories(dataDir);
         }
     }
 }
\ No newline at end of file
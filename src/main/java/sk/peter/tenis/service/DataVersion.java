@@ -0,0 +1,66 @@
+package sk.peter.tenis.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonically increasing version of the stored players and matches.
+ * <p>
+ * Every write bumps the version once the change is visible to readers, so anything
+ * derived from the data (cached responses, ETags) stays valid exactly as long as the
+ * version does not change. A value read before the data is therefore never newer than the data.
+ * <p>
+ * CSV writes bump it in {@link CsvDataStore}. JPA match writes are bumped by {@link StatsService}
+ * once it has applied the committed {@code MatchChangedEvent} to its in-memory statistics.
+ */
+@Component
+public class DataVersion {
+
+    // distinguishes versions of different application runs in ETags
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * @return current version
+     */
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Returns an entity tag for data at the given version, unique across application restarts.
+     *
+     * @param version data version
+     * @return quoted strong ETag
+     */
+    public String etag(long version) {
+        return "\"" + Long.toString(epoch, 36) + "-" + version + "\"";
+    }
+
+    /**
+     * Marks the data as changed.
+     */
+    public void bump() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Marks the data as changed once the current transaction commits,
+     * or right away if no transaction is active.
+     */
+    public void bumpAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bump();
+            }
+        });
+    }
+}
@@ -0,0 +1,275 @@
+package sk.peter.tenis.service;
+
+import sk.peter.tenis.dto.EloChangeDto;
+import sk.peter.tenis.dto.EloPlayerDto;
+import sk.peter.tenis.dto.EloRatingDto;
+import sk.peter.tenis.util.ScoreCodec;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Elo ratings computed from matches in date order.
+ * <p>
+ * Matches are kept ordered by date and then by a sequence number chosen by the caller
+ * (the match ID in JPA mode), which makes the result deterministic. A match added after
+ * all known matches is rated immediately in O(1). A back-dated match, or any removal,
+ * marks the ratings stale; they are replayed from the first match on the next read.
+ * A replay only walks primitive arrays.
+ * <p>
+ * Every player starts at {@link #INITIAL_RATING}; a match moves both ratings by
+ * {@code K * (result - expected)}. A score without a winner is kept in the history
+ * but does not change the ratings.
+ * <p>
+ * Players are identified by a key chosen by the caller, as in {@link Leaderboard}.
+ * The class is thread-safe.
+ */
+public class EloRatings {
+
+    public static final double INITIAL_RATING = 1500.0;
+    public static final double K = 32.0;
+
+    private static final Comparator<EloRatingDto> RANKING_ORDER = Comparator
+            .comparingDouble(EloRatingDto::getRating).reversed()
+            .thenComparing(EloRatingDto::getName);
+
+    // players, addressed by index
+    private final Map<Object, Integer> playerIndex = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private double[] ratings = new double[16];
+    private int[] matchCounts = new int[16];
+    // indexes of each player's matches, in match order
+    private int[][] history = new int[16][];
+
+    // matches ordered by (day, seq)
+    private int[] days = new int[16];
+    private long[] seqs = new long[16];
+    private int[] playersA = new int[16];
+    private int[] playersB = new int[16];
+    private byte[] winners = new byte[16];
+    private double[] deltas = new double[16];
+    private int size;
+
+    // true if the ratings do not reflect all matches and must be replayed
+    private boolean stale;
+    // rendered ranking, null after a change
+    private List<EloRatingDto> ranking;
+
+    /**
+     * Rates a new match. A match ordered before an already rated one triggers a replay on the next read.
+     *
+     * @param seq    tie-breaker among matches on the same day, e.g. the match ID
+     * @param keyA   key of player A
+     * @param nameA  name of player A
+     * @param keyB   key of player B
+     * @param nameB  name of player B
+     * @param date   match date
+     * @param winner winner side as defined by {@link ScoreCodec}
+     */
+    public synchronized void addMatch(long seq, Object keyA, String nameA, Object keyB, String nameB,
+                                      LocalDate date, int winner) {
+        int a = player(keyA, nameA);
+        int b = player(keyB, nameB);
+        int day = (int) date.toEpochDay();
+        int at = firstAfter(day, seq);
+
+        ensureMatchCapacity();
+        System.arraycopy(days, at, days, at + 1, size - at);
+        System.arraycopy(seqs, at, seqs, at + 1, size - at);
+        System.arraycopy(playersA, at, playersA, at + 1, size - at);
+        System.arraycopy(playersB, at, playersB, at + 1, size - at);
+        System.arraycopy(winners, at, winners, at + 1, size - at);
+        System.arraycopy(deltas, at, deltas, at + 1, size - at);
+        days[at] = day;
+        seqs[at] = seq;
+        playersA[at] = a;
+        playersB[at] = b;
+        winners[at] = (byte) winner;
+        size++;
+        ranking = null;
+
+        if (at == size - 1 && !stale) {
+            rate(at);
+        } else {
+            stale = true;
+        }
+    }
+
+    /**
+     * Stops rating a removed match. Arguments must describe the match as it was added;
+     * the sequence number tells apart matches of the same players on the same day.
+     * Ratings are replayed on the next read.
+     *
+     * @param seq    sequence number the match was added with
+     * @param keyA   key of player A
+     * @param keyB   key of player B
+     * @param date   match date
+     * @param winner winner side as defined by {@link ScoreCodec}
+     */
+    public synchronized void removeMatch(long seq, Object keyA, Object keyB, LocalDate date, int winner) {
+        Integer a = playerIndex.get(keyA);
+        Integer b = playerIndex.get(keyB);
+        if (a == null || b == null) return;
+
+        int day = (int) date.toEpochDay();
+        for (int i = firstAfter(day - 1, Long.MAX_VALUE); i < size && days[i] == day; i++) {
+            if (seqs[i] == seq && playersA[i] == a && playersB[i] == b && winners[i] == winner) {
+                int tail = size - i - 1;
+                System.arraycopy(days, i + 1, days, i, tail);
+                System.arraycopy(seqs, i + 1, seqs, i, tail);
+                System.arraycopy(playersA, i + 1, playersA, i, tail);
+                System.arraycopy(playersB, i + 1, playersB, i, tail);
+                System.arraycopy(winners, i + 1, winners, i, tail);
+                System.arraycopy(deltas, i + 1, deltas, i, tail);
+                size--;
+                stale = true;
+                ranking = null;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Forgets all players and matches.
+     */
+    public synchronized void clear() {
+        playerIndex.clear();
+        names.clear();
+        size = 0;
+        stale = false;
+        ranking = null;
+    }
+
+    /**
+     * Returns players with at least one match, highest rating first, then by name.
+     * The list is cached until the next change.
+     *
+     * @return immutable Elo ranking
+     */
+    public synchronized List<EloRatingDto> ranking() {
+        if (ranking == null) {
+            ensureRated();
+            List<EloRatingDto> list = new ArrayList<>();
+            for (int p = 0; p < names.size(); p++) {
+                if (matchCounts[p] > 0) list.add(new EloRatingDto(names.get(p), round(ratings[p]), matchCounts[p]));
+            }
+            list.sort(RANKING_ORDER);
+            ranking = List.copyOf(list);
+        }
+        return ranking;
+    }
+
+    /**
+     * Returns the current rating of one player with its change in every match.
+     *
+     * @param key player key
+     * @return rating and history, or {@code null} if the player has no matches
+     */
+    public synchronized EloPlayerDto player(Object key) {
+        Integer p = playerIndex.get(key);
+        if (p == null) return null;
+        ensureRated();
+        if (matchCounts[p] == 0) return null;
+
+        List<EloChangeDto> changes = new ArrayList<>(matchCounts[p]);
+        // rovnaké sčítanie ako pri hodnotení, takže posledný rating sedí presne
+        double rating = INITIAL_RATING;
+        for (int j = 0; j < matchCounts[p]; j++) {
+            int i = history[p][j];
+            boolean isA = playersA[i] == p;
+            int opponent = isA ? playersB[i] : playersA[i];
+            double delta = isA ? deltas[i] : -deltas[i];
+            rating += delta;
+            Boolean won = winners[i] == ScoreCodec.WINNER_NONE ? null
+                    : (winners[i] == ScoreCodec.WINNER_A) == isA;
+            changes.add(new EloChangeDto(LocalDate.ofEpochDay(days[i]), names.get(opponent), won,
+                    round(delta), round(rating)));
+        }
+        return new EloPlayerDto(names.get(p), round(ratings[p]), matchCounts[p], changes);
+    }
+
+    // ====================== HELPERS ======================
+
+    private void ensureRated() {
+        if (!stale) return;
+
+        Arrays.fill(ratings, 0, names.size(), INITIAL_RATING);
+        Arrays.fill(matchCounts, 0, names.size(), 0);
+        for (int i = 0; i < size; i++) {
+            rate(i);
+        }
+        stale = false;
+    }
+
+    private void rate(int i) {
+        int a = playersA[i];
+        int b = playersB[i];
+        double delta = 0.0;
+        if (winners[i] != ScoreCodec.WINNER_NONE) {
+            double expectedA = 1.0 / (1.0 + Math.pow(10.0, (ratings[b] - ratings[a]) / 400.0));
+            double resultA = winners[i] == ScoreCodec.WINNER_A ? 1.0 : 0.0;
+            delta = K * (resultA - expectedA);
+        }
+        deltas[i] = delta;
+        ratings[a] += delta;
+        ratings[b] -= delta;
+        record(a, i);
+        record(b, i);
+    }
+
+    private void record(int p, int i) {
+        int n = matchCounts[p];
+        if (history[p] == null) history[p] = new int[4];
+        else if (n == history[p].length) history[p] = Arrays.copyOf(history[p], n * 2);
+        history[p][n] = i;
+        matchCounts[p] = n + 1;
+    }
+
+    private int player(Object key, String name) {
+        Integer p = playerIndex.get(key);
+        if (p != null) return p;
+
+        int index = names.size();
+        if (index == ratings.length) {
+            ratings = Arrays.copyOf(ratings, index * 2);
+            matchCounts = Arrays.copyOf(matchCounts, index * 2);
+            history = Arrays.copyOf(history, index * 2);
+        }
+        playerIndex.put(key, index);
+        names.add(name.trim());
+        ratings[index] = INITIAL_RATING;
+        matchCounts[index] = 0;
+        return index;
+    }
+
+    private void ensureMatchCapacity() {
+        if (size < days.length) return;
+        int capacity = size * 2;
+        days = Arrays.copyOf(days, capacity);
+        seqs = Arrays.copyOf(seqs, capacity);
+        playersA = Arrays.copyOf(playersA, capacity);
+        playersB = Arrays.copyOf(playersB, capacity);
+        winners = Arrays.copyOf(winners, capacity);
+        deltas = Arrays.copyOf(deltas, capacity);
+    }
+
+    // index of the first match ordered after (day, seq)
+    private int firstAfter(int day, long seq) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (days[mid] < day || (days[mid] == day && seqs[mid] <= seq)) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+}
@@ -0,0 +1,168 @@
+package sk.peter.tenis.service;
+
+import sk.peter.tenis.util.ScoreCodec;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Matches grouped by the unordered pair of players, each group ordered by date.
+ * <p>
+ * A head-to-head query looks up the pair's group and reads only its matches within the
+ * date window, found by binary search, so its cost does not depend on the number of other
+ * matches. Every match is kept as its packed {@link ScoreCodec} score together with the side
+ * the pair's first player played on, which is enough to count wins, sets and games for either player.
+ * <p>
+ * Players are identified by a key chosen by the caller, as in {@link Leaderboard}.
+ * The class is thread-safe.
+ */
+public class HeadToHeadIndex {
+
+    /**
+     * Head-to-head results within a date window, seen from the first player of the query.
+     *
+     * @param matches   number of matches between the two players
+     * @param wins      matches won by the first player
+     * @param losses    matches won by the second player
+     * @param setsWon   sets won by the first player
+     * @param setsLost  sets won by the second player
+     * @param gamesWon  games won by the first player
+     * @param gamesLost games won by the second player
+     */
+    public record Totals(int matches, int wins, int losses, int setsWon, int setsLost, int gamesWon, int gamesLost) {
+        static final Totals EMPTY = new Totals(0, 0, 0, 0, 0, 0, 0);
+    }
+
+    private final Map<Pair, Group> groups = new HashMap<>();
+
+    /**
+     * Counts a new match.
+     *
+     * @param keyA  key of player A
+     * @param keyB  key of player B
+     * @param date  match date
+     * @param score packed score as returned by {@link ScoreCodec#encode}
+     */
+    public synchronized void addMatch(Object keyA, Object keyB, LocalDate date, int score) {
+        Pair pair = Pair.of(keyA, keyB);
+        groups.computeIfAbsent(pair, k -> new Group())
+                .insert((int) date.toEpochDay(), score, pair.first().equals(keyA));
+    }
+
+    /**
+     * Stops counting a removed match. Arguments must describe the match as it was counted.
+     *
+     * @param keyA  key of player A
+     * @param keyB  key of player B
+     * @param date  match date
+     * @param score packed score as returned by {@link ScoreCodec#encode}
+     */
+    public synchronized void removeMatch(Object keyA, Object keyB, LocalDate date, int score) {
+        Pair pair = Pair.of(keyA, keyB);
+        Group g = groups.get(pair);
+        if (g == null) return;
+        g.remove((int) date.toEpochDay(), score, pair.first().equals(keyA));
+        if (g.size == 0) groups.remove(pair);
+    }
+
+    /**
+     * Forgets all matches.
+     */
+    public synchronized void clear() {
+        groups.clear();
+    }
+
+    /**
+     * Counts the matches of two players against each other between two dates.
+     *
+     * @param keyA key of the player whose side the totals describe
+     * @param keyB key of the opponent
+     * @param from first day counted, or {@code null} for no lower bound
+     * @param to   last day counted, or {@code null} for no upper bound
+     * @return totals, zero if the players never met
+     */
+    public synchronized Totals totals(Object keyA, Object keyB, LocalDate from, LocalDate to) {
+        Pair pair = Pair.of(keyA, keyB);
+        Group g = groups.get(pair);
+        if (g == null) return Totals.EMPTY;
+
+        int lo = from != null ? g.firstAfter((int) from.toEpochDay() - 1) : 0;
+        int hi = to != null ? g.firstAfter((int) to.toEpochDay()) : g.size;
+        boolean aIsFirst = pair.first().equals(keyA);
+
+        int wins = 0, losses = 0, setsWon = 0, setsLost = 0, gamesWon = 0, gamesLost = 0;
+        for (int i = lo; i < hi; i++) {
+            int score = g.scores[i];
+            // strana hráča A v tomto zápase
+            boolean onSideA = g.firstOnSideA[i] == aIsFirst;
+            int winner = ScoreCodec.winner(score);
+            if (winner != ScoreCodec.WINNER_NONE) {
+                if ((winner == ScoreCodec.WINNER_A) == onSideA) wins++;
+                else losses++;
+            }
+            setsWon += onSideA ? ScoreCodec.setsA(score) : ScoreCodec.setsB(score);
+            setsLost += onSideA ? ScoreCodec.setsB(score) : ScoreCodec.setsA(score);
+            gamesWon += onSideA ? ScoreCodec.gamesA(score) : ScoreCodec.gamesB(score);
+            gamesLost += onSideA ? ScoreCodec.gamesB(score) : ScoreCodec.gamesA(score);
+        }
+        return new Totals(Math.max(hi - lo, 0), wins, losses, setsWon, setsLost, gamesWon, gamesLost);
+    }
+
+    // ====================== HELPERS ======================
+
+    // unordered pair of player keys, stored in a fixed order
+    private record Pair(Object first, Object second) {
+        static Pair of(Object a, Object b) {
+            return String.valueOf(a).compareTo(String.valueOf(b)) <= 0 ? new Pair(a, b) : new Pair(b, a);
+        }
+    }
+
+    private static final class Group {
+        int[] days = new int[4];
+        int[] scores = new int[4];
+        // true if the pair's first player was player A of the match
+        boolean[] firstOnSideA = new boolean[4];
+        int size;
+
+        void insert(int day, int score, boolean firstIsA) {
+            if (size == days.length) {
+                days = Arrays.copyOf(days, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+                firstOnSideA = Arrays.copyOf(firstOnSideA, size * 2);
+            }
+            int at = firstAfter(day);
+            System.arraycopy(days, at, days, at + 1, size - at);
+            System.arraycopy(scores, at, scores, at + 1, size - at);
+            System.arraycopy(firstOnSideA, at, firstOnSideA, at + 1, size - at);
+            days[at] = day;
+            scores[at] = score;
+            firstOnSideA[at] = firstIsA;
+            size++;
+        }
+
+        void remove(int day, int score, boolean firstIsA) {
+            for (int i = firstAfter(day - 1); i < size && days[i] == day; i++) {
+                if (scores[i] == score && firstOnSideA[i] == firstIsA) {
+                    System.arraycopy(days, i + 1, days, i, size - i - 1);
+                    System.arraycopy(scores, i + 1, scores, i, size - i - 1);
+                    System.arraycopy(firstOnSideA, i + 1, firstOnSideA, i, size - i - 1);
+                    size--;
+                    return;
+                }
+            }
+        }
+
+        // index of the first match played after the given day
+        int firstAfter(int day) {
+            int lo = 0, hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (days[mid] <= day) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+    }
+}
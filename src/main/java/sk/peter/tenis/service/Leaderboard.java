@@ -0,0 +1,190 @@
+package sk.peter.tenis.service;
+
+import sk.peter.tenis.dto.LeaderboardDto;
+import sk.peter.tenis.util.ScoreCodec;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Write-maintained leaderboard.
+ * <p>
+ * Keeps per-player match, win and loss counts together with a set sorted the way the
+ * leaderboard is shown: win rate descending, then matches descending, then name.
+ * Every added or removed match moves at most two players in the sorted set (O(log n)),
+ * and the rendered leaderboard is cached until the next change, so reads cost nothing.
+ * The top {@code k} players are read from the head of the sorted set in O(k).
+ * <p>
+ * Players are identified by a key chosen by the caller: the player ID in JPA mode,
+ * the normalized name in CSV mode. The class is thread-safe.
+ */
+public class Leaderboard {
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingDouble((Entry e) -> e.winRatePercent).reversed()
+            .thenComparing(Comparator.comparingInt((Entry e) -> e.matches).reversed())
+            .thenComparing(e -> e.name)
+            .thenComparing(e -> String.valueOf(e.key));
+
+    private final Map<Object, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> sorted = new TreeSet<>(ORDER);
+
+    // rendered rows, null after a change
+    private List<LeaderboardDto> rows;
+
+    /**
+     * Sets the counts of one player, replacing any previous values. Used to load stored aggregates.
+     *
+     * @param key     player key
+     * @param name    player name
+     * @param matches number of matches the player took part in
+     * @param wins    number of matches won
+     * @param losses  number of matches lost
+     */
+    public synchronized void put(Object key, String name, int matches, int wins, int losses) {
+        Entry e = detach(key, name);
+        e.matches = matches;
+        e.wins = wins;
+        e.losses = losses;
+        attach(e);
+    }
+
+    /**
+     * Counts a new match.
+     *
+     * @param keyA   key of player A
+     * @param nameA  name of player A
+     * @param keyB   key of player B
+     * @param nameB  name of player B
+     * @param winner winner side as defined by {@link ScoreCodec}
+     */
+    public synchronized void addMatch(Object keyA, String nameA, Object keyB, String nameB, int winner) {
+        apply(keyA, nameA, keyB, nameB, winner, 1);
+    }
+
+    /**
+     * Stops counting a removed match. Arguments must describe the match as it was counted.
+     *
+     * @param keyA   key of player A
+     * @param nameA  name of player A
+     * @param keyB   key of player B
+     * @param nameB  name of player B
+     * @param winner winner side as defined by {@link ScoreCodec}
+     */
+    public synchronized void removeMatch(Object keyA, String nameA, Object keyB, String nameB, int winner) {
+        apply(keyA, nameA, keyB, nameB, winner, -1);
+    }
+
+    /**
+     * Forgets all players.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        sorted.clear();
+        rows = null;
+    }
+
+    /**
+     * Returns the leaderboard: players with at least one match and a non-zero win rate,
+     * in leaderboard order. The list is cached until the next change.
+     *
+     * @return immutable list of leaderboard rows
+     */
+    public synchronized List<LeaderboardDto> rows() {
+        if (rows == null) {
+            List<LeaderboardDto> list = new ArrayList<>();
+            for (Entry e : sorted) {
+                // zero win rate sorts last, nothing after it is shown
+                if (e.winRatePercent <= 0) break;
+                if (e.matches > 0) list.add(e.toDto());
+            }
+            rows = List.copyOf(list);
+        }
+        return rows;
+    }
+
+    /**
+     * Returns the first {@code k} rows of {@link #rows()} without rendering the whole leaderboard.
+     *
+     * @param k maximum number of rows
+     * @return immutable list of at most {@code k} leaderboard rows
+     */
+    public synchronized List<LeaderboardDto> top(int k) {
+        if (rows != null) {
+            return List.copyOf(rows.subList(0, Math.min(Math.max(k, 0), rows.size())));
+        }
+
+        List<LeaderboardDto> list = new ArrayList<>(Math.max(Math.min(k, sorted.size()), 0));
+        for (Entry e : sorted) {
+            if (list.size() >= k || e.winRatePercent <= 0) break;
+            if (e.matches > 0) list.add(e.toDto());
+        }
+        return List.copyOf(list);
+    }
+
+    // ====================== HELPERS ======================
+
+    private void apply(Object keyA, String nameA, Object keyB, String nameB, int winner, int delta) {
+        update(keyA, nameA, delta, winner == ScoreCodec.WINNER_A, winner == ScoreCodec.WINNER_B);
+        update(keyB, nameB, delta, winner == ScoreCodec.WINNER_B, winner == ScoreCodec.WINNER_A);
+    }
+
+    private void update(Object key, String name, int delta, boolean won, boolean lost) {
+        Entry e = detach(key, name);
+        e.matches += delta;
+        if (won) e.wins += delta;
+        if (lost) e.losses += delta;
+
+        if (e.matches <= 0) {
+            entries.remove(key);
+        } else {
+            attach(e);
+        }
+    }
+
+    // takes the entry out of the sorted set, so that its counts can change
+    private Entry detach(Object key, String name) {
+        rows = null;
+        Entry e = entries.get(key);
+        if (e == null) {
+            e = new Entry(key, name.trim());
+            entries.put(key, e);
+        } else {
+            sorted.remove(e);
+        }
+        return e;
+    }
+
+    private void attach(Entry e) {
+        e.winRatePercent = winRatePercent(e.wins, e.losses);
+        sorted.add(e);
+    }
+
+    private static double winRatePercent(int wins, int losses) {
+        int finished = wins + losses;
+        if (finished == 0) return 0.0;
+        return Math.round((wins * 100.0) / finished * 10.0) / 10.0;
+    }
+
+    private static final class Entry {
+        final Object key;
+        final String name;
+        int matches;
+        int wins;
+        int losses;
+        double winRatePercent;
+
+        Entry(Object key, String name) {
+            this.key = key;
+            this.name = name;
+        }
+
+        LeaderboardDto toDto() {
+            return new LeaderboardDto(name, matches, wins, losses, winRatePercent);
+        }
+    }
+}
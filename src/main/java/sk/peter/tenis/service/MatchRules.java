@@ -0,0 +1,94 @@
+package sk.peter.tenis.service;
+
+import sk.peter.tenis.dto.MatchDto;
+import sk.peter.tenis.util.ScoreCodec;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.regex.Pattern;
+
+/**
+ * Business rules for new and imported matches, shared by every storage backend.
+ * <p>
+ * The rules are the same as in the console version: two different players and a score
+ * that follows the tennis rules checked by {@link ScoreCodec}. The class holds no state.
+ */
+public final class MatchRules {
+
+    private static final Pattern DATE_FORMAT = Pattern.compile("\\d{4}-\\d{2}-\\d{2}");
+
+    private MatchRules() {
+    }
+
+    /**
+     * Checks a new match: both players given and different, and a valid score.
+     *
+     * @param dto match to check
+     * @throws IllegalArgumentException with a message for the client if a rule is broken
+     */
+    public static void validate(MatchDto dto) {
+        if (dto == null) {
+            throw new IllegalArgumentException("Match must not be null.");
+        }
+
+        String aName = dto.getPlayerA() != null ? dto.getPlayerA().trim() : "";
+        String bName = dto.getPlayerB() != null ? dto.getPlayerB().trim() : "";
+
+        if (aName.isEmpty() || bName.isEmpty()) {
+            throw new IllegalArgumentException("Both player A and player B names are required.");
+        }
+
+        if (aName.equalsIgnoreCase(bName)) {
+            throw new IllegalArgumentException("Player A and player B must be different.");
+        }
+
+        validateScore(dto.getScore());
+    }
+
+    private static void validateScore(String rawScore) {
+        int score = ScoreCodec.encode(rawScore);
+
+        switch (ScoreCodec.error(score)) {
+            case ScoreCodec.OK -> {
+            }
+            case ScoreCodec.ERR_EMPTY -> throw new IllegalArgumentException("Score is required.");
+            case ScoreCodec.ERR_NOT_NUMBER ->
+                    throw new IllegalArgumentException("Score must contain numbers only (e.g. \"6:4\").");
+            case ScoreCodec.ERR_DRAW -> throw new IllegalArgumentException("A set cannot end in a draw (e.g. 6:6).");
+            case ScoreCodec.ERR_TOO_FEW_GAMES ->
+                    throw new IllegalArgumentException("Set winner must have at least 6 games.");
+            case ScoreCodec.ERR_SIX_GAMES_MARGIN ->
+                    throw new IllegalArgumentException("At 6 games, the difference must be at least 2 (e.g. 6:4).");
+            case ScoreCodec.ERR_SEVEN_GAMES ->
+                    throw new IllegalArgumentException("A 7 games set is only allowed as 7:5 or 7:6.");
+            case ScoreCodec.ERR_TOO_MANY_GAMES -> throw new IllegalArgumentException("Too many games in a set.");
+            default -> throw new IllegalArgumentException("Invalid score format. Use e.g. \"6:4\" or \"6:4, 7:6\".");
+        }
+    }
+
+    /**
+     * Validates one row of a bulk import with the same rules as a single create,
+     * including the date format.
+     *
+     * @param dto imported row
+     * @return error message, or {@code null} if the row is valid
+     */
+    public static String validateImportRow(MatchDto dto) {
+        try {
+            validate(dto);
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+
+        String date = dto.getDate() != null ? dto.getDate().trim() : "";
+        if (!DATE_FORMAT.matcher(date).matches()) {
+            return "Invalid date format (use YYYY-MM-DD)";
+        }
+        try {
+            LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            return "Invalid date format (use YYYY-MM-DD)";
+        }
+        return null;
+    }
+}
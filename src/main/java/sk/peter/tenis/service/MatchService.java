@@ -1,119 +1,337 @@
 package sk.peter.tenis.service;
 
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
+import sk.peter.tenis.dto.EloPlayerDto;
+import sk.peter.tenis.dto.EloRatingDto;
+import sk.peter.tenis.dto.HeadToHeadDto;
+import sk.peter.tenis.dto.LeaderboardDto;
+import sk.peter.tenis.dto.MatchCursor;
 import sk.peter.tenis.dto.MatchDto;
+import sk.peter.tenis.dto.MatchImportResultDto;
+import sk.peter.tenis.dto.MatchImportRowDto;
+import sk.peter.tenis.dto.MatchPageDto;
+import sk.peter.tenis.dto.MatchResponseDto;
 import sk.peter.tenis.dto.MatchUpdateDto;
+import sk.peter.tenis.dto.PlayerStatsDto;
 import sk.peter.tenis.exception.NotFoundException;
 import sk.peter.tenis.model.Match;
 import sk.peter.tenis.model.Player;
+import sk.peter.tenis.util.ScoreCodec;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Service responsible for managing tennis matches.
  * <p>
- * Handles loading, validation, creation, update and deletion of matches
+ * Handles validation, creation, update and deletion of matches
  * in CSV-based mode, keeping the same business rules as the console version.
+ * Data is read from and written through the resident {@link CsvDataStore}.
+ * <p>
+ * The service also maintains a {@link Leaderboard}, {@link PlayerTimelines}, a {@link HeadToHeadIndex}
+ * and {@link EloRatings}: every match written here updates them, so reading statistics never walks
+ * all matches. They are rebuilt only when the players in the store change.
  */
 @Service
+@Profile("!h2 & !mysql")
 public class MatchService {
 
-    public List<Match> findAll() {
-        List<Player> players = new ArrayList<>();
-        List<Match> matches = new ArrayList<>();
-        try {
-            CsvService.loadPlayers(players);
-            CsvService.loadMatches(matches, players);
-        } catch (Exception ignored) {
+    private final CsvDataStore store;
+    private final Leaderboard leaderboard = new Leaderboard();
+    private final PlayerTimelines timelines = new PlayerTimelines();
+    private final HeadToHeadIndex headToHead = new HeadToHeadIndex();
+    private final EloRatings elo = new EloRatings();
+    private long statsVersion = -1;
+    // poradie zápasov v rámci dňa pre Elo; nové zápasy idú za existujúce
+    private long eloSeq;
+    // poradové číslo každého započítaného zápasu podľa Match.key(), aby sa pri mazaní našiel ten istý
+    private final Map<String, Long> eloSeqs = new HashMap<>();
+
+    public MatchService(CsvDataStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Returns the leaderboard of CSV matches, sorted by win rate, matches and name.
+     *
+     * @return immutable list of leaderboard rows
+     */
+    public List<LeaderboardDto> getLeaderboard() {
+        refreshStats();
+        return leaderboard.rows();
+    }
+
+    /**
+     * Returns the best {@code limit} players of the CSV leaderboard.
+     *
+     * @param limit maximum number of players
+     * @return top players in leaderboard order
+     */
+    public List<LeaderboardDto> getTopPlayers(int limit) {
+        refreshStats();
+        return leaderboard.top(limit);
+    }
+
+    /**
+     * Returns statistics of one CSV player within an optional date range,
+     * answered from the player's timeline with two binary searches.
+     *
+     * @param name player name (case-insensitive)
+     * @param from start date, or {@code null}
+     * @param to   end date, or {@code null}
+     * @return player statistics, or {@code null} for an empty name
+     */
+    public PlayerStatsDto getPlayerStats(String name, LocalDate from, LocalDate to) {
+        if (name == null || name.isBlank()) return null;
+
+        refreshStats();
+        PlayerTimelines.Totals t = timelines.totals(key(name), from, to);
+        int finished = t.wins() + t.losses();
+        double winRate = finished == 0 ? 0.0 : Math.round((t.wins() * 100.0) / finished * 10.0) / 10.0;
+        return new PlayerStatsDto(name.trim(), t.matches(), t.wins(), t.losses(), winRate);
+    }
+
+    /**
+     * Returns head-to-head statistics of two CSV players within an optional date range,
+     * seen from player {@code a} and answered from the pair's group in {@link HeadToHeadIndex}.
+     *
+     * @param a    name of the first player (case-insensitive)
+     * @param b    name of the second player (case-insensitive)
+     * @param from start date, or {@code null}
+     * @param to   end date, or {@code null}
+     * @return head-to-head totals, zero if the players never met
+     * @throws IllegalArgumentException if a name is empty or both names denote the same player
+     */
+    public HeadToHeadDto getHeadToHead(String a, String b, LocalDate from, LocalDate to) {
+        if (a == null || a.isBlank() || b == null || b.isBlank()) {
+            throw new IllegalArgumentException("Both player names must be given.");
+        }
+        if (key(a).equals(key(b))) {
+            throw new IllegalArgumentException("Players must be different.");
         }
-        return matches;
+
+        refreshStats();
+        HeadToHeadIndex.Totals t = headToHead.totals(key(a), key(b), from, to);
+        return new HeadToHeadDto(a.trim(), b.trim(), t.matches(), t.wins(), t.losses(),
+                t.setsWon(), t.setsLost(), t.gamesWon(), t.gamesLost());
+    }
+
+    /**
+     * Returns all CSV players with at least one match ordered by Elo rating, highest first.
+     *
+     * @return Elo ranking
+     */
+    public List<EloRatingDto> getEloRanking() {
+        refreshStats();
+        return elo.ranking();
     }
 
-    public void validateMatchBusinessRules(MatchDto dto) {
-        if (dto == null) {
-            throw new IllegalArgumentException("Match must not be null.");
+    /**
+     * Returns the Elo rating of one CSV player with its change in every match.
+     *
+     * @param name player name (case-insensitive)
+     * @return rating and history, or {@code null} if the player has no matches
+     */
+    public EloPlayerDto getEloForPlayer(String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Player name must not be empty.");
         }
 
-        String aName = dto.getPlayerA() != null ? dto.getPlayerA().trim() : "";
-        String bName = dto.getPlayerB() != null ? dto.getPlayerB().trim() : "";
+        refreshStats();
+        return elo.player(key(name));
+    }
 
-        if (aName.isEmpty() || bName.isEmpty()) {
-            throw new IllegalArgumentException("Both player A and player B names are required.");
+    // rebuilds the statistics after the players in the store changed
+    private synchronized void refreshStats() {
+        long version = store.getPlayersVersion();
+        if (version != statsVersion) {
+            leaderboard.clear();
+            timelines.clear();
+            headToHead.clear();
+            elo.clear();
+            eloSeq = 0;
+            eloSeqs.clear();
+            for (Match m : store.getMatchesByDate()) {
+                count(m, true);
+            }
+            statsVersion = version;
         }
+    }
 
-        if (aName.equalsIgnoreCase(bName)) {
-            throw new IllegalArgumentException("Player A and player B must be different.");
+    private void count(Match m, boolean add) {
+        String a = m.getPlayerA().getName();
+        String b = m.getPlayerB().getName();
+        int score = ScoreCodec.encode(m.getScore());
+        int winner = ScoreCodec.winner(score);
+        if (add) {
+            leaderboard.addMatch(key(a), a, key(b), b, winner);
+            timelines.addMatch(key(a), key(b), m.getDate(), winner);
+            headToHead.addMatch(key(a), key(b), m.getDate(), score);
+            long seq = eloSeq++;
+            eloSeqs.put(m.key(), seq);
+            elo.addMatch(seq, key(a), a, key(b), b, m.getDate(), winner);
+        } else {
+            leaderboard.removeMatch(key(a), a, key(b), b, winner);
+            timelines.removeMatch(key(a), key(b), m.getDate(), winner);
+            headToHead.removeMatch(key(a), key(b), m.getDate(), score);
+            Long seq = eloSeqs.remove(m.key());
+            if (seq != null) elo.removeMatch(seq, key(a), key(b), m.getDate(), winner);
         }
+    }
 
-        validateScore(dto.getScore());
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
     }
 
-    private void validateScore(String rawScore) {
-        if (rawScore == null) {
-            throw new IllegalArgumentException("Score is required.");
-        }
+    public List<Match> findAll() {
+        return store.getMatches();
+    }
 
-        String score = rawScore.trim();
-        if (score.isEmpty()) {
-            throw new IllegalArgumentException("Score is required.");
+    /**
+     * Returns one page of matches ordered by date, optionally filtered by player and date range.
+     * <p>
+     * CSV matches have no stored ID, so the 1-based position in the date-ordered list is used
+     * as the ID in responses and cursors.
+     *
+     * @param player player name, or {@code null} for all players
+     * @param from   start date, or {@code null}
+     * @param to     end date, or {@code null}
+     * @param cursor position after which the page starts, or {@code null} for the first page
+     * @param size   maximum number of matches on the page
+     * @return page of match response DTOs
+     */
+    public MatchPageDto findPage(String player, LocalDate from, LocalDate to, MatchCursor cursor, int size) {
+        List<Match> byDate = store.getMatchesByDate();
+        String name = player != null ? player.trim() : null;
+
+        int start = from != null ? firstOnOrAfter(byDate, from) : 0;
+        if (cursor != null) {
+            // cursor ID is the 1-based position of the last match read, i.e. the index of the next one
+            int next = (int) Math.min(cursor.id(), byDate.size());
+            start = Math.max(start, Math.max(next, firstOnOrAfter(byDate, cursor.date())));
         }
 
-        String[] sets = score.split(",");
-        for (String part : sets) {
-            String s = part.trim();
-            String[] games = s.split(":");
-            if (games.length != 2) {
-                throw new IllegalArgumentException("Invalid score format. Use e.g. \"6:4\" or \"6:4, 7:6\".");
+        List<MatchResponseDto> items = new ArrayList<>(size);
+        for (int i = start; i < byDate.size(); i++) {
+            Match m = byDate.get(i);
+            if (to != null && m.getDate().isAfter(to)) break;
+            if (name != null
+                    && !m.getPlayerA().getName().equalsIgnoreCase(name)
+                    && !m.getPlayerB().getName().equalsIgnoreCase(name)) continue;
+
+            if (items.size() == size) {
+                MatchResponseDto last = items.get(size - 1);
+                return new MatchPageDto(items, new MatchCursor(last.getDate(), last.getId()).encode());
             }
+            items.add(toResponse(m, i));
+        }
+        return new MatchPageDto(items, null);
+    }
 
-            int gA;
-            int gB;
-            try {
-                gA = Integer.parseInt(games[0].trim());
-                gB = Integer.parseInt(games[1].trim());
-            } catch (NumberFormatException ex) {
-                throw new IllegalArgumentException("Score must contain numbers only (e.g. \"6:4\").");
-            }
+    /**
+     * Passes every match, ordered by date, to {@code action}.
+     * IDs are the positions used by {@link #findPage}.
+     *
+     * @param action callback invoked for every match
+     */
+    public void forEachResponse(Consumer<MatchResponseDto> action) {
+        List<Match> byDate = store.getMatchesByDate();
+        for (int i = 0; i < byDate.size(); i++) {
+            action.accept(toResponse(byDate.get(i), i));
+        }
+    }
 
-            if (gA == gB) {
-                throw new IllegalArgumentException("A set cannot end in a draw (e.g. 6:6).");
-            }
+    private static MatchResponseDto toResponse(Match m, int position) {
+        return new MatchResponseDto((long) position + 1, m.getPlayerA().getName(), m.getPlayerB().getName(),
+                m.getScore(), m.getDate());
+    }
 
-            int max = Math.max(gA, gB);
-            int min = Math.min(gA, gB);
+    // binary search for the first match played on or after the given date
+    private static int firstOnOrAfter(List<Match> byDate, LocalDate date) {
+        int lo = 0, hi = byDate.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (byDate.get(mid).getDate().isBefore(date)) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
 
-            if (max < 6) {
-                throw new IllegalArgumentException("Set winner must have at least 6 games.");
+    /**
+     * Imports many matches at once.
+     * <p>
+     * Rows are validated in one pass, players are resolved from the resident store
+     * and all new matches are written with one journal append.
+     *
+     * @param rows imported rows
+     * @return result for every row
+     */
+    public MatchImportResultDto importMatches(List<MatchDto> rows) {
+        MatchImportRowDto[] results = new MatchImportRowDto[rows.size()];
+        List<Match> candidates = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            MatchDto dto = rows.get(i);
+            String error = MatchRules.validateImportRow(dto);
+            if (error != null) {
+                results[i] = new MatchImportRowDto(i + 1, MatchImportRowDto.Status.ERROR, null, error);
+                continue;
             }
 
-            if (max == 6 && max - min < 2) {
-                throw new IllegalArgumentException("At 6 games, the difference must be at least 2 (e.g. 6:4).");
+            Player a = store.findPlayer(dto.getPlayerA());
+            Player b = store.findPlayer(dto.getPlayerB());
+            if (a == null || b == null) {
+                results[i] = new MatchImportRowDto(i + 1, MatchImportRowDto.Status.ERROR, null, "Player(s) not found");
+                continue;
             }
 
-            if (max == 7 && min < 5) {
-                throw new IllegalArgumentException("A 7 games set is only allowed as 7:5 or 7:6.");
-            }
+            candidates.add(new Match(a, b, dto.getScore(), LocalDate.parse(dto.getDate().trim())));
+            positions.add(i);
+        }
 
-            if (max > 7) {
-                throw new IllegalArgumentException("Too many games in a set.");
+        boolean[] added;
+        try {
+            synchronized (this) {
+                added = store.addMatches(candidates);
+                for (int j = 0; j < added.length; j++) {
+                    if (added[j]) count(candidates.get(j), true);
+                }
             }
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to import matches", e);
         }
+
+        for (int j = 0; j < positions.size(); j++) {
+            int i = positions.get(j);
+            results[i] = new MatchImportRowDto(i + 1,
+                    added[j] ? MatchImportRowDto.Status.CREATED : MatchImportRowDto.Status.DUPLICATE, null, null);
+        }
+        return new MatchImportResultDto(Arrays.asList(results));
     }
 
-    public Match createFromDto(MatchDto dto) {
-        validateMatchBusinessRules(dto);
+    /**
+     * Result of {@link #createFromDto}.
+     *
+     * @param match   the match as requested
+     * @param created {@code true} if the match was stored now, {@code false} if the same match was already stored
+     */
+    public record Created(Match match, boolean created) {
+    }
 
-        List<Player> players = new ArrayList<>();
-        List<Match> matches = new ArrayList<>();
+    public Created createFromDto(MatchDto dto) {
+        MatchRules.validate(dto);
 
         try {
-            CsvService.loadPlayers(players);
-            CsvService.loadMatches(matches, players);
-
-            Player a = findPlayerByExactName(players, dto.getPlayerA());
-            Player b = findPlayerByExactName(players, dto.getPlayerB());
+            Player a = store.findPlayer(dto.getPlayerA());
+            Player b = store.findPlayer(dto.getPlayerB());
             if (a == null || b == null) {
                 throw new IllegalArgumentException("Player(s) not found");
             }
@@ -121,13 +339,13 @@ public class MatchService {
             LocalDate date = LocalDate.parse(dto.getDate());
             Match m = new Match(a, b, dto.getScore(), date);
 
-            if (matchExists(matches, m)) {
-                return m;
+            // duplicitný zápas store ignoruje, volajúci sa to dozvie z Created
+            boolean added;
+            synchronized (this) {
+                added = store.addMatch(m);
+                if (added) count(m, true);
             }
-
-            matches.add(m);
-            CsvService.saveMatches(matches);
-            return m;
+            return new Created(m, added);
 
         } catch (IllegalArgumentException iae) {
             throw iae;
@@ -136,37 +354,6 @@ public class MatchService {
         }
     }
 
-    private Player findPlayerByExactName(List<Player> players, String name) {
-        if (name == null) {
-            return null;
-        }
-
-        String target = name.trim();
-
-        return players.stream()
-                .filter(p -> p.getName().equalsIgnoreCase(target))
-                .findFirst()
-                .orElse(null);
-    }
-
-    private boolean matchExists(List<Match> list, Match candidate) {
-        for (Match m : list) {
-            boolean sameOrder =
-                    m.getPlayerA().getName().equalsIgnoreCase(candidate.getPlayerA().getName()) &&
-                            m.getPlayerB().getName().equalsIgnoreCase(candidate.getPlayerB().getName());
-            boolean swappedOrder =
-                    m.getPlayerA().getName().equalsIgnoreCase(candidate.getPlayerB().getName()) &&
-                            m.getPlayerB().getName().equalsIgnoreCase(candidate.getPlayerA().getName());
-
-            if ((sameOrder || swappedOrder)
-                    && m.getScore().equalsIgnoreCase(candidate.getScore())
-                    && m.getDate().equals(candidate.getDate())) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private Match findMatch(List<Match> list, String aName, String bName, String score, String dateStr) {
         if (aName == null || bName == null || score == null || dateStr == null) return null;
         LocalDate d;
@@ -194,13 +381,8 @@ public class MatchService {
     }
 
     public Match update(String playerA, String playerB, String date, String score, MatchUpdateDto dto) {
-        List<Player> players = new ArrayList<>();
-        List<Match> matches = new ArrayList<>();
         try {
-            CsvService.loadPlayers(players);
-            CsvService.loadMatches(matches, players);
-
-            Match existing = findMatch(matches, playerA, playerB, score, date);
+            Match existing = findMatch(store.getMatches(), playerA, playerB, score, date);
             if (existing == null) {
                 throw new NotFoundException("Match not found");
             }
@@ -215,9 +397,13 @@ public class MatchService {
 
             Match updated = new Match(existing.getPlayerA(), existing.getPlayerB(), newScore, newDate);
 
-            int idx = matches.indexOf(existing);
-            matches.set(idx, updated);
-            CsvService.saveMatches(matches);
+            synchronized (this) {
+                if (!store.replaceMatch(existing, updated)) {
+                    throw new NotFoundException("Match not found");
+                }
+                count(existing, false);
+                count(updated, true);
+            }
 
             return updated;
         } catch (NotFoundException nf) {
@@ -228,23 +414,18 @@ public class MatchService {
     }
 
     public void delete(String playerA, String playerB, String date, String score) {
-        List<Player> players = new ArrayList<>();
-        List<Match> matches = new ArrayList<>();
         try {
-            CsvService.loadPlayers(players);
-            CsvService.loadMatches(matches, players);
-
-            Match existing = findMatch(matches, playerA, playerB, score, date);
-            if (existing == null) {
-                throw new NotFoundException("Match not found");
+            Match existing = findMatch(store.getMatches(), playerA, playerB, score, date);
+            synchronized (this) {
+                if (existing == null || !store.removeMatch(existing)) {
+                    throw new NotFoundException("Match not found");
+                }
+                count(existing, false);
             }
-
-            matches.remove(existing);
-            CsvService.saveMatches(matches);
         } catch (NotFoundException nf) {
             throw nf;
         } catch (Exception e) {
             throw new RuntimeException("Unable to delete match", e);
         }
     }
-}
\ No newline at end of file
+}
@@ -1,36 +1,37 @@
 package sk.peter.tenis.service;
 
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 import sk.peter.tenis.dto.PlayerDto;
 import sk.peter.tenis.exception.NotFoundException;
 import sk.peter.tenis.model.Player;
 import sk.peter.tenis.model.PlayerType;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Service responsible for managing players in the CSV-based mode.
  * <p>
- * This service loads and persists players via {@link CsvService}. It provides basic CRUD operations:
+ * This service reads and persists players via the resident {@link CsvDataStore}. It provides basic CRUD operations:
  * list all players, create a new player, update existing player and delete a player.
  */
 @Service
+@Profile("!h2 & !mysql")
 public class PlayerService {
 
+    private final CsvDataStore store;
+
+    public PlayerService(CsvDataStore store) {
+        this.store = store;
+    }
+
     /**
-     * Returns all players loaded from CSV storage.
+     * Returns all players from CSV storage.
      *
      * @return list of all players (empty if nothing could be loaded)
      */
     public List<Player> findAll() {
-        List<Player> result = new ArrayList<>();
-        try {
-            CsvService.loadPlayers(result);
-        } catch (Exception e) {
-            // CSV fáza: ticho vrátime to, čo je
-        }
-        return result;
+        return store.getPlayers();
     }
 
     /**
@@ -55,34 +56,24 @@ public class PlayerService {
             }
         }
 
-        // 2) načítaj existujúcich hráčov
-        List<Player> players = new ArrayList<>();
+        // 2) vytvor Player cez KONŠTRUKTOR (tvoj poriadok je name, age, type)
+        Player p = new Player(name, dto.getAge(), type);
+
+        // 3) pridaj a ulož – store odmietne duplicitné meno (case-insensitive, celé meno)
+        boolean added;
         try {
-            CsvService.loadPlayers(players);
+            added = store.addPlayer(p);
         } catch (Exception e) {
-            // ak sa nepodarí načítať, pokračujeme s prázdnym zoznamom
+            // CSV režim – ak sa nepodarí uložiť, nezhodíme API
+            added = true;
         }
 
-        // 3) kontrola duplicitného mena (case-insensitive, celé meno)
-        boolean exists = players.stream()
-                .anyMatch(p -> p.getName().equalsIgnoreCase(name));
-
-        if (exists) {
+        if (!added) {
             throw new IllegalArgumentException(
                     "Hráč s týmto menom už existuje. Zadaj prosím celé meno (meno + priezvisko), aby sme ich vedeli odlíšiť."
             );
         }
 
-        // 4) vytvor Player cez KONŠTRUKTOR (tvoj poriadok je name, age, type)
-        Player p = new Player(name, dto.getAge(), type);
-
-        // 5) pridaj a ulož
-        players.add(p);
-        try {
-            CsvService.savePlayers(players);
-        } catch (Exception e) {
-            // CSV režim – ak sa nepodarí uložiť, nezhodíme API
-        }
         return p;
     }
 
@@ -98,20 +89,7 @@ public class PlayerService {
      * @throws NotFoundException if the player was not found
      */
     public Player update(String name, PlayerDto dto) {
-        List<Player> players = new ArrayList<>();
         try {
-            CsvService.loadPlayers(players);
-
-            // nájdi hráča podľa mena (case-insensitive)
-            int idx = -1;
-            for (int i = 0; i < players.size(); i++) {
-                if (players.get(i).getName().equalsIgnoreCase(name)) {
-                    idx = i;
-                    break;
-                }
-            }
-            if (idx < 0) throw new NotFoundException("Player not found");
-
             // mapuj typ
             PlayerType type = PlayerType.fromInput(dto.getType());
             if (type == null) {
@@ -123,11 +101,11 @@ public class PlayerService {
             }
 
             // meno ponecháme pôvodné (renaming riešime neskôr), update len age + type
-            Player original = players.get(idx);
-            Player updated = new Player(original.getName(), dto.getAge(), type);
-            players.set(idx, updated);
+            PlayerType newType = type;
+            Player updated = store.updatePlayer(name,
+                    original -> new Player(original.getName(), dto.getAge(), newType));
+            if (updated == null) throw new NotFoundException("Player not found");
 
-            CsvService.savePlayers(players);
             return updated;
         } catch (NotFoundException nf) {
             throw nf;
@@ -144,16 +122,13 @@ public class PlayerService {
      * @throws NotFoundException if the player was not found
      */
     public void delete(String name) {
-        List<Player> players = new ArrayList<>();
         try {
-            CsvService.loadPlayers(players);
-            boolean removed = players.removeIf(p -> p.getName().equalsIgnoreCase(name));
+            boolean removed = store.removePlayer(name);
             if (!removed) throw new NotFoundException("Player not found");
-            CsvService.savePlayers(players);
         } catch (NotFoundException nf) {
             throw nf;
         } catch (Exception e) {
             throw new RuntimeException("Unable to delete player", e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,165 @@
+package sk.peter.tenis.service;
+
+import sk.peter.tenis.util.ScoreCodec;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-player match history ordered by date, with prefix sums of played matches, wins and losses.
+ * <p>
+ * Counting a player's results in any date window is two binary searches and a subtraction,
+ * independent of how many matches are stored. Writes insert into or remove from the affected
+ * players' timelines only; their prefix sums are recomputed lazily on the next query.
+ * <p>
+ * Players are identified by a key chosen by the caller, as in {@link Leaderboard}.
+ * The class is thread-safe.
+ */
+public class PlayerTimelines {
+
+    private static final byte WIN = 1;
+    private static final byte LOSS = -1;
+    private static final byte NO_RESULT = 0;
+
+    /**
+     * Results of one player within a date window.
+     *
+     * @param matches number of matches played
+     * @param wins    number of matches won
+     * @param losses  number of matches lost
+     */
+    public record Totals(int matches, int wins, int losses) {
+    }
+
+    private final Map<Object, Timeline> timelines = new HashMap<>();
+
+    /**
+     * Counts a new match in both players' timelines.
+     *
+     * @param keyA   key of player A
+     * @param keyB   key of player B
+     * @param date   match date
+     * @param winner winner side as defined by {@link ScoreCodec}
+     */
+    public synchronized void addMatch(Object keyA, Object keyB, LocalDate date, int winner) {
+        int day = (int) date.toEpochDay();
+        timelines.computeIfAbsent(keyA, k -> new Timeline()).insert(day, resultOf(winner, ScoreCodec.WINNER_A));
+        timelines.computeIfAbsent(keyB, k -> new Timeline()).insert(day, resultOf(winner, ScoreCodec.WINNER_B));
+    }
+
+    /**
+     * Stops counting a removed match. Arguments must describe the match as it was counted.
+     *
+     * @param keyA   key of player A
+     * @param keyB   key of player B
+     * @param date   match date
+     * @param winner winner side as defined by {@link ScoreCodec}
+     */
+    public synchronized void removeMatch(Object keyA, Object keyB, LocalDate date, int winner) {
+        int day = (int) date.toEpochDay();
+        remove(keyA, day, resultOf(winner, ScoreCodec.WINNER_A));
+        remove(keyB, day, resultOf(winner, ScoreCodec.WINNER_B));
+    }
+
+    /**
+     * Forgets all players.
+     */
+    public synchronized void clear() {
+        timelines.clear();
+    }
+
+    /**
+     * Counts the results of one player between two dates.
+     *
+     * @param key  player key
+     * @param from first day counted, or {@code null} for no lower bound
+     * @param to   last day counted, or {@code null} for no upper bound
+     * @return totals, zero if the player has no matches
+     */
+    public synchronized Totals totals(Object key, LocalDate from, LocalDate to) {
+        Timeline t = timelines.get(key);
+        if (t == null) return new Totals(0, 0, 0);
+
+        t.ensurePrefixSums();
+        int lo = from != null ? t.firstAfter((int) from.toEpochDay() - 1) : 0;
+        int hi = to != null ? t.firstAfter((int) to.toEpochDay()) : t.size;
+        if (hi <= lo) return new Totals(0, 0, 0);
+
+        return new Totals(hi - lo, t.wins[hi] - t.wins[lo], t.losses[hi] - t.losses[lo]);
+    }
+
+    // ====================== HELPERS ======================
+
+    private static byte resultOf(int winner, int side) {
+        if (winner == ScoreCodec.WINNER_NONE) return NO_RESULT;
+        return winner == side ? WIN : LOSS;
+    }
+
+    private void remove(Object key, int day, byte result) {
+        Timeline t = timelines.get(key);
+        if (t == null) return;
+        t.remove(day, result);
+        if (t.size == 0) timelines.remove(key);
+    }
+
+    private static final class Timeline {
+        int[] days = new int[4];
+        byte[] results = new byte[4];
+        int size;
+
+        // wins[i] / losses[i] = count among the first i matches; null until needed
+        int[] wins;
+        int[] losses;
+
+        void insert(int day, byte result) {
+            if (size == days.length) {
+                days = Arrays.copyOf(days, size * 2);
+                results = Arrays.copyOf(results, size * 2);
+            }
+            int at = firstAfter(day);
+            System.arraycopy(days, at, days, at + 1, size - at);
+            System.arraycopy(results, at, results, at + 1, size - at);
+            days[at] = day;
+            results[at] = result;
+            size++;
+            wins = null;
+            losses = null;
+        }
+
+        void remove(int day, byte result) {
+            for (int i = firstAfter(day - 1); i < size && days[i] == day; i++) {
+                if (results[i] == result) {
+                    System.arraycopy(days, i + 1, days, i, size - i - 1);
+                    System.arraycopy(results, i + 1, results, i, size - i - 1);
+                    size--;
+                    wins = null;
+                    losses = null;
+                    return;
+                }
+            }
+        }
+
+        void ensurePrefixSums() {
+            if (wins != null) return;
+            wins = new int[size + 1];
+            losses = new int[size + 1];
+            for (int i = 0; i < size; i++) {
+                wins[i + 1] = wins[i] + (results[i] == WIN ? 1 : 0);
+                losses[i + 1] = losses[i] + (results[i] == LOSS ? 1 : 0);
+            }
+        }
+
+        // index of the first match played after the given day
+        int firstAfter(int day) {
+            int lo = 0, hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (days[mid] <= day) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+    }
+}
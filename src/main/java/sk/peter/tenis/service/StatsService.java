@@ -1,24 +1,56 @@
 package sk.peter.tenis.service;
 
 import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sk.peter.tenis.dto.EloPlayerDto;
+import sk.peter.tenis.dto.EloRatingDto;
+import sk.peter.tenis.dto.HeadToHeadDto;
 import sk.peter.tenis.dto.LeaderboardDto;
 import sk.peter.tenis.dto.PlayerStatsDto;
-import sk.peter.tenis.entity.MatchEntity;
 import sk.peter.tenis.entity.PlayerEntity;
+import sk.peter.tenis.repository.PlayerNameRow;
+import sk.peter.tenis.repository.HeadToHeadRow;
+import sk.peter.tenis.repository.MatchOutcomeRow;
 import sk.peter.tenis.repository.MatchRepository;
 import sk.peter.tenis.repository.PlayerRepository;
+import sk.peter.tenis.repository.PlayerResultRow;
+import sk.peter.tenis.service.jpa.MatchChangedEvent;
+import sk.peter.tenis.service.jpa.PlayerLookupService;
+import sk.peter.tenis.util.ScoreCodec;
 
 import java.time.LocalDate;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Service for computing player statistics and leaderboard from the database (H2/MySQL).
  * <p>
  * This service is active only for {@code h2} and {@code mysql} profiles and uses repositories
- * to read matches and players.
+ * to read matches. The leaderboard is aggregated by the database in a single query on first use
+ * and afterwards kept current from {@link MatchChangedEvent}s, so reading it does not touch the database.
+ * Player statistics for a date range are answered from {@link PlayerTimelines}, loaded and kept
+ * current the same way. Head-to-head statistics are aggregated by the database per request.
+ * Elo ratings are replayed once from all matches in date order and then updated per match
+ * by {@link EloRatings}, which replays again only after a back-dated or edited match.
+ * <p>
+ * Structures are loaded in a new read-only transaction, so a load sees every change committed before it.
+ * A load that overlaps a match write is used for that read only and not kept: it cannot tell whether
+ * it already contains a change whose event is still to come, so the next read loads again.
+ * <p>
+ * Reads run in read-only transactions and load projections only, never entities.
  */
 @Service
 @Profile({"h2", "mysql"})
@@ -26,102 +58,291 @@ public class StatsService {
 
     private final MatchRepository matchRepository;
     private final PlayerRepository playerRepository;
-
-    public StatsService(MatchRepository matchRepository,
-                        PlayerRepository playerRepository) {
+    private final PlayerLookupService playerLookup;
+    private final DataVersion dataVersion;
+    private final Leaderboard leaderboard = new Leaderboard();
+    private boolean leaderboardLoaded;
+    private final PlayerTimelines timelines = new PlayerTimelines();
+    private boolean timelinesLoaded;
+    private final EloRatings elo = new EloRatings();
+    private boolean eloLoaded;
+    private final TransactionTemplate freshRead;
+
+    // zmeny zápasov ohlásené v zapisujúcej transakcii, ktorá ešte neskončila, a počet skončených
+    private final AtomicInteger writesInFlight = new AtomicInteger();
+    private final AtomicLong writesCompleted = new AtomicLong();
+
+    public StatsService(MatchRepository matchRepository, PlayerRepository playerRepository,
+                        PlayerLookupService playerLookup, DataVersion dataVersion,
+                        PlatformTransactionManager transactionManager) {
         this.matchRepository = matchRepository;
         this.playerRepository = playerRepository;
+        this.playerLookup = playerLookup;
+        this.dataVersion = dataVersion;
+        this.freshRead = new TransactionTemplate(transactionManager);
+        this.freshRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.freshRead.setReadOnly(true);
     }
 
+    @Transactional(readOnly = true)
     public PlayerStatsDto getStatsForPlayer(String playerName) {
         if (playerName == null || playerName.isBlank()) {
             throw new IllegalArgumentException("Player name must not be empty.");
         }
 
-        final String target = playerName.trim().toLowerCase(Locale.ROOT);
-
-        List<MatchEntity> allMatches = matchRepository.findAll();
-
-        List<MatchEntity> playerMatches = allMatches.stream()
-                .filter(m -> involves(m, target))
-                .toList();
+        return toStatsDto(playerName, totals(playerName, null, null));
+    }
 
-        int total = playerMatches.size();
+    @Transactional(readOnly = true)
+    public List<LeaderboardDto> getLeaderboard() {
+        try {
+            return loadedLeaderboard().rows();
+        } catch (Exception e) {
+            return List.of();
+        }
+    }
 
-        int[] wl = calculateWinsAndLosses(playerMatches, target);
-        int wins = wl[0];
-        int losses = wl[1];
+    /**
+     * Returns the best {@code limit} players of the leaderboard, read from the head
+     * of its sorted structure, so the cost depends on {@code limit}, not on the number of players.
+     *
+     * @param limit maximum number of players
+     * @return top players in leaderboard order
+     */
+    @Transactional(readOnly = true)
+    public List<LeaderboardDto> getTopPlayers(int limit) {
+        try {
+            return loadedLeaderboard().top(limit);
+        } catch (Exception e) {
+            return List.of();
+        }
+    }
 
-        double winRate = calcWinRate(wins, losses);
-        return new PlayerStatsDto(playerName, total, wins, losses, winRate);
+    /**
+     * Applies committed match changes to the leaderboard, the player timelines and the Elo ratings,
+     * then bumps the {@link DataVersion}. A structure not read yet is not updated; it will be loaded
+     * with the changes included.
+     * <p>
+     * The version is bumped here rather than by a listener of its own, so a response cached
+     * under the new version can never be built from statistics without the change.
+     *
+     * @param event committed change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onMatchChanged(MatchChangedEvent event) {
+        try {
+            apply(event);
+        } finally {
+            dataVersion.bump();
+        }
     }
 
-    private boolean involves(MatchEntity m, String target) {
-        return m.getPlayerA().getName().equalsIgnoreCase(target)
-                || m.getPlayerB().getName().equalsIgnoreCase(target);
+    private void apply(MatchChangedEvent event) {
+        if (event.rebuild()) {
+            leaderboardLoaded = false;
+            timelinesLoaded = false;
+            eloLoaded = false;
+            return;
+        }
+        for (MatchChangedEvent.Outcome o : event.removed()) {
+            if (leaderboardLoaded) {
+                leaderboard.removeMatch(o.playerAId(), o.playerAName(), o.playerBId(), o.playerBName(), o.winner());
+            }
+            if (timelinesLoaded) {
+                timelines.removeMatch(o.playerAId(), o.playerBId(), o.date(), o.winner());
+            }
+            if (eloLoaded) {
+                elo.removeMatch(o.matchId(), o.playerAId(), o.playerBId(), o.date(), o.winner());
+            }
+        }
+        for (MatchChangedEvent.Outcome o : event.added()) {
+            if (leaderboardLoaded) {
+                leaderboard.addMatch(o.playerAId(), o.playerAName(), o.playerBId(), o.playerBName(), o.winner());
+            }
+            if (timelinesLoaded) {
+                timelines.addMatch(o.playerAId(), o.playerBId(), o.date(), o.winner());
+            }
+            if (eloLoaded) {
+                elo.addMatch(o.matchId(), o.playerAId(), o.playerAName(), o.playerBId(), o.playerBName(),
+                        o.date(), o.winner());
+            }
+        }
     }
 
-    public List<LeaderboardDto> getLeaderboard() {
-        try {
-            List<PlayerEntity> players = playerRepository.findAll();
-            List<MatchEntity> matches = matchRepository.findAll();
+    /**
+     * Marks a match change as in flight from its publication inside the writing transaction
+     * until that transaction completes. Runs before every other listener of the event.
+     *
+     * @param event published change
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onMatchChangePublished(MatchChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            writesCompleted.incrementAndGet();
+            return;
+        }
+        writesInFlight.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                // najprv počet skončených, až potom uvoľni – loadFresh tak nevidí medzistav
+                writesCompleted.incrementAndGet();
+                writesInFlight.decrementAndGet();
+            }
+        });
+    }
 
-            return players.stream()
-                    .map(player -> computeLeaderboardRow(player, matches))
-                    .filter(row -> row.getMatches() > 0 && row.getWinRatePercent() > 0)
-                    .sorted(Comparator.comparingDouble(LeaderboardDto::getWinRatePercent).reversed())
-                    .toList();
+    /**
+     * Runs {@code load} in a new read-only transaction.
+     *
+     * @return {@code true} if no match write was in flight or completed meanwhile,
+     *         so later events continue exactly where the loaded state ends
+     */
+    private boolean loadFresh(Runnable load) {
+        long before = writesCompleted.get();
+        boolean quiet = writesInFlight.get() == 0;
+        freshRead.executeWithoutResult(status -> load.run());
+        return quiet && writesInFlight.get() == 0 && writesCompleted.get() == before;
+    }
 
-        } catch (Exception e) {
-            return List.of();
+    private synchronized Leaderboard loadedLeaderboard() {
+        if (!leaderboardLoaded) {
+            leaderboardLoaded = loadFresh(() -> {
+                leaderboard.clear();
+                for (PlayerResultRow row : matchRepository.aggregatePlayerResults()) {
+                    leaderboard.put(row.getId(), row.getName(), (int) row.getPlayed(), (int) row.getWins(), (int) row.getLosses());
+                }
+            });
         }
+        return leaderboard;
     }
 
-    private LeaderboardDto computeLeaderboardRow(PlayerEntity player, List<MatchEntity> allMatches) {
-        String name = player.getName().trim();
-        String lowerName = name.toLowerCase(Locale.ROOT);
+    private synchronized PlayerTimelines loadedTimelines() {
+        if (!timelinesLoaded) {
+            timelinesLoaded = loadFresh(() -> {
+                timelines.clear();
+                for (MatchOutcomeRow row : matchRepository.findAllOutcomes()) {
+                    timelines.addMatch(row.playerAId(), row.playerBId(), row.date(), winnerOf(row));
+                }
+            });
+        }
+        return timelines;
+    }
 
-        List<MatchEntity> playerMatches = allMatches.stream()
-                .filter(m -> involves(m, name))
-                .toList();
+    private synchronized EloRatings loadedElo() {
+        if (!eloLoaded) {
+            eloLoaded = loadFresh(() -> {
+                elo.clear();
+                Map<Long, String> names = new HashMap<>();
+                for (PlayerNameRow p : playerRepository.findAllNames()) {
+                    names.put(p.id(), p.name());
+                }
+                // riadky prichádzajú v poradí zápasov, takže sa hodnotia bez prehrávania
+                for (MatchOutcomeRow row : matchRepository.findAllOutcomes()) {
+                    elo.addMatch(row.id(), row.playerAId(), names.get(row.playerAId()),
+                            row.playerBId(), names.get(row.playerBId()), row.date(), winnerOf(row));
+                }
+            });
+        }
+        return elo;
+    }
 
-        int total = playerMatches.size();
+    private static int winnerOf(MatchOutcomeRow row) {
+        return row.winnerId() == null ? ScoreCodec.WINNER_NONE
+                : row.winnerId().equals(row.playerAId()) ? ScoreCodec.WINNER_A : ScoreCodec.WINNER_B;
+    }
 
-        int[] wl = calculateWinsAndLosses(playerMatches, lowerName);
-        int wins = wl[0];
-        int losses = wl[1];
+    private PlayerTimelines.Totals totals(String playerName, LocalDate from, LocalDate to) {
+        Long playerId = playerLookup.findIdByName(playerName);
+        if (playerId == null) return new PlayerTimelines.Totals(0, 0, 0);
+        return loadedTimelines().totals(playerId, from, to);
+    }
 
-        double winRate = calcWinRate(wins, losses);
-        return new LeaderboardDto(name, total, wins, losses, winRate);
+    private PlayerStatsDto toStatsDto(String name, PlayerTimelines.Totals t) {
+        return new PlayerStatsDto(name, t.matches(), t.wins(), t.losses(), calcWinRate(t.wins(), t.losses()));
     }
 
+    /**
+     * Returns statistics of one player within an optional date range.
+     * The range is answered from the player's timeline with two binary searches.
+     *
+     * @param playerName player name (case-insensitive)
+     * @param from       start date, or {@code null}
+     * @param to         end date, or {@code null}
+     * @return player statistics, or {@code null} for an empty name
+     */
+    @Transactional(readOnly = true)
     public PlayerStatsDto getPlayerStats(String playerName, LocalDate from, LocalDate to) {
         if (playerName == null || playerName.isBlank()) return null;
 
         try {
-            List<MatchEntity> matches = matchRepository.findAll();
-            final String target = playerName.trim().toLowerCase(Locale.ROOT);
-
-            List<MatchEntity> playerMatches = matches.stream()
-                    .filter(m -> involves(m, target))
-                    .filter(m ->
-                            (from == null || !m.getDate().isBefore(from))
-                                    && (to == null || !m.getDate().isAfter(to))
-                    )
-                    .toList();
+            return toStatsDto(playerName.trim(), totals(playerName, from, to));
+        } catch (Exception e) {
+            return null;
+        }
+    }
 
-            int total = playerMatches.size();
+    /**
+     * Returns head-to-head statistics of two players within an optional date range,
+     * seen from player {@code a}. The database reads only the pair's rows through
+     * the index on the canonical player pair.
+     *
+     * @param a    name of the first player (case-insensitive)
+     * @param b    name of the second player (case-insensitive)
+     * @param from start date, or {@code null}
+     * @param to   end date, or {@code null}
+     * @return head-to-head totals, zero if either player is unknown
+     * @throws IllegalArgumentException if a name is empty or both names denote the same player
+     */
+    @Transactional(readOnly = true)
+    public HeadToHeadDto getHeadToHead(String a, String b, LocalDate from, LocalDate to) {
+        if (a == null || a.isBlank() || b == null || b.isBlank()) {
+            throw new IllegalArgumentException("Both player names must be given.");
+        }
+        if (PlayerEntity.normalizeName(a).equals(PlayerEntity.normalizeName(b))) {
+            throw new IllegalArgumentException("Players must be different.");
+        }
 
-            int[] wl = calculateWinsAndLosses(playerMatches, target);
-            int wins = wl[0];
-            int losses = wl[1];
+        Long idA = playerLookup.findIdByName(a);
+        Long idB = playerLookup.findIdByName(b);
+        if (idA == null || idB == null) {
+            return new HeadToHeadDto(a.trim(), b.trim(), 0, 0, 0, 0, 0, 0, 0);
+        }
 
-            double winRate = calcWinRate(wins, losses);
-            return new PlayerStatsDto(playerName.trim(), total, wins, losses, winRate);
+        HeadToHeadRow row = matchRepository.headToHead(idA, idB, from, to);
+        return new HeadToHeadDto(a.trim(), b.trim(), (int) row.getMatches(), (int) row.getWins(), (int) row.getLosses(),
+                (int) row.getSetsWon(), (int) row.getSetsLost(), (int) row.getGamesWon(), (int) row.getGamesLost());
+    }
 
+    /**
+     * Returns all players with at least one match ordered by Elo rating, highest first.
+     *
+     * @return Elo ranking
+     */
+    @Transactional(readOnly = true)
+    public List<EloRatingDto> getEloRanking() {
+        try {
+            return loadedElo().ranking();
         } catch (Exception e) {
-            return null;
+            return List.of();
+        }
+    }
+
+    /**
+     * Returns the Elo rating of one player with its change in every match.
+     *
+     * @param playerName player name (case-insensitive)
+     * @return rating and history, or {@code null} if the player is unknown or has no matches
+     */
+    @Transactional(readOnly = true)
+    public EloPlayerDto getEloForPlayer(String playerName) {
+        if (playerName == null || playerName.isBlank()) {
+            throw new IllegalArgumentException("Player name must not be empty.");
         }
+
+        Long playerId = playerLookup.findIdByName(playerName);
+        return playerId == null ? null : loadedElo().player(playerId);
     }
 
     public double calcWinRate(int wins, int losses) {
@@ -131,41 +352,4 @@ public class StatsService {
         double raw = (wins * 100.0) / finished;
         return Math.round(raw * 10.0) / 10.0;
     }
-
-    private int[] calculateWinsAndLosses(List<MatchEntity> matches, String targetLower) {
-        int wins = 0;
-        int losses = 0;
-
-        for (MatchEntity m : matches) {
-            String score = m.getResult();
-            if (score == null || !score.contains(":")) continue;
-
-            String[] sets = score.split(",");
-            int setsA = 0;
-            int setsB = 0;
-
-            for (String s : sets) {
-                String[] games = s.trim().split(":");
-                if (games.length != 2) continue;
-                try {
-                    int gamesA = Integer.parseInt(games[0].trim());
-                    int gamesB = Integer.parseInt(games[1].trim());
-                    if (gamesA > gamesB) setsA++;
-                    else if (gamesB > gamesA) setsB++;
-                } catch (NumberFormatException ignored) {
-                }
-            }
-
-            if (setsA == 0 && setsB == 0) continue;
-
-            String winner = (setsA > setsB)
-                    ? m.getPlayerA().getName().toLowerCase(Locale.ROOT)
-                    : m.getPlayerB().getName().toLowerCase(Locale.ROOT);
-
-            if (winner.equals(targetLower)) wins++;
-            else losses++;
-        }
-
-        return new int[]{wins, losses};
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,74 @@
+package sk.peter.tenis.service.jpa;
+
+import sk.peter.tenis.entity.MatchEntity;
+import sk.peter.tenis.util.ScoreCodec;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Published by {@link MatchJpaService} and {@link SeedJpaService} whenever stored matches change.
+ *
+ * <p>Listeners use it to keep in-memory statistics current without re-reading all matches.
+ * An update is described as the old match removed and the new one added.
+ * When many rows were written at once, {@link #reload()} tells listeners
+ * to rebuild from the database instead.</p>
+ *
+ * @param removed matches no longer counted, as they were stored
+ * @param added   matches newly counted
+ * @param rebuild {@code true} if listeners should discard their state and rebuild it
+ */
+public record MatchChangedEvent(List<Outcome> removed, List<Outcome> added, boolean rebuild) {
+
+    /**
+     * Players, date and winner side of one match.
+     *
+     * @param matchId     ID of the match, {@link Long#MAX_VALUE} if the database did not report it
+     * @param playerAId   ID of player A
+     * @param playerAName name of player A
+     * @param playerBId   ID of player B
+     * @param playerBName name of player B
+     * @param date        match date
+     * @param winner      winner side as defined by {@link ScoreCodec}
+     */
+    public record Outcome(long matchId, long playerAId, String playerAName, long playerBId, String playerBName,
+                          LocalDate date, int winner) {
+
+        /**
+         * @param m stored match with derived columns computed
+         * @return outcome of the match
+         */
+        public static Outcome of(MatchEntity m) {
+            return of(m, m.getId() != null ? m.getId() : Long.MAX_VALUE);
+        }
+
+        /**
+         * @param m       match with derived columns computed
+         * @param matchId ID assigned to the match, e.g. by a batch insert; {@code 0} if unknown
+         * @return outcome of the match
+         */
+        public static Outcome of(MatchEntity m, long matchId) {
+            long idA = m.getPlayerA().getId();
+            int winner = m.getWinner() == null ? ScoreCodec.WINNER_NONE
+                    : m.getWinner().getId() == idA ? ScoreCodec.WINNER_A : ScoreCodec.WINNER_B;
+            return new Outcome(matchId != 0 ? matchId : Long.MAX_VALUE, idA, m.getPlayerA().getName(),
+                    m.getPlayerB().getId(), m.getPlayerB().getName(), m.getDate(), winner);
+        }
+    }
+
+    public static MatchChangedEvent added(List<Outcome> added) {
+        return new MatchChangedEvent(List.of(), added, false);
+    }
+
+    public static MatchChangedEvent removed(Outcome removed) {
+        return new MatchChangedEvent(List.of(removed), List.of(), false);
+    }
+
+    public static MatchChangedEvent replaced(Outcome before, Outcome after) {
+        return new MatchChangedEvent(List.of(before), List.of(after), false);
+    }
+
+    public static MatchChangedEvent reload() {
+        return new MatchChangedEvent(List.of(), List.of(), true);
+    }
+}
@@ -1,23 +1,45 @@
 package sk.peter.tenis.service.jpa;
 
-import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sk.peter.tenis.dto.MatchCursor;
 import sk.peter.tenis.dto.MatchDto;
+import sk.peter.tenis.dto.MatchImportResultDto;
+import sk.peter.tenis.dto.MatchImportRowDto;
+import sk.peter.tenis.dto.MatchPageDto;
+import sk.peter.tenis.dto.MatchResponseDto;
 import sk.peter.tenis.dto.MatchUpdateDto;
 import sk.peter.tenis.entity.MatchEntity;
+import sk.peter.tenis.entity.PlayerEntity;
+import sk.peter.tenis.exception.NotFoundException;
 import sk.peter.tenis.model.Match;
+import sk.peter.tenis.repository.MatchBatchRepository;
+import sk.peter.tenis.repository.MatchKeyRow;
 import sk.peter.tenis.repository.MatchRepository;
 import sk.peter.tenis.repository.PlayerRepository;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * JPA service for tennis match management.
  *
  * <p>This service provides create, update, delete and read operations
- * for matches stored in the database.</p>
+ * for matches stored in the database. Every write publishes a
+ * {@link MatchChangedEvent}, so in-memory statistics can follow it.</p>
  */
 @Service
 @Profile({"h2", "mysql"})
@@ -25,17 +47,38 @@ public class MatchJpaService {
 
     private final MatchRepository matchRepository;
     private final PlayerRepository playerRepository;
+    private final MatchBatchRepository batchRepository;
+    private final PlayerLookupService playerLookup;
+    private final ApplicationEventPublisher events;
 
     /**
      * Creates a new match service using JPA repositories.
      *
      * @param matchRepository repository for match entities
      * @param playerRepository repository for player entities
+     * @param batchRepository batched JDBC inserts for bulk imports
+     * @param playerLookup cached name to ID resolution
+     * @param events publisher of {@link MatchChangedEvent}s
      */
     public MatchJpaService(MatchRepository matchRepository,
-                           PlayerRepository playerRepository) {
+                           PlayerRepository playerRepository,
+                           MatchBatchRepository batchRepository,
+                           PlayerLookupService playerLookup,
+                           ApplicationEventPublisher events) {
         this.matchRepository = matchRepository;
         this.playerRepository = playerRepository;
+        this.batchRepository = batchRepository;
+        this.playerLookup = playerLookup;
+        this.events = events;
+    }
+
+    /**
+     * Result of a single save.
+     *
+     * @param match   stored match
+     * @param created {@code true} if the match was inserted now, {@code false} if it was already stored
+     */
+    public record Saved(MatchEntity match, boolean created) {
     }
 
     // ---------- CREATE (DTO - používa controller) ----------
@@ -45,33 +88,22 @@ public class MatchJpaService {
      *
      * <p>The method first checks that the input DTO is not {@code null}.
      * If one of the referenced players does not exist,
-     * the method throws an {@link IllegalArgumentException}.</p>
+     * the method throws an {@link IllegalArgumentException}.
+     * If the same match (same players in any order, date and score) is already stored,
+     * the stored match is returned and nothing is inserted.</p>
      *
      * @param dto match DTO from request
-     * @return saved match entity
+     * @return saved or already stored match entity, and whether it was inserted now
      * @throws IllegalArgumentException if match DTO is {@code null}
      *                                  or if one or both players were not found
      */
     @Transactional
-    public MatchEntity save(MatchDto dto) {
+    public Saved save(MatchDto dto) {
         if (dto == null) {
             throw new IllegalArgumentException("Match DTO cannot be null");
         }
 
-        var playerAEntity = playerRepository.findByNameIgnoreCase(dto.getPlayerA());
-        var playerBEntity = playerRepository.findByNameIgnoreCase(dto.getPlayerB());
-
-        if (playerAEntity.isEmpty() || playerBEntity.isEmpty()) {
-            throw new IllegalArgumentException("One or both players not found");
-        }
-
-        MatchEntity entity = new MatchEntity();
-        entity.setPlayerA(playerAEntity.get());
-        entity.setPlayerB(playerBEntity.get());
-        entity.setResult(dto.getScore());
-        entity.setDate(LocalDate.parse(dto.getDate()));
-
-        return matchRepository.save(entity);
+        return saveOrGetExisting(dto.getPlayerA(), dto.getPlayerB(), dto.getScore(), LocalDate.parse(dto.getDate()));
     }
 
     // ---------- CREATE (Match - používa DataSeeder) ----------
@@ -80,10 +112,11 @@ public class MatchJpaService {
      * Saves a new match from domain model input.
      *
      * <p>This overload is mainly used by seeders when importing data.
-     * The method first checks that the input match is not {@code null}.</p>
+     * The method first checks that the input match is not {@code null}.
+     * Duplicates are handled as in {@link #save(MatchDto)}.</p>
      *
      * @param match match domain object
-     * @return saved match entity
+     * @return saved or already stored match entity
      * @throws IllegalArgumentException if match is {@code null}
      *                                  or if one or both players were not found
      */
@@ -93,20 +126,147 @@ public class MatchJpaService {
             throw new IllegalArgumentException("Match cannot be null");
         }
 
-        var playerAEntity = playerRepository.findByNameIgnoreCase(match.getPlayerA().getName());
-        var playerBEntity = playerRepository.findByNameIgnoreCase(match.getPlayerB().getName());
+        return saveOrGetExisting(match.getPlayerA().getName(), match.getPlayerB().getName(),
+                match.getScore(), match.getDate()).match();
+    }
+
+    /**
+     * Resolves both players with one query, probes the canonical match key once
+     * and inserts the match only if it is not stored yet.
+     */
+    private Saved saveOrGetExisting(String nameA, String nameB, String result, LocalDate date) {
+        String keyA = PlayerEntity.normalizeName(nameA);
+        String keyB = PlayerEntity.normalizeName(nameB);
+
+        PlayerEntity playerA = null;
+        PlayerEntity playerB = null;
+        if (keyA != null && keyB != null) {
+            for (PlayerEntity p : playerRepository.findByNameNormalizedIn(List.of(keyA, keyB))) {
+                if (p.getNameNormalized().equals(keyA)) playerA = p;
+                if (p.getNameNormalized().equals(keyB)) playerB = p;
+            }
+        }
 
-        if (playerAEntity.isEmpty() || playerBEntity.isEmpty()) {
+        if (playerA == null || playerB == null) {
             throw new IllegalArgumentException("One or both players not found");
         }
 
-        MatchEntity entity = new MatchEntity();
-        entity.setPlayerA(playerAEntity.get());
-        entity.setPlayerB(playerBEntity.get());
-        entity.setResult(match.getScore());
-        entity.setDate(match.getDate());
+        var existing = matchRepository.findSameMatch(playerA, playerB, date, result);
+        if (existing.isPresent()) {
+            return new Saved(existing.get(), false);
+        }
 
-        return matchRepository.save(entity);
+        MatchEntity saved = matchRepository.save(new MatchEntity(playerA, playerB, result, date));
+        events.publishEvent(MatchChangedEvent.added(List.of(MatchChangedEvent.Outcome.of(saved))));
+        return new Saved(saved, true);
+    }
+
+    // ---------- BULK IMPORT ----------
+
+    /**
+     * Imports many matches in one transaction.
+     *
+     * <p>Rows are validated in one pass, all player names are resolved with one query,
+     * duplicates are detected against the canonical keys already stored in the imported
+     * date range, and new matches are inserted with batched JDBC statements.</p>
+     *
+     * @param rows imported rows
+     * @param validator returns an error message for an invalid row, or {@code null}
+     * @return result for every row
+     */
+    @Transactional
+    public MatchImportResultDto importMatches(List<MatchDto> rows, Function<MatchDto, String> validator) {
+        MatchImportRowDto[] results = new MatchImportRowDto[rows.size()];
+
+        // 1. validation + names to resolve
+        LocalDate[] dates = new LocalDate[rows.size()];
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            MatchDto dto = rows.get(i);
+            String error = validator.apply(dto);
+            if (error == null && dto.getScore().length() > MatchEntity.RESULT_MAX_LENGTH) {
+                error = "Score is too long";
+            }
+            if (error != null) {
+                results[i] = new MatchImportRowDto(i + 1, MatchImportRowDto.Status.ERROR, null, error);
+                continue;
+            }
+            dates[i] = LocalDate.parse(dto.getDate().trim());
+            names.add(PlayerEntity.normalizeName(dto.getPlayerA()));
+            names.add(PlayerEntity.normalizeName(dto.getPlayerB()));
+        }
+
+        // 2. all players with one query
+        Map<String, PlayerEntity> players = new HashMap<>();
+        if (!names.isEmpty()) {
+            for (PlayerEntity p : playerRepository.findByNameNormalizedIn(names)) {
+                players.put(p.getNameNormalized(), p);
+            }
+        }
+
+        // 3. build entities, resolve duplicates against the stored keys and within the import
+        List<MatchEntity> toInsert = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        Set<String> keys = null;
+
+        for (int i = 0; i < rows.size(); i++) {
+            if (results[i] != null) continue;
+            MatchDto dto = rows.get(i);
+
+            PlayerEntity a = players.get(PlayerEntity.normalizeName(dto.getPlayerA()));
+            PlayerEntity b = players.get(PlayerEntity.normalizeName(dto.getPlayerB()));
+            if (a == null || b == null) {
+                results[i] = new MatchImportRowDto(i + 1, MatchImportRowDto.Status.ERROR, null, "Player(s) not found");
+                continue;
+            }
+
+            if (keys == null) keys = storedKeys(dates);
+
+            MatchEntity entity = new MatchEntity(a, b, dto.getScore(), dates[i]);
+            if (!keys.add(key(entity.getPlayerLowId(), entity.getPlayerHighId(), entity.getDate(), entity.getResult()))) {
+                results[i] = new MatchImportRowDto(i + 1, MatchImportRowDto.Status.DUPLICATE, null, null);
+                continue;
+            }
+            toInsert.add(entity);
+            positions.add(i);
+        }
+
+        // 4. batched insert
+        long[] ids = batchRepository.insertAll(toInsert);
+        if (!toInsert.isEmpty()) {
+            List<MatchChangedEvent.Outcome> added = new ArrayList<>(toInsert.size());
+            for (int j = 0; j < toInsert.size(); j++) {
+                added.add(MatchChangedEvent.Outcome.of(toInsert.get(j), ids[j]));
+            }
+            events.publishEvent(MatchChangedEvent.added(added));
+        }
+        for (int j = 0; j < positions.size(); j++) {
+            int i = positions.get(j);
+            Long id = ids[j] != 0 ? ids[j] : null;
+            results[i] = new MatchImportRowDto(i + 1, MatchImportRowDto.Status.CREATED, id, null);
+        }
+
+        return new MatchImportResultDto(Arrays.asList(results));
+    }
+
+    private Set<String> storedKeys(LocalDate[] dates) {
+        LocalDate min = null;
+        LocalDate max = null;
+        for (LocalDate d : dates) {
+            if (d == null) continue;
+            if (min == null || d.isBefore(min)) min = d;
+            if (max == null || d.isAfter(max)) max = d;
+        }
+
+        Set<String> keys = new HashSet<>();
+        for (MatchKeyRow k : matchRepository.findKeysBetween(min, max)) {
+            keys.add(key(k.getPlayerLowId(), k.getPlayerHighId(), k.getDate(), k.getResult()));
+        }
+        return keys;
+    }
+
+    private static String key(Long low, Long high, LocalDate date, String result) {
+        return low + ";" + high + ";" + date + ";" + result;
     }
 
     // ---------- UPDATE ----------
@@ -119,13 +279,14 @@ public class MatchJpaService {
      * @param id match ID
      * @param dto DTO containing updated match values
      * @return updated match entity
-     * @throws RuntimeException if the match does not exist
+     * @throws NotFoundException if the match does not exist
+     * @throws org.springframework.dao.DataIntegrityViolationException if the change would duplicate a stored match
      */
     @Transactional
     public MatchEntity update(Long id, MatchUpdateDto dto) {
 
         var existing = matchRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Match not found"));
+                .orElseThrow(() -> new NotFoundException("Match not found"));
 
         String newScore = (dto.getNewScore() != null && !dto.getNewScore().isBlank())
                 ? dto.getNewScore().trim()
@@ -135,10 +296,14 @@ public class MatchJpaService {
                 ? LocalDate.parse(dto.getNewDate().trim())
                 : existing.getDate();
 
+        MatchChangedEvent.Outcome before = MatchChangedEvent.Outcome.of(existing);
         existing.setResult(newScore);
         existing.setDate(newDate);
 
-        return matchRepository.save(existing);
+        // flush hneď, aby sa porušenie unikátneho kľúča ukázalo tu a nie až pri commite
+        MatchEntity saved = matchRepository.saveAndFlush(existing);
+        events.publishEvent(MatchChangedEvent.replaced(before, MatchChangedEvent.Outcome.of(saved)));
+        return saved;
     }
 
     // ---------- DELETE ----------
@@ -147,26 +312,90 @@ public class MatchJpaService {
      * Deletes a match by its ID.
      *
      * @param id match ID
-     * @throws RuntimeException if the match ID does not exist
+     * @throws NotFoundException if the match ID does not exist
      */
+    @Transactional
     public void deleteById(Long id) {
 
-        if (!matchRepository.existsById(id)) {
-            throw new RuntimeException("Match ID not found");
-        }
+        MatchEntity existing = matchRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Match not found"));
 
-        matchRepository.deleteById(id);
+        MatchChangedEvent.Outcome removed = MatchChangedEvent.Outcome.of(existing);
+        matchRepository.delete(existing);
+        events.publishEvent(MatchChangedEvent.removed(removed));
     }
 
     // ---------- FIND ALL ----------
 
     /**
-     * Returns all stored matches.
+     * Returns all stored matches as response DTOs, read with a single query.
+     * No entities are loaded, so nothing lazy can be reached after the transaction ends.
      *
-     * @return list of all match entities
+     * @return list of match response DTOs ordered by ID
      */
-    public List<MatchEntity> findAll() {
-        return matchRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<MatchResponseDto> findAll() {
+        return matchRepository.findAllAsResponse();
+    }
+
+    /**
+     * Passes every stored match, ordered by ID, to {@code action} without loading
+     * the whole table into memory.
+     *
+     * <p>Rows are read through a database cursor inside a read-only transaction,
+     * which stays open until the last match has been consumed.</p>
+     *
+     * @param action callback invoked for every match
+     */
+    @Transactional(readOnly = true)
+    public void forEachResponse(Consumer<MatchResponseDto> action) {
+        try (Stream<MatchResponseDto> matches = matchRepository.streamAllAsResponse()) {
+            matches.forEach(action);
+        }
+    }
+
+    /**
+     * Returns one page of matches ordered by date and ID, optionally filtered by player and date range.
+     *
+     * <p>One more match than requested is read to find out whether a next page exists.</p>
+     *
+     * @param player player name, or {@code null} for all players
+     * @param from start date, or {@code null}
+     * @param to end date, or {@code null}
+     * @param cursor position after which the page starts, or {@code null} for the first page
+     * @param size maximum number of matches on the page
+     * @return page of match response DTOs
+     */
+    @Transactional(readOnly = true)
+    public MatchPageDto findPage(String player, LocalDate from, LocalDate to, MatchCursor cursor, int size) {
+        LocalDate lower = from != null ? from : MatchRepository.MIN_DATE;
+        LocalDate upper = to != null ? to : MatchRepository.MAX_DATE;
+        LocalDate afterDate = cursor != null ? cursor.date() : MatchRepository.MIN_DATE;
+        long afterId = cursor != null ? cursor.id() : 0L;
+        if (afterDate.isAfter(lower)) lower = afterDate;
+
+        Limit limit = Limit.of(size + 1);
+        List<MatchResponseDto> rows;
+
+        if (player == null) {
+            rows = matchRepository.pageByDate(lower, upper, afterDate, afterId, limit);
+        } else {
+            Long playerId = playerLookup.findIdByName(player);
+            if (playerId == null) return new MatchPageDto(List.of(), null);
+
+            // each side is read through its own (player, date) index, then merged
+            rows = new ArrayList<>(matchRepository.pageByPlayerA(playerId, lower, upper, afterDate, afterId, limit));
+            rows.addAll(matchRepository.pageByPlayerB(playerId, lower, upper, afterDate, afterId, limit));
+            rows.sort(Comparator.comparing(MatchResponseDto::getDate).thenComparing(MatchResponseDto::getId));
+        }
+
+        if (rows.size() <= size) {
+            return new MatchPageDto(rows, null);
+        }
+
+        List<MatchResponseDto> items = List.copyOf(rows.subList(0, size));
+        MatchResponseDto last = items.get(size - 1);
+        return new MatchPageDto(items, new MatchCursor(last.getDate(), last.getId()).encode());
     }
 
     /**
@@ -175,6 +404,7 @@ public class MatchJpaService {
      * @param id match ID
      * @return {@code true} if the match exists, otherwise {@code false}
      */
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         return matchRepository.existsById(id);
     }
@@ -184,6 +414,7 @@ public class MatchJpaService {
      *
      * @return number of matches
      */
+    @Transactional(readOnly = true)
     public long count() {
         return matchRepository.count();
     }
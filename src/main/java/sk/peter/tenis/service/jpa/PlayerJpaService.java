@@ -1,12 +1,16 @@
 package sk.peter.tenis.service.jpa;
 
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sk.peter.tenis.config.CacheConfig;
 import sk.peter.tenis.dto.PlayerDto;
 import sk.peter.tenis.entity.PlayerEntity;
 import sk.peter.tenis.model.Player;
 import sk.peter.tenis.model.PlayerType;
 import sk.peter.tenis.repository.PlayerRepository;
+import sk.peter.tenis.service.DataVersion;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,21 +19,30 @@ import java.util.Optional;
  * JPA service for player management.
  *
  * <p>This service handles basic player operations such as saving,
- * updating, deleting and reading player records from the database.</p>
+ * updating, deleting and reading player records from the database.
+ * Names are resolved through {@link PlayerLookupService}; every write evicts
+ * the affected entries of its cache.</p>
  */
 @Service
 @Profile({"h2", "mysql"})
 public class PlayerJpaService {
 
     private final PlayerRepository playerRepository;
+    private final PlayerLookupService playerLookup;
+    private final DataVersion dataVersion;
 
     /**
      * Creates a new player service using the given repository.
      *
      * @param playerRepository repository for player entities
+     * @param playerLookup cached name to ID resolution
+     * @param dataVersion version bumped after every player write
      */
-    public PlayerJpaService(PlayerRepository playerRepository) {
+    public PlayerJpaService(PlayerRepository playerRepository, PlayerLookupService playerLookup,
+                            DataVersion dataVersion) {
         this.playerRepository = playerRepository;
+        this.playerLookup = playerLookup;
+        this.dataVersion = dataVersion;
     }
 
     // ---------------- SAVE ----------------
@@ -44,6 +57,7 @@ public class PlayerJpaService {
      * @throws IllegalArgumentException if player is {@code null}
      *                                  or if player with the same name already exists
      */
+    @CacheEvict(cacheNames = CacheConfig.PLAYER_IDS, key = "T(sk.peter.tenis.entity.PlayerEntity).normalizeName(#player.name)")
     public void save(Player player) {
         if (player == null) {
             throw new IllegalArgumentException("Player cannot be null");
@@ -61,6 +75,7 @@ public class PlayerJpaService {
         newEntity.setAge(player.getAge());
         newEntity.setType(player.getType());
         playerRepository.save(newEntity);
+        dataVersion.bump();
         System.out.println("➕ Pridaný nový hráč: " + player.getName());
     }
 
@@ -74,8 +89,10 @@ public class PlayerJpaService {
      * @return updated player as domain model
      * @throws RuntimeException if player is not found
      */
+    @CacheEvict(cacheNames = CacheConfig.PLAYER_IDS, key = "T(sk.peter.tenis.entity.PlayerEntity).normalizeName(#name)", condition = "#name != null")
     public Player update(String name, PlayerDto dto) {
-        Optional<PlayerEntity> optionalEntity = playerRepository.findByNameIgnoreCase(name);
+        Long id = playerLookup.findIdByName(name);
+        Optional<PlayerEntity> optionalEntity = id == null ? Optional.empty() : playerRepository.findById(id);
 
         if (optionalEntity.isEmpty()) {
             throw new RuntimeException("Player not found: " + name);
@@ -86,6 +103,7 @@ public class PlayerJpaService {
         entity.setType(PlayerType.fromInput(dto.getType()));
 
         playerRepository.save(entity);
+        dataVersion.bump();
 
         System.out.println("🔁 Aktualizovaný hráč: " + entity.getName());
         return new Player(entity.getName(), entity.getAge(), entity.getType());
@@ -98,6 +116,7 @@ public class PlayerJpaService {
      *
      * @return list of all player entities
      */
+    @Transactional(readOnly = true)
     public List<PlayerEntity> findAll() {
         return playerRepository.findAll();
     }
@@ -110,6 +129,7 @@ public class PlayerJpaService {
      * @param id player ID
      * @return optional with player entity if found
      */
+    @Transactional(readOnly = true)
     public Optional<PlayerEntity> findById(Long id) {
         return playerRepository.findById(id);
     }
@@ -121,8 +141,10 @@ public class PlayerJpaService {
      *
      * @param id player ID
      */
+    @CacheEvict(cacheNames = CacheConfig.PLAYER_IDS, allEntries = true)
     public void deleteById(Long id) {
         playerRepository.deleteById(id);
+        dataVersion.bump();
     }
 
     // ---------------- DELETE BY NAME ----------------
@@ -132,9 +154,13 @@ public class PlayerJpaService {
      *
      * @param name player name
      */
+    @CacheEvict(cacheNames = CacheConfig.PLAYER_IDS, key = "T(sk.peter.tenis.entity.PlayerEntity).normalizeName(#name)", condition = "#name != null")
     public void deleteByName(String name) {
-        playerRepository.findByNameIgnoreCase(name)
-                .ifPresent(player -> playerRepository.deleteById(player.getId()));
+        Long id = playerLookup.findIdByName(name);
+        if (id != null && playerRepository.existsById(id)) {
+            playerRepository.deleteById(id);
+            dataVersion.bump();
+        }
     }
 
     /**
@@ -142,6 +168,7 @@ public class PlayerJpaService {
      *
      * @return number of players
      */
+    @Transactional(readOnly = true)
     public long count() {
         return playerRepository.count();
     }
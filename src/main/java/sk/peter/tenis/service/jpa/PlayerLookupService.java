@@ -0,0 +1,39 @@
+package sk.peter.tenis.service.jpa;
+
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import sk.peter.tenis.config.CacheConfig;
+import sk.peter.tenis.repository.PlayerRepository;
+
+/**
+ * Cached resolution of player names to IDs.
+ *
+ * <p>Statistics and player endpoints look up the same few names over and over, while players
+ * change rarely. The name → ID mapping is therefore kept in the {@link CacheConfig#PLAYER_IDS}
+ * cache, keyed by the normalized name; unknown names are cached as well. Every service that
+ * creates, renames or deletes players evicts the cache.</p>
+ */
+@Service
+@Profile({"h2", "mysql"})
+public class PlayerLookupService {
+
+    private final PlayerRepository playerRepository;
+
+    public PlayerLookupService(PlayerRepository playerRepository) {
+        this.playerRepository = playerRepository;
+    }
+
+    /**
+     * Returns the ID of a player by name (case-insensitive).
+     *
+     * @param name player name
+     * @return player ID, or {@code null} if no such player exists
+     */
+    @Cacheable(cacheNames = CacheConfig.PLAYER_IDS,
+            key = "T(sk.peter.tenis.entity.PlayerEntity).normalizeName(#name)",
+            condition = "#name != null")
+    public Long findIdByName(String name) {
+        return playerRepository.findIdByNameIgnoreCase(name).orElse(null);
+    }
+}
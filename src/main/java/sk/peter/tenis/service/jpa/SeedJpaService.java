@@ -0,0 +1,172 @@
+package sk.peter.tenis.service.jpa;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sk.peter.tenis.config.CacheConfig;
+import sk.peter.tenis.entity.MatchEntity;
+import sk.peter.tenis.entity.PlayerEntity;
+import sk.peter.tenis.repository.MatchBatchRepository;
+import sk.peter.tenis.repository.PlayerBatchRepository;
+import sk.peter.tenis.repository.PlayerRepository;
+import sk.peter.tenis.service.DataVersion;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * JPA service for initial data seeding.
+ *
+ * <p>Seeders only parse their source files; this service writes the parsed rows.
+ * Player names are resolved against a map loaded once, duplicates are detected
+ * on the canonical match key in memory, and rows are inserted with batched JDBC
+ * statements instead of one {@code save} per line.</p>
+ */
+@Service
+@Profile({"h2", "mysql"})
+public class SeedJpaService {
+
+    private static final Logger log = LoggerFactory.getLogger(SeedJpaService.class);
+
+    // matches buffered before they are handed to the batch insert
+    private static final int FLUSH_SIZE = 10 * MatchBatchRepository.BATCH_SIZE;
+
+    /**
+     * One parsed match row of a seed file.
+     *
+     * @param playerA name of player A
+     * @param playerB name of player B
+     * @param result  score, e.g. {@code "6:4, 6:2"}
+     * @param date    match date
+     */
+    public record MatchRow(String playerA, String playerB, String result, LocalDate date) {
+    }
+
+    private final PlayerRepository playerRepository;
+    private final PlayerBatchRepository playerBatchRepository;
+    private final MatchBatchRepository matchBatchRepository;
+    private final ApplicationEventPublisher events;
+    private final DataVersion dataVersion;
+
+    public SeedJpaService(PlayerRepository playerRepository,
+                          PlayerBatchRepository playerBatchRepository,
+                          MatchBatchRepository matchBatchRepository,
+                          ApplicationEventPublisher events,
+                          DataVersion dataVersion) {
+        this.playerRepository = playerRepository;
+        this.playerBatchRepository = playerBatchRepository;
+        this.matchBatchRepository = matchBatchRepository;
+        this.events = events;
+        this.dataVersion = dataVersion;
+    }
+
+    /**
+     * Inserts players that are not stored yet.
+     *
+     * <p>Names are compared case-insensitively, both against stored players
+     * and within {@code players}; the first occurrence wins.</p>
+     *
+     * @param players players to seed
+     * @return number of inserted players
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PLAYER_IDS, allEntries = true)
+    public int seedPlayers(List<PlayerEntity> players) {
+        Set<String> known = new HashSet<>(loadPlayers().keySet());
+
+        List<PlayerEntity> toInsert = new ArrayList<>();
+        for (PlayerEntity p : players) {
+            if (known.add(PlayerEntity.normalizeName(p.getName()))) {
+                toInsert.add(p);
+            }
+        }
+
+        playerBatchRepository.insertAll(toInsert);
+        if (!toInsert.isEmpty()) {
+            dataVersion.bumpAfterCommit();
+        }
+        return toInsert.size();
+    }
+
+    /**
+     * Inserts matches from {@code rows}, which are consumed lazily.
+     *
+     * <p>Rows with an unknown player or a score longer than the result column are skipped
+     * and reported in one summary warning; rows repeating a match already seeded from the same
+     * source are skipped silently. The target table is expected to be empty, so stored matches
+     * are not probed. Listeners are told to rebuild their statistics rather than receiving
+     * every seeded match.</p>
+     *
+     * @param rows parsed match rows
+     * @return number of inserted matches
+     */
+    @Transactional
+    public int seedMatches(Stream<MatchRow> rows) {
+        Map<String, PlayerEntity> players = loadPlayers();
+        Set<String> keys = new HashSet<>();
+        List<MatchEntity> buffer = new ArrayList<>(FLUSH_SIZE);
+        int[] inserted = {0};
+        int[] unknownPlayer = {0};
+        int[] tooLong = {0};
+
+        rows.forEachOrdered(row -> {
+            PlayerEntity a = players.get(PlayerEntity.normalizeName(row.playerA()));
+            PlayerEntity b = players.get(PlayerEntity.normalizeName(row.playerB()));
+            if (a == null || b == null) {
+                unknownPlayer[0]++;
+                log.debug("Preskakujem zápas: neznámy hráč A/B ({}/{})", row.playerA(), row.playerB());
+                return;
+            }
+            if (row.result().length() > MatchEntity.RESULT_MAX_LENGTH) {
+                tooLong[0]++;
+                log.debug("Preskakujem zápas: príliš dlhý výsledok ({})", row.result());
+                return;
+            }
+
+            MatchEntity entity = new MatchEntity(a, b, row.result(), row.date());
+            String key = entity.getPlayerLowId() + ";" + entity.getPlayerHighId() + ";" + entity.getDate() + ";" + entity.getResult();
+            if (!keys.add(key)) return;
+
+            buffer.add(entity);
+            if (buffer.size() == FLUSH_SIZE) {
+                inserted[0] += flush(buffer);
+            }
+        });
+
+        inserted[0] += flush(buffer);
+        if (unknownPlayer[0] + tooLong[0] > 0) {
+            // jeden súhrn namiesto riadku za každý zápas; detaily sú na úrovni DEBUG
+            log.warn("⚠ Preskočených {} zápasov: {} s neznámym hráčom, {} s príliš dlhým výsledkom",
+                    unknownPlayer[0] + tooLong[0], unknownPlayer[0], tooLong[0]);
+        }
+        if (inserted[0] > 0) {
+            events.publishEvent(MatchChangedEvent.reload());
+        }
+        return inserted[0];
+    }
+
+    private int flush(List<MatchEntity> buffer) {
+        matchBatchRepository.insertAll(buffer);
+        int size = buffer.size();
+        buffer.clear();
+        return size;
+    }
+
+    private Map<String, PlayerEntity> loadPlayers() {
+        Map<String, PlayerEntity> byName = new HashMap<>();
+        for (PlayerEntity p : playerRepository.findAll()) {
+            byName.put(PlayerEntity.normalizeName(p.getName()), p);
+        }
+        return byName;
+    }
+}
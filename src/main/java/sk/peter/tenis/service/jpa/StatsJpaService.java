@@ -2,11 +2,13 @@ package sk.peter.tenis.service.jpa;
 
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import sk.peter.tenis.dto.LeaderboardDto;
 import sk.peter.tenis.dto.PlayerStatsDto;
 import sk.peter.tenis.entity.MatchEntity;
 import sk.peter.tenis.repository.MatchRepository;
 import sk.peter.tenis.repository.PlayerRepository;
+import sk.peter.tenis.repository.PlayerResultRow;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -16,10 +18,11 @@ import java.util.*;
  *
  * <p>This service is active only for database profiles and provides
  * player statistics, leaderboard calculation and CSV export based
- * on data stored in the database.</p>
+ * on data stored in the database. All methods only read, in read-only transactions.</p>
  */
 @Service
 @Profile({"h2", "mysql"})
+@Transactional(readOnly = true)
 public class StatsJpaService {
 
     private final MatchRepository matchRepo;
@@ -50,19 +53,19 @@ public class StatsJpaService {
      * @return player statistics DTO
      */
     public PlayerStatsDto getPlayerStats(String name, LocalDate from, LocalDate to) {
-        String normalizedName = name == null ? null : name.trim();
-        List<MatchEntity> matches = matchRepo.search(normalizedName, from, to);
+        // resolve the player once, then filter matches by foreign key
+        Long playerId = playerRepo.findIdByNameIgnoreCase(name).orElse(null);
+        List<MatchEntity> matches = playerId == null ? List.of() : matchRepo.search(playerId, from, to);
 
         int wins = 0;
         int losses = 0;
 
         for (MatchEntity m : matches) {
-            String winner = winnerName(m);
-            if (winner == null) continue;
+            if (m.getWinner() == null) continue;
 
-            if (normalizedName != null && normalizedName.equalsIgnoreCase(winner)) {
+            if (playerId.equals(m.getWinner().getId())) {
                 wins++;
-            } else if (normalizedName != null && (normalizedName.equalsIgnoreCase(m.getPlayerA().getName()) || normalizedName.equalsIgnoreCase(m.getPlayerB().getName()))) {
+            } else {
                 losses++;
             }
         }
@@ -80,7 +83,7 @@ public class StatsJpaService {
     }
 
     /**
-     * Builds the leaderboard for all players from stored matches.
+     * Builds the leaderboard for all players from per-player aggregates computed by the database.
      *
      * <p>The leaderboard is sorted by win rate descending,
      * then by number of matches descending,
@@ -89,37 +92,14 @@ public class StatsJpaService {
      * @return sorted list of leaderboard rows
      */
     public List<LeaderboardDto> getLeaderboard() {
-        List<MatchEntity> all = matchRepo.findAll();
-
-        Map<String, int[]> map = new HashMap<>();
-
-        for (MatchEntity m : all) {
-            String a = m.getPlayerA().getName();
-            String b = m.getPlayerB().getName();
-            String w = winnerName(m);
-
-            map.putIfAbsent(a, new int[]{0, 0});
-            map.putIfAbsent(b, new int[]{0, 0});
-
-            if (w == null) continue;
-            if (w.equalsIgnoreCase(a)) {
-                map.get(a)[0]++;
-                map.get(b)[1]++;
-            } else if (w.equalsIgnoreCase(b)) {
-                map.get(b)[0]++;
-                map.get(a)[1]++;
-            }
-        }
-
         List<LeaderboardDto> list = new ArrayList<>();
-        for (var e : map.entrySet()) {
-            String name = e.getKey();
-            int wins = e.getValue()[0];
-            int losses = e.getValue()[1];
+        for (PlayerResultRow r : matchRepo.aggregatePlayerResults()) {
+            int wins = (int) r.getWins();
+            int losses = (int) r.getLosses();
             int played = wins + losses;
             double rate = played == 0 ? 0.0 : (wins * 100.0) / played;
 
-            LeaderboardDto row = new LeaderboardDto(name, played, wins, losses, round1(rate));
+            LeaderboardDto row = new LeaderboardDto(r.getName(), played, wins, losses, round1(rate));
             list.add(row);
         }
 
@@ -153,36 +133,6 @@ public class StatsJpaService {
 
     // ------------------- Helpers -------------------
 
-    /**
-     * Determines the winner of a match from the score string.
-     *
-     * <p>Expected formats are for example {@code "6:4, 6:2"}.
-     * If the result is invalid or tied, the method returns {@code null}.</p>
-     *
-     * @param m match entity
-     * @return winner name, or {@code null} if winner cannot be determined
-     */
-    private String winnerName(MatchEntity m) {
-        int setsA = 0, setsB = 0;
-        String res = m.getResult();
-        if (res == null || res.isBlank()) return null;
-
-        String[] sets = res.split(",");
-        for (String s : sets) {
-            String[] ab = s.trim().split(":");
-            if (ab.length != 2) continue;
-            try {
-                int a = Integer.parseInt(ab[0].trim());
-                int b = Integer.parseInt(ab[1].trim());
-                if (a > b) setsA++;
-                else if (b > a) setsB++;
-            } catch (NumberFormatException ignored) {
-            }
-        }
-        if (setsA == setsB) return null;
-        return setsA > setsB ? m.getPlayerA().getName() : m.getPlayerB().getName();
-    }
-
     /**
      * Rounds a decimal number to one decimal place.
      *
@@ -0,0 +1,84 @@
+package sk.peter.tenis.storage;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import sk.peter.tenis.dto.MatchCursor;
+import sk.peter.tenis.dto.MatchDto;
+import sk.peter.tenis.dto.MatchImportResultDto;
+import sk.peter.tenis.dto.MatchPageDto;
+import sk.peter.tenis.dto.MatchResponseDto;
+import sk.peter.tenis.dto.MatchUpdateDto;
+import sk.peter.tenis.model.Match;
+import sk.peter.tenis.service.MatchService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * {@link MatchStore} over the resident CSV store, active when no database profile is.
+ * CSV matches have no stored ID: listed matches carry their position in date order,
+ * a created match carries none, and update and delete by ID are rejected.
+ */
+@Component
+@Profile("!h2 & !mysql")
+public class CsvMatchStore implements MatchStore {
+
+    private final MatchService matchService;
+
+    public CsvMatchStore(MatchService matchService) {
+        this.matchService = matchService;
+    }
+
+    @Override
+    public List<MatchResponseDto> findAll() {
+        List<MatchResponseDto> all = new ArrayList<>();
+        matchService.forEachResponse(all::add);
+        return all;
+    }
+
+    @Override
+    public MatchPageDto findPage(String player, LocalDate from, LocalDate to, MatchCursor cursor, int size) {
+        return matchService.findPage(player, from, to, cursor, size);
+    }
+
+    @Override
+    public void forEachResponse(Consumer<MatchResponseDto> action) {
+        matchService.forEachResponse(action);
+    }
+
+    @Override
+    public Created create(MatchDto dto) {
+        MatchService.Created created;
+        try {
+            created = matchService.createFromDto(dto);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("CSV operation failed", e);
+        }
+
+        Match m = created.match();
+        if (m.getPlayerA() == null || m.getPlayerB() == null) {
+            throw new IllegalArgumentException("Player(s) not found");
+        }
+        return new Created(new MatchResponseDto(null, m.getPlayerA().getName(), m.getPlayerB().getName(),
+                m.getScore(), m.getDate()), created.created());
+    }
+
+    @Override
+    public MatchImportResultDto importMatches(List<MatchDto> rows) {
+        return matchService.importMatches(rows);
+    }
+
+    @Override
+    public MatchResponseDto update(Long id, MatchUpdateDto dto) {
+        throw new IllegalArgumentException("Update by ID not supported in CSV mode");
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        throw new IllegalArgumentException("Delete by ID not supported in CSV mode");
+    }
+}
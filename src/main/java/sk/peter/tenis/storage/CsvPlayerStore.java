@@ -0,0 +1,60 @@
+package sk.peter.tenis.storage;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import sk.peter.tenis.dto.PlayerDto;
+import sk.peter.tenis.dto.PlayerResponseDto;
+import sk.peter.tenis.model.Player;
+import sk.peter.tenis.service.PlayerService;
+
+import java.util.List;
+
+/**
+ * {@link PlayerStore} over the resident CSV store, active when no database profile is.
+ */
+@Component
+@Profile("!h2 & !mysql")
+public class CsvPlayerStore implements PlayerStore {
+
+    private final PlayerService playerService;
+
+    public CsvPlayerStore(PlayerService playerService) {
+        this.playerService = playerService;
+    }
+
+    private static PlayerResponseDto toDto(Player player) {
+        return new PlayerResponseDto(null, player.getName(), player.getAge(), player.getType());
+    }
+
+    @Override
+    public List<PlayerResponseDto> findAll() {
+        return playerService.findAll().stream().map(CsvPlayerStore::toDto).toList();
+    }
+
+    /**
+     * CSV players have no ID; the value is compared with player names instead.
+     */
+    @Override
+    public PlayerResponseDto findById(Long id) {
+        return playerService.findAll().stream()
+                .filter(p -> p.getName().equalsIgnoreCase(String.valueOf(id)))
+                .findFirst()
+                .map(CsvPlayerStore::toDto)
+                .orElse(null);
+    }
+
+    @Override
+    public PlayerResponseDto create(PlayerDto dto) {
+        return toDto(playerService.createFromDto(dto));
+    }
+
+    @Override
+    public PlayerResponseDto update(String name, PlayerDto dto) {
+        return toDto(playerService.update(name, dto));
+    }
+
+    @Override
+    public void delete(String name) {
+        playerService.delete(name);
+    }
+}
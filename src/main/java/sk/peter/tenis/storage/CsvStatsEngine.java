@@ -0,0 +1,57 @@
+package sk.peter.tenis.storage;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import sk.peter.tenis.dto.EloPlayerDto;
+import sk.peter.tenis.dto.EloRatingDto;
+import sk.peter.tenis.dto.HeadToHeadDto;
+import sk.peter.tenis.dto.LeaderboardDto;
+import sk.peter.tenis.dto.PlayerStatsDto;
+import sk.peter.tenis.service.MatchService;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * {@link StatsEngine} over the statistics kept by {@link MatchService}, active when no database profile is.
+ */
+@Component
+@Profile("!h2 & !mysql")
+public class CsvStatsEngine implements StatsEngine {
+
+    private final MatchService matchService;
+
+    public CsvStatsEngine(MatchService matchService) {
+        this.matchService = matchService;
+    }
+
+    @Override
+    public List<LeaderboardDto> getLeaderboard() {
+        return matchService.getLeaderboard();
+    }
+
+    @Override
+    public List<LeaderboardDto> getTopPlayers(int limit) {
+        return matchService.getTopPlayers(limit);
+    }
+
+    @Override
+    public PlayerStatsDto getPlayerStats(String name, LocalDate from, LocalDate to) {
+        return matchService.getPlayerStats(name, from, to);
+    }
+
+    @Override
+    public HeadToHeadDto getHeadToHead(String a, String b, LocalDate from, LocalDate to) {
+        return matchService.getHeadToHead(a, b, from, to);
+    }
+
+    @Override
+    public List<EloRatingDto> getEloRanking() {
+        return matchService.getEloRanking();
+    }
+
+    @Override
+    public EloPlayerDto getEloForPlayer(String name) {
+        return matchService.getEloForPlayer(name);
+    }
+}
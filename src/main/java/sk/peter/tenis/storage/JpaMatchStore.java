@@ -0,0 +1,106 @@
+package sk.peter.tenis.storage;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import sk.peter.tenis.dto.MatchCursor;
+import sk.peter.tenis.dto.MatchDto;
+import sk.peter.tenis.dto.MatchImportResultDto;
+import sk.peter.tenis.dto.MatchPageDto;
+import sk.peter.tenis.dto.MatchResponseDto;
+import sk.peter.tenis.dto.MatchUpdateDto;
+import sk.peter.tenis.entity.MatchEntity;
+import sk.peter.tenis.exception.ConflictException;
+import sk.peter.tenis.exception.NotFoundException;
+import sk.peter.tenis.service.MatchRules;
+import sk.peter.tenis.service.jpa.MatchJpaService;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * {@link MatchStore} over the database, active for the {@code h2} and {@code mysql} profiles.
+ * Matches are validated with the shared {@link MatchRules}.
+ */
+@Component
+@Profile({"h2", "mysql"})
+public class JpaMatchStore implements MatchStore {
+
+    private final MatchJpaService matchJpaService;
+
+    public JpaMatchStore(MatchJpaService matchJpaService) {
+        this.matchJpaService = matchJpaService;
+    }
+
+    private static MatchResponseDto toDto(MatchEntity match) {
+        return new MatchResponseDto(
+                match.getId(),
+                match.getPlayerA().getName(),
+                match.getPlayerB().getName(),
+                match.getResult(),
+                match.getDate()
+        );
+    }
+
+    @Override
+    public List<MatchResponseDto> findAll() {
+        return matchJpaService.findAll();
+    }
+
+    @Override
+    public MatchPageDto findPage(String player, LocalDate from, LocalDate to, MatchCursor cursor, int size) {
+        return matchJpaService.findPage(player, from, to, cursor, size);
+    }
+
+    @Override
+    public void forEachResponse(Consumer<MatchResponseDto> action) {
+        matchJpaService.forEachResponse(action);
+    }
+
+    @Override
+    public Created create(MatchDto dto) {
+        MatchRules.validate(dto);
+
+        MatchJpaService.Saved saved;
+        try {
+            saved = matchJpaService.save(dto);
+        } catch (DataIntegrityViolationException e) {
+            // ten istý zápas práve uložil súbežný request
+            throw new ConflictException("Match already exists", e);
+        }
+        return new Created(toDto(saved.match()), saved.created());
+    }
+
+    @Override
+    public MatchImportResultDto importMatches(List<MatchDto> rows) {
+        try {
+            return matchJpaService.importMatches(rows, MatchRules::validateImportRow);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Some matches were stored concurrently, please retry the import", e);
+        }
+    }
+
+    @Override
+    public MatchResponseDto update(Long id, MatchUpdateDto dto) {
+        try {
+            return toDto(matchJpaService.update(id, dto));
+        } catch (NotFoundException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date format (use YYYY-MM-DD)", e);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Match already exists", e);
+        }
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        try {
+            matchJpaService.deleteById(id);
+        } catch (NotFoundException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package sk.peter.tenis.storage;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import sk.peter.tenis.dto.PlayerDto;
+import sk.peter.tenis.dto.PlayerResponseDto;
+import sk.peter.tenis.entity.PlayerEntity;
+import sk.peter.tenis.model.Player;
+import sk.peter.tenis.model.PlayerType;
+import sk.peter.tenis.service.jpa.PlayerJpaService;
+
+import java.util.List;
+
+/**
+ * {@link PlayerStore} over the database, active for the {@code h2} and {@code mysql} profiles.
+ */
+@Component
+@Profile({"h2", "mysql"})
+public class JpaPlayerStore implements PlayerStore {
+
+    private final PlayerJpaService playerJpaService;
+
+    public JpaPlayerStore(PlayerJpaService playerJpaService) {
+        this.playerJpaService = playerJpaService;
+    }
+
+    private static PlayerResponseDto toDto(PlayerEntity entity) {
+        return new PlayerResponseDto(entity.getId(), entity.getName(), entity.getAge(), entity.getType());
+    }
+
+    private static PlayerResponseDto toDto(Player player) {
+        return new PlayerResponseDto(null, player.getName(), player.getAge(), player.getType());
+    }
+
+    @Override
+    public List<PlayerResponseDto> findAll() {
+        return playerJpaService.findAll().stream().map(JpaPlayerStore::toDto).toList();
+    }
+
+    @Override
+    public PlayerResponseDto findById(Long id) {
+        return playerJpaService.findById(id).map(JpaPlayerStore::toDto).orElse(null);
+    }
+
+    @Override
+    public PlayerResponseDto create(PlayerDto dto) {
+        // typ hráča
+        PlayerType type = PlayerType.fromInput(dto.getType());
+        if (type == null) {
+            try {
+                type = PlayerType.valueOf(dto.getType().trim().toUpperCase());
+            } catch (Exception ignored) {
+                type = PlayerType.AMATER;
+            }
+        }
+
+        Player player = new Player(dto.getName().trim(), dto.getAge(), type);
+        playerJpaService.save(player);
+        return toDto(player);
+    }
+
+    @Override
+    public PlayerResponseDto update(String name, PlayerDto dto) {
+        return toDto(playerJpaService.update(name, dto));
+    }
+
+    /**
+     * Deleting an unknown player is not an error in JPA mode.
+     */
+    @Override
+    public void delete(String name) {
+        playerJpaService.deleteByName(name);
+    }
+}
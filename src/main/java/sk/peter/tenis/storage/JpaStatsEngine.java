@@ -0,0 +1,58 @@
+package sk.peter.tenis.storage;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import sk.peter.tenis.dto.EloPlayerDto;
+import sk.peter.tenis.dto.EloRatingDto;
+import sk.peter.tenis.dto.HeadToHeadDto;
+import sk.peter.tenis.dto.LeaderboardDto;
+import sk.peter.tenis.dto.PlayerStatsDto;
+import sk.peter.tenis.service.StatsService;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * {@link StatsEngine} over the database statistics of {@link StatsService},
+ * active for the {@code h2} and {@code mysql} profiles.
+ */
+@Component
+@Profile({"h2", "mysql"})
+public class JpaStatsEngine implements StatsEngine {
+
+    private final StatsService statsService;
+
+    public JpaStatsEngine(StatsService statsService) {
+        this.statsService = statsService;
+    }
+
+    @Override
+    public List<LeaderboardDto> getLeaderboard() {
+        return statsService.getLeaderboard();
+    }
+
+    @Override
+    public List<LeaderboardDto> getTopPlayers(int limit) {
+        return statsService.getTopPlayers(limit);
+    }
+
+    @Override
+    public PlayerStatsDto getPlayerStats(String name, LocalDate from, LocalDate to) {
+        return statsService.getPlayerStats(name, from, to);
+    }
+
+    @Override
+    public HeadToHeadDto getHeadToHead(String a, String b, LocalDate from, LocalDate to) {
+        return statsService.getHeadToHead(a, b, from, to);
+    }
+
+    @Override
+    public List<EloRatingDto> getEloRanking() {
+        return statsService.getEloRanking();
+    }
+
+    @Override
+    public EloPlayerDto getEloForPlayer(String name) {
+        return statsService.getEloForPlayer(name);
+    }
+}
@@ -0,0 +1,94 @@
+package sk.peter.tenis.storage;
+
+import sk.peter.tenis.dto.MatchCursor;
+import sk.peter.tenis.dto.MatchDto;
+import sk.peter.tenis.dto.MatchImportResultDto;
+import sk.peter.tenis.dto.MatchPageDto;
+import sk.peter.tenis.dto.MatchResponseDto;
+import sk.peter.tenis.dto.MatchUpdateDto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Storage of matches used by the REST API.
+ * <p>
+ * Exactly one implementation is active, chosen by profile at startup:
+ * {@link JpaMatchStore} for {@code h2} and {@code mysql}, {@link CsvMatchStore} otherwise.
+ * Every rejected write is reported as {@link IllegalArgumentException} with a message for the client;
+ * other failures propagate unchanged.
+ */
+public interface MatchStore {
+
+    /**
+     * Result of {@link #create}.
+     *
+     * @param match   the stored match
+     * @param created {@code true} if the match was stored now, {@code false} if the same match was already stored
+     */
+    record Created(MatchResponseDto match, boolean created) {
+    }
+
+    /**
+     * @return all stored matches, in the order of {@link #forEachResponse}
+     */
+    List<MatchResponseDto> findAll();
+
+    /**
+     * Returns one page of matches ordered by date and ID.
+     *
+     * @param player player name, or {@code null} for all players
+     * @param from   start date, or {@code null}
+     * @param to     end date, or {@code null}
+     * @param cursor position after which the page starts, or {@code null} for the first page
+     * @param size   maximum number of matches on the page
+     * @return page of matches
+     */
+    MatchPageDto findPage(String player, LocalDate from, LocalDate to, MatchCursor cursor, int size);
+
+    /**
+     * Passes every match to {@code action} without collecting them first.
+     *
+     * @param action callback invoked for every match
+     */
+    void forEachResponse(Consumer<MatchResponseDto> action);
+
+    /**
+     * Creates a new match. Creating a match that is already stored changes nothing
+     * and reports it with {@link Created#created()} {@code false}.
+     *
+     * @param dto input data
+     * @return stored match and whether it was created now
+     * @throws IllegalArgumentException if the match is invalid or a player is unknown
+     */
+    Created create(MatchDto dto);
+
+    /**
+     * Imports many matches at once; invalid rows and duplicates are reported per row.
+     *
+     * @param rows imported rows
+     * @return result for every row
+     * @throws IllegalArgumentException if the import could not be stored
+     */
+    MatchImportResultDto importMatches(List<MatchDto> rows);
+
+    /**
+     * Changes score or date of a match.
+     *
+     * @param id  match ID
+     * @param dto new values
+     * @return updated match
+     * @throws IllegalArgumentException if the match was not found or the backend has no match IDs
+     * @throws sk.peter.tenis.exception.ConflictException if the change would duplicate another match
+     */
+    MatchResponseDto update(Long id, MatchUpdateDto dto);
+
+    /**
+     * Deletes a match.
+     *
+     * @param id match ID
+     * @throws IllegalArgumentException if the match was not found or the backend has no match IDs
+     */
+    void deleteById(Long id);
+}
@@ -0,0 +1,56 @@
+package sk.peter.tenis.storage;
+
+import sk.peter.tenis.dto.PlayerDto;
+import sk.peter.tenis.dto.PlayerResponseDto;
+import sk.peter.tenis.exception.NotFoundException;
+
+import java.util.List;
+
+/**
+ * Storage of players used by the REST API.
+ * <p>
+ * Exactly one implementation is active, chosen by profile at startup:
+ * {@link JpaPlayerStore} for {@code h2} and {@code mysql}, {@link CsvPlayerStore} otherwise
+ * (CSV files, or memory only with the {@code memory} profile).
+ */
+public interface PlayerStore {
+
+    /**
+     * @return all stored players
+     */
+    List<PlayerResponseDto> findAll();
+
+    /**
+     * Finds one player by ID.
+     *
+     * @param id player ID
+     * @return player, or {@code null} if not found
+     */
+    PlayerResponseDto findById(Long id);
+
+    /**
+     * Creates a new player.
+     *
+     * @param dto input data
+     * @return created player
+     * @throws IllegalArgumentException if a player with the same name already exists
+     */
+    PlayerResponseDto create(PlayerDto dto);
+
+    /**
+     * Updates age and type of a player identified by name.
+     *
+     * @param name player name (case-insensitive)
+     * @param dto  new values
+     * @return updated player
+     * @throws NotFoundException if the player was not found
+     */
+    PlayerResponseDto update(String name, PlayerDto dto);
+
+    /**
+     * Deletes a player identified by name.
+     *
+     * @param name player name (case-insensitive)
+     */
+    void delete(String name);
+}
@@ -0,0 +1,60 @@
+package sk.peter.tenis.storage;
+
+import sk.peter.tenis.dto.EloPlayerDto;
+import sk.peter.tenis.dto.EloRatingDto;
+import sk.peter.tenis.dto.HeadToHeadDto;
+import sk.peter.tenis.dto.LeaderboardDto;
+import sk.peter.tenis.dto.PlayerStatsDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Statistics over the stored matches.
+ * <p>
+ * Exactly one implementation is active, over the same backend as {@link MatchStore}:
+ * {@link JpaStatsEngine} for {@code h2} and {@code mysql}, {@link CsvStatsEngine} otherwise.
+ */
+public interface StatsEngine {
+
+    /**
+     * @return all players with matches, sorted by win rate, matches and name
+     */
+    List<LeaderboardDto> getLeaderboard();
+
+    /**
+     * @param limit maximum number of players
+     * @return the first {@code limit} rows of the leaderboard
+     */
+    List<LeaderboardDto> getTopPlayers(int limit);
+
+    /**
+     * @param name player name (case-insensitive)
+     * @param from start date, or {@code null}
+     * @param to   end date, or {@code null}
+     * @return player statistics, or {@code null} for an empty name
+     */
+    PlayerStatsDto getPlayerStats(String name, LocalDate from, LocalDate to);
+
+    /**
+     * @param a    name of the first player (case-insensitive)
+     * @param b    name of the second player (case-insensitive)
+     * @param from start date, or {@code null}
+     * @param to   end date, or {@code null}
+     * @return head-to-head totals seen from player {@code a}
+     * @throws IllegalArgumentException if a name is empty or both names denote the same player
+     */
+    HeadToHeadDto getHeadToHead(String a, String b, LocalDate from, LocalDate to);
+
+    /**
+     * @return players with at least one match ordered by Elo rating, highest first
+     */
+    List<EloRatingDto> getEloRanking();
+
+    /**
+     * @param name player name (case-insensitive)
+     * @return rating and history, or {@code null} if the player has no matches
+     * @throws IllegalArgumentException if the name is empty
+     */
+    EloPlayerDto getEloForPlayer(String name);
+}
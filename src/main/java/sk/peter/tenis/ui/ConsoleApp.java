@@ -5,6 +5,7 @@ import sk.peter.tenis.model.Player;
 import sk.peter.tenis.model.PlayerType;
 import sk.peter.tenis.service.CsvService;
 import sk.peter.tenis.util.Printer;
+import sk.peter.tenis.util.ScoreCodec;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -408,20 +409,10 @@ public class ConsoleApp {
      */
     private Integer matchResultFor(Player player, Match m) {
         boolean isA = m.getPlayerA().getName().equalsIgnoreCase(player.getName());
-        int setsA = 0;
-        int setsB = 0;
 
-        String[] sets = m.getScore().split(",");
-        for (String s : sets) {
-            String[] parts = s.trim().split(":");
-            int a = Integer.parseInt(parts[0]);
-            int b = Integer.parseInt(parts[1]);
-            if (a > b) setsA++;
-            else if (b > a) setsB++;
-        }
-
-        if (setsA == setsB) return null;
-        boolean aWon = (setsA > setsB);
+        int winner = ScoreCodec.winner(ScoreCodec.encode(m.getScore()));
+        if (winner == ScoreCodec.WINNER_NONE) return null;
+        boolean aWon = (winner == ScoreCodec.WINNER_A);
         boolean playerWon = (isA == aWon);
         return playerWon ? 1 : 0;
     }
@@ -431,31 +422,17 @@ public class ConsoleApp {
      * Skóre je zoznam setov oddelených čiarkou (napr. "6:4, 3:6, 7:6").
      */
     private boolean isValidScore(String score) {
-        String[] sets = score.split(",");
-
-        for (String set : sets) {
-            set = set.trim();
-            if (!set.matches("\\d:\\d")) {
-                Printer.println("⚠️ Nesprávny formát setu: " + set + " (použi napr. 6:4)");
-                return false;
-            }
-
-            String[] parts = set.split(":");
-            int gamesA = Integer.parseInt(parts[0]);
-            int gamesB = Integer.parseInt(parts[1]);
-
-            boolean valid =
-                    (gamesA == 6 && gamesB <= 4) ||
-                            (gamesB == 6 && gamesA <= 4) ||
-                            (gamesA == 7 && (gamesB == 5 || gamesB == 6)) ||
-                            (gamesB == 7 && (gamesA == 5 || gamesA == 6));
+        int error = ScoreCodec.error(ScoreCodec.encode(score));
 
-            if (!valid) {
-                Printer.println("⚠️ Nepovolený výsledok setu: " + set);
-                return false;
+        switch (error) {
+            case ScoreCodec.OK -> {
+                return true;
             }
+            case ScoreCodec.ERR_EMPTY, ScoreCodec.ERR_FORMAT, ScoreCodec.ERR_NOT_NUMBER ->
+                    Printer.println("⚠️ Nesprávny formát skóre: " + score + " (použi napr. 6:4)");
+            default -> Printer.println("⚠️ Nepovolený výsledok setu v skóre: " + score);
         }
-        return true;
+        return false;
     }
 
     /**
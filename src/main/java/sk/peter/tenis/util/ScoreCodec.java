@@ -0,0 +1,202 @@
+package sk.peter.tenis.util;
+
+/**
+ * Single-pass, allocation-free codec for match scores such as {@code "6:4, 7:6"}.
+ * <p>
+ * A score is parsed once and packed into one {@code int}:
+ * <pre>
+ * bits  0– 3  sets won by player A
+ * bits  4– 7  sets won by player B
+ * bits  8–15  games won by player A
+ * bits 16–23  games won by player B
+ * bits 24–25  winner side ({@link #WINNER_NONE}, {@link #WINNER_A}, {@link #WINNER_B})
+ * bits 26–29  first rule violation ({@link #OK} for a valid score)
+ * </pre>
+ * Whitespace around numbers, leading zeros ({@code "06:4"}) and a trailing separator
+ * ({@code "6:4,"}) are accepted, as they were by the earlier split-based parsing.
+ * <p>
+ * Sets and games are counted from every well-formed set, so statistics stay lenient
+ * for historical data, while {@link #isValid(int)} applies the tennis rules used for input:
+ * a set is won 6:0–6:4, 7:5 or 7:6.
+ */
+public final class ScoreCodec {
+
+    public static final int WINNER_NONE = 0;
+    public static final int WINNER_A = 1;
+    public static final int WINNER_B = 2;
+
+    public static final int OK = 0;
+    public static final int ERR_EMPTY = 1;
+    public static final int ERR_FORMAT = 2;
+    public static final int ERR_NOT_NUMBER = 3;
+    public static final int ERR_DRAW = 4;
+    public static final int ERR_TOO_FEW_GAMES = 5;
+    public static final int ERR_SIX_GAMES_MARGIN = 6;
+    public static final int ERR_SEVEN_GAMES = 7;
+    public static final int ERR_TOO_MANY_GAMES = 8;
+
+    private static final int MAX_SETS = 0xF;
+    private static final int MAX_GAMES = 0xFF;
+    private static final int NUMBER_CAP = 1000;
+
+    private ScoreCodec() {
+    }
+
+    /**
+     * Parses and encodes a score.
+     *
+     * @param score score text, e.g. {@code "6:4, 3:6, 7:5"}; {@code null} is treated as empty
+     * @return packed score
+     */
+    public static int encode(CharSequence score) {
+        if (score == null) return pack(0, 0, 0, 0, ERR_EMPTY);
+
+        int start = 0;
+        int len = score.length();
+        while (start < len && Character.isWhitespace(score.charAt(start))) start++;
+        // trailing separators are ignored ("6:4," is "6:4"), like String.split did in the old parser
+        while (len > start && (score.charAt(len - 1) == ',' || Character.isWhitespace(score.charAt(len - 1)))) len--;
+        if (start == len) return pack(0, 0, 0, 0, ERR_EMPTY);
+
+        int setsA = 0, setsB = 0, gamesA = 0, gamesB = 0;
+        int error = OK;
+
+        int i = start;
+        while (i <= len) {
+            // ---- one set: [ws] digits [ws] ':' [ws] digits [ws] ----
+            int left = -1, right = -1;
+            int colons = 0;
+            boolean badChar = false;
+            int current = -1;
+            boolean spaceAfterNumber = false;
+
+            for (; i < len; i++) {
+                char c = score.charAt(i);
+                if (c == ',') break;
+
+                if (c >= '0' && c <= '9') {
+                    if (spaceAfterNumber) badChar = true;
+                    current = current < 0 ? c - '0' : Math.min(current * 10 + (c - '0'), NUMBER_CAP);
+                } else if (c == ':') {
+                    colons++;
+                    if (colons == 1) left = current;
+                    current = -1;
+                    spaceAfterNumber = false;
+                } else if (Character.isWhitespace(c)) {
+                    if (current >= 0) spaceAfterNumber = true;
+                } else {
+                    badChar = true;
+                }
+            }
+            if (colons == 1) right = current;
+            i++; // skip ','
+
+            int setError;
+            if (colons != 1) {
+                setError = ERR_FORMAT;
+            } else if (badChar || left < 0 || right < 0) {
+                setError = ERR_NOT_NUMBER;
+            } else {
+                setError = checkSet(left, right);
+
+                if (left > right) setsA++;
+                else if (right > left) setsB++;
+                gamesA += left;
+                gamesB += right;
+            }
+
+            if (error == OK) error = setError;
+        }
+
+        if (setsA > MAX_SETS || setsB > MAX_SETS || gamesA > MAX_GAMES || gamesB > MAX_GAMES) {
+            if (error == OK) error = ERR_TOO_MANY_GAMES;
+            setsA = Math.min(setsA, MAX_SETS);
+            setsB = Math.min(setsB, MAX_SETS);
+            gamesA = Math.min(gamesA, MAX_GAMES);
+            gamesB = Math.min(gamesB, MAX_GAMES);
+        }
+
+        return pack(setsA, setsB, gamesA, gamesB, error);
+    }
+
+    /**
+     * @param packed packed score
+     * @return {@code true} if the score follows the tennis rules
+     */
+    public static boolean isValid(int packed) {
+        return error(packed) == OK;
+    }
+
+    /**
+     * @param packed packed score
+     * @return first rule violation, {@link #OK} for a valid score
+     */
+    public static int error(int packed) {
+        return (packed >>> 26) & 0xF;
+    }
+
+    /**
+     * @param packed packed score
+     * @return winner side: {@link #WINNER_A}, {@link #WINNER_B} or {@link #WINNER_NONE}
+     */
+    public static int winner(int packed) {
+        return (packed >>> 24) & 0x3;
+    }
+
+    /**
+     * @param packed packed score
+     * @return sets won by player A
+     */
+    public static int setsA(int packed) {
+        return packed & 0xF;
+    }
+
+    /**
+     * @param packed packed score
+     * @return sets won by player B
+     */
+    public static int setsB(int packed) {
+        return (packed >>> 4) & 0xF;
+    }
+
+    /**
+     * @param packed packed score
+     * @return games won by player A
+     */
+    public static int gamesA(int packed) {
+        return (packed >>> 8) & 0xFF;
+    }
+
+    /**
+     * @param packed packed score
+     * @return games won by player B
+     */
+    public static int gamesB(int packed) {
+        return (packed >>> 16) & 0xFF;
+    }
+
+    // ====================== HELPERS ======================
+
+    private static int checkSet(int a, int b) {
+        if (a == b) return ERR_DRAW;
+
+        int max = Math.max(a, b);
+        int min = Math.min(a, b);
+
+        if (max < 6) return ERR_TOO_FEW_GAMES;
+        if (max == 6 && max - min < 2) return ERR_SIX_GAMES_MARGIN;
+        if (max == 7 && min < 5) return ERR_SEVEN_GAMES;
+        if (max > 7) return ERR_TOO_MANY_GAMES;
+        return OK;
+    }
+
+    private static int pack(int setsA, int setsB, int gamesA, int gamesB, int error) {
+        int winner = setsA > setsB ? WINNER_A : (setsB > setsA ? WINNER_B : WINNER_NONE);
+        return setsA
+                | (setsB << 4)
+                | (gamesA << 8)
+                | (gamesB << 16)
+                | (winner << 24)
+                | (error << 26);
+    }
+}
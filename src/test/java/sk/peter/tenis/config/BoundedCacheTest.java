@@ -0,0 +1,65 @@
+package sk.peter.tenis.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedCacheTest {
+
+    @Test
+    void shouldDropLeastRecentlyUsedEntry_whenFull() {
+        // Arrange
+        BoundedCache cache = new BoundedCache("test", 2, Duration.ofMinutes(10));
+        cache.put("a", 1L);
+        cache.put("b", 2L);
+        cache.get("a");
+
+        // Act
+        cache.put("c", 3L);
+
+        // Assert – "b" bol použitý najdávnejšie
+        assertThat(cache.get("a")).isNotNull();
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isNotNull();
+        assertThat(cache.stats()).isEqualTo(new BoundedCache.Stats(2, 3, 1, 1));
+    }
+
+    @Test
+    void shouldExpireEntries_andCacheNullValues() {
+        // Arrange
+        Instant[] now = {Instant.parse("2025-01-01T00:00:00Z")};
+        Clock clock = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now[0];
+            }
+        };
+        BoundedCache cache = new BoundedCache("test", 10, Duration.ofMinutes(10), clock);
+        cache.put("unknown", null);
+
+        // Act + Assert – null je platná hodnota v cache
+        assertThat(cache.get("unknown")).isNotNull();
+        assertThat(cache.get("unknown").get()).isNull();
+
+        // Act + Assert – po uplynutí TTL záznam zmizne
+        now[0] = now[0].plus(Duration.ofMinutes(11));
+        assertThat(cache.get("unknown")).isNull();
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,111 @@
+package sk.peter.tenis.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingAuthenticationProviderTest {
+
+    private final AtomicInteger delegateCalls = new AtomicInteger();
+    private final MutableClock clock = new MutableClock();
+    private CachingAuthenticationProvider provider;
+
+    @BeforeEach
+    void setup() {
+        PasswordEncoder encoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+        DaoAuthenticationProvider bcrypt = new DaoAuthenticationProvider(encoder);
+        bcrypt.setUserDetailsService(new InMemoryUserDetailsManager(
+                User.withUsername("admin").password(encoder.encode("secret")).roles("ADMIN").build()));
+
+        AuthenticationProvider counting = new AuthenticationProvider() {
+            @Override
+            public Authentication authenticate(Authentication authentication) {
+                delegateCalls.incrementAndGet();
+                return bcrypt.authenticate(authentication);
+            }
+
+            @Override
+            public boolean supports(Class<?> authentication) {
+                return bcrypt.supports(authentication);
+            }
+        };
+        provider = new CachingAuthenticationProvider(counting, Duration.ofMinutes(5), 2, clock);
+    }
+
+    @Test
+    void shouldVerifyCredentialsOnce_untilEntryExpires() {
+        // Act
+        Authentication first = provider.authenticate(token("admin", "secret"));
+        Authentication second = provider.authenticate(token("admin", "secret"));
+
+        // Assert – druhé overenie nepoužije bcrypt a token neobsahuje heslo
+        assertThat(delegateCalls).hasValue(1);
+        assertThat(second.isAuthenticated()).isTrue();
+        assertThat(second.getName()).isEqualTo("admin");
+        assertThat(second.getCredentials()).isNull();
+        assertThat(second.getAuthorities()).isEqualTo(first.getAuthorities());
+
+        // Act + Assert – po TTL sa heslo overí znova
+        clock.advance(Duration.ofMinutes(6));
+        provider.authenticate(token("admin", "secret"));
+        assertThat(delegateCalls).hasValue(2);
+    }
+
+    @Test
+    void shouldNotCacheWrongPassword() {
+        // Arrange
+        provider.authenticate(token("admin", "secret"));
+
+        // Act + Assert – nesprávne heslo vždy prejde cez bcrypt
+        assertThatThrownBy(() -> provider.authenticate(token("admin", "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> provider.authenticate(token("admin", "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThat(delegateCalls).hasValue(3);
+    }
+
+    private static UsernamePasswordAuthenticationToken token(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package sk.peter.tenis.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import sk.peter.tenis.entity.MatchEntity;
+import sk.peter.tenis.entity.PlayerEntity;
+import sk.peter.tenis.model.PlayerType;
+import sk.peter.tenis.repository.MatchRepository;
+import sk.peter.tenis.repository.PlayerRepository;
+import sk.peter.tenis.service.jpa.MatchChangedEvent;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class DerivedColumnsBackfillTest {
+
+    private static final String LEGACY_INSERT =
+            "insert into matches (player_a_id, player_b_id, result, date) values (?, ?, ?, ?)";
+
+    @Autowired
+    private DerivedColumnsBackfill backfill;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    private PlayerEntity peter;
+    private PlayerEntity miroslav;
+
+    @BeforeEach
+    void setup() {
+        matchRepository.deleteAll();
+        playerRepository.deleteAll();
+
+        peter = playerRepository.save(new PlayerEntity("Peter", 37, PlayerType.PROFESIONAL));
+        miroslav = playerRepository.save(new PlayerEntity("Miroslav", 39, PlayerType.AMATER));
+    }
+
+    @Test
+    void shouldDeleteLegacyDuplicate_andFillTheSurvivingRow() {
+        // Arrange – staré riadky bez odvodených stĺpcov, ten istý zápas dvakrát (raz s vymenenými hráčmi)
+        LocalDate date = LocalDate.of(2025, 6, 1);
+        jdbcTemplate.update(LEGACY_INSERT, peter.getId(), miroslav.getId(), "6:4, 6:4", date);
+        jdbcTemplate.update(LEGACY_INSERT, miroslav.getId(), peter.getId(), "6:4, 6:4", date);
+        jdbcTemplate.update(LEGACY_INSERT, peter.getId(), miroslav.getId(), "6:2, 6:2", date);
+
+        // Act
+        backfill.backfill();
+        // riadky sa menili mimo služieb – štatistiky sa musia načítať znova
+        events.publishEvent(MatchChangedEvent.reload());
+
+        // Assert – kópia zmizla a nič neostalo na ďalšie spustenie
+        assertThat(matchRepository.count()).isEqualTo(2);
+        assertThat(matchRepository.findWithoutDerivedColumns(0, Limit.of(10))).isEmpty();
+        assertThat(matchRepository.findAll()).extracting(MatchEntity::getResult)
+                .containsExactlyInAnyOrder("6:4, 6:4", "6:2, 6:2");
+    }
+}
@@ -1,28 +1,52 @@
 package sk.peter.tenis.controller;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
-import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import sk.peter.tenis.annotations.TestWithoutSecurity;
+import sk.peter.tenis.dto.PlayerDto;
+import sk.peter.tenis.storage.PlayerStore;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@SpringBootTest
+@SpringBootTest(properties = "tenis.csv.persist=false")
 @AutoConfigureMockMvc
 @TestWithoutSecurity
-@ActiveProfiles("h2")
-// 💡 bez @ActiveProfiles – beží v "default" → CSV logika
+// 💡 bez @ActiveProfiles – beží v "default" → CSV logika, ale bez zápisu do data/*.csv a journalu
 class MatchControllerCsvTest {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private PlayerStore playerStore;
+
+    @BeforeEach
+    void setup() {
+        // store v pamäti je spoločný pre celý kontext – hráčov založ iba raz
+        if (!playerStore.findAll().isEmpty()) return;
+        playerStore.create(player("Peter", 37));
+        playerStore.create(player("Miroslav", 39));
+    }
+
+    private static PlayerDto player(String name, int age) {
+        PlayerDto dto = new PlayerDto();
+        dto.setName(name);
+        dto.setAge(age);
+        dto.setType("PROFESIONAL");
+        return dto;
+    }
+
     @Test
     void shouldListMatches() throws Exception {
         mockMvc.perform(get("/api/matches"))
@@ -30,6 +54,97 @@ class MatchControllerCsvTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
     }
 
+    @Test
+    void shouldReturnMatchPage_whenPageParametersGiven() throws Exception {
+        mockMvc.perform(get("/api/matches").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.items.length()").value(lessThanOrEqualTo(1)));
+    }
+
+    @Test
+    void shouldRejectInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/matches").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldStreamMatchesAsNdjson() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/matches/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+    }
+
+    @Test
+    void shouldStreamMatchesAsJsonArray() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/matches/export").param("format", "json"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    void shouldImportMatchesInBulk_reportingEveryRow() throws Exception {
+        String rowsJson = """
+                [
+                  { "playerA": "Peter", "playerB": "Miroslav", "score": "6:1, 6:1", "date": "2030-01-15" },
+                  { "playerA": "Miroslav", "playerB": "Peter", "score": "6:1, 6:1", "date": "2030-01-15" },
+                  { "playerA": "Neznamy", "playerB": "Peter", "score": "6:4, 6:4", "date": "2030-01-16" }
+                ]
+                """;
+
+        mockMvc.perform(post("/api/matches/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(rowsJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows.length()").value(3))
+                .andExpect(jsonPath("$.rows[1].status").value("DUPLICATE"))
+                .andExpect(jsonPath("$.rows[2].status").value("ERROR"))
+                .andExpect(jsonPath("$.rows[2].message").value("Player(s) not found"));
+    }
+
+    @Test
+    void shouldImportMatchesFromCsvBody() throws Exception {
+        String csv = """
+                HracA;HracB;Vysledok;Datum
+                Peter;Miroslav;6:2, 6:2;2030-02-01
+                Peter;Miroslav;6:2, 6:2;01-02-2030
+                """;
+
+        mockMvc.perform(post("/api/matches/bulk")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows.length()").value(2))
+                .andExpect(jsonPath("$.rows[1].status").value("ERROR"))
+                .andExpect(jsonPath("$.failed").value(1));
+    }
+
+    @Test
+    void shouldKeepFirstCsvRow_whenItIsNotHeader() throws Exception {
+        // meno hráča obsahuje "hrac", ale riadok nie je hlavička
+        String csv = """
+                Hracek;Peter;6:4, 6:4;2030-03-02
+                Peter;Miroslav;6:0, 6:0;2030-03-01
+                """;
+
+        mockMvc.perform(post("/api/matches/bulk")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows.length()").value(2))
+                .andExpect(jsonPath("$.rows[0].status").value("ERROR"))
+                .andExpect(jsonPath("$.rows[0].message").value("Player(s) not found"))
+                .andExpect(jsonPath("$.rows[1].status").value("CREATED"));
+    }
+
     @Test
     void shouldCreateMatch_returns201_inCsvMode() throws Exception {
         String createJson = """
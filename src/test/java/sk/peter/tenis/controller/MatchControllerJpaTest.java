@@ -0,0 +1,127 @@
+package sk.peter.tenis.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import sk.peter.tenis.annotations.TestWithoutSecurity;
+import sk.peter.tenis.config.CacheConfig;
+import sk.peter.tenis.entity.MatchEntity;
+import sk.peter.tenis.entity.PlayerEntity;
+import sk.peter.tenis.model.PlayerType;
+import sk.peter.tenis.repository.MatchRepository;
+import sk.peter.tenis.repository.PlayerRepository;
+import sk.peter.tenis.service.jpa.MatchChangedEvent;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestWithoutSecurity
+@ActiveProfiles("h2")
+class MatchControllerJpaTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Long firstId;
+    private Long secondId;
+
+    @BeforeEach
+    void setup() {
+        matchRepository.deleteAll();
+        playerRepository.deleteAll();
+
+        PlayerEntity peter = playerRepository.save(new PlayerEntity("Peter", 37, PlayerType.PROFESIONAL));
+        PlayerEntity miroslav = playerRepository.save(new PlayerEntity("Miroslav", 39, PlayerType.AMATER));
+        firstId = matchRepository.save(new MatchEntity(peter, miroslav, "6:4, 6:4", LocalDate.of(2025, 6, 1))).getId();
+        secondId = matchRepository.save(new MatchEntity(peter, miroslav, "6:2, 6:2", LocalDate.of(2025, 6, 1))).getId();
+
+        // dáta sú zapísané priamo cez repository – štatistiky sa musia načítať znova
+        events.publishEvent(MatchChangedEvent.reload());
+        cacheManager.getCache(CacheConfig.PLAYER_IDS).clear();
+    }
+
+    @Test
+    void shouldReturnConflict_whenUpdateDuplicatesAnotherMatch() throws Exception {
+        // Act + Assert – druhý zápas by mal rovnaký pár, dátum aj skóre ako prvý
+        mockMvc.perform(put("/api/matches/{id}", secondId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"newScore\": \"6:4, 6:4\" }"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Match already exists"));
+
+        assertThat(matchRepository.findById(secondId).orElseThrow().getResult()).isEqualTo("6:2, 6:2");
+    }
+
+    @Test
+    void shouldCreateMatch_andReplayDuplicateWithOk() throws Exception {
+        String json = "{ \"playerA\": \"Miroslav\", \"playerB\": \"Peter\", \"score\": \"6:3, 6:3\", \"date\": \"2025-06-05\" }";
+
+        // Act + Assert – prvý zápis vytvorí zápas
+        mockMvc.perform(post("/api/matches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.playerAName").value("Miroslav"));
+
+        // Act + Assert – opakovaný zápis nič nemení a vráti uložený zápas
+        mockMvc.perform(post("/api/matches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.score").value("6:3, 6:3"));
+
+        assertThat(matchRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldUpdateMatch() throws Exception {
+        // Act + Assert
+        mockMvc.perform(put("/api/matches/{id}", firstId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"newScore\": \"7:5, 6:4\", \"newDate\": \"2025-06-02\" }"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(firstId))
+                .andExpect(jsonPath("$.score").value("7:5, 6:4"));
+    }
+
+    @Test
+    void shouldReportUnknownMatch_onUpdateAndDelete() throws Exception {
+        // Act + Assert
+        mockMvc.perform(put("/api/matches/{id}", 999_999)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"newScore\": \"6:1, 6:1\" }"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Match not found"));
+
+        mockMvc.perform(delete("/api/matches/{id}", 999_999))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Match not found"));
+    }
+}
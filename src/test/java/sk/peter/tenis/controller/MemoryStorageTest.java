@@ -0,0 +1,108 @@
+package sk.peter.tenis.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import sk.peter.tenis.annotations.TestWithoutSecurity;
+import sk.peter.tenis.storage.CsvMatchStore;
+import sk.peter.tenis.storage.CsvPlayerStore;
+import sk.peter.tenis.storage.CsvStatsEngine;
+import sk.peter.tenis.storage.MatchStore;
+import sk.peter.tenis.storage.PlayerStore;
+import sk.peter.tenis.storage.StatsEngine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestWithoutSecurity
+@ActiveProfiles("memory")
+class MemoryStorageTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PlayerStore playerStore;
+
+    @Autowired
+    private MatchStore matchStore;
+
+    @Autowired
+    private StatsEngine statsEngine;
+
+    @Test
+    void shouldServePlayersMatchesAndStatsFromMemory() throws Exception {
+        // Assert – bez databázového profilu sa použije rezidentný store
+        assertThat(playerStore).isInstanceOf(CsvPlayerStore.class);
+        assertThat(matchStore).isInstanceOf(CsvMatchStore.class);
+        assertThat(statsEngine).isInstanceOf(CsvStatsEngine.class);
+
+        // Arrange – store začína prázdny, CSV súbory sa nečítajú
+        mockMvc.perform(get("/api/players"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        mockMvc.perform(post("/api/players")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"name\": \"Iga Swiatek\", \"age\": 24, \"type\": \"PROFESIONAL\" }"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/players")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"name\": \"Coco Gauff\", \"age\": 21, \"type\": \"PROFESIONAL\" }"))
+                .andExpect(status().isCreated());
+
+        // Act
+        mockMvc.perform(post("/api/matches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"playerA\": \"Iga Swiatek\", \"playerB\": \"Coco Gauff\", \"score\": \"6:2, 6:3\", \"date\": \"2025-06-07\" }"))
+                .andExpect(status().isCreated());
+
+        // Act + Assert – opakovaný zápis je idempotentný
+        mockMvc.perform(post("/api/matches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"playerA\": \"Iga Swiatek\", \"playerB\": \"Coco Gauff\", \"score\": \"6:2, 6:3\", \"date\": \"2025-06-07\" }"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.playerAName").value("Iga Swiatek"));
+
+        // Assert
+        mockMvc.perform(get("/api/matches"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+
+        mockMvc.perform(get("/api/stats/leaderboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Iga Swiatek"))
+                .andExpect(jsonPath("$[0].wins").value(1));
+
+        mockMvc.perform(get("/api/stats/h2h").param("a", "Coco Gauff").param("b", "Iga Swiatek"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matches").value(1))
+                .andExpect(jsonPath("$.losses").value(1))
+                .andExpect(jsonPath("$.gamesWon").value(5));
+    }
+
+    @Test
+    void shouldRejectInvalidWrites_inMemoryMode() throws Exception {
+        // Act + Assert – zápasy v pamäti nemajú uložené ID
+        mockMvc.perform(put("/api/matches/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"newScore\": \"7:6, 6:4\" }"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Update by ID not supported in CSV mode"));
+
+        mockMvc.perform(post("/api/matches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"playerA\": \"Neznamy\", \"playerB\": \"Niekto\", \"score\": \"6:4, 6:4\", \"date\": \"2025-06-10\" }"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Player(s) not found"));
+    }
+}
@@ -10,10 +10,9 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import sk.peter.tenis.annotations.TestWithoutSecurity;
 import sk.peter.tenis.dto.PlayerDto;
-import sk.peter.tenis.model.Player;
+import sk.peter.tenis.dto.PlayerResponseDto;
 import sk.peter.tenis.model.PlayerType;
-import sk.peter.tenis.service.PlayerService;
-import sk.peter.tenis.service.jpa.PlayerJpaService;
+import sk.peter.tenis.storage.PlayerStore;
 
 import java.util.List;
 
@@ -33,10 +32,7 @@ class PlayerControllerTest {
     private MockMvc mockMvc;
 
     @MockBean
-    private PlayerService playerService;
-
-    @MockBean
-    private PlayerJpaService playerJpaService;  // ⬅️ DOPLNENÉ mock pre JPA service
+    private PlayerStore playerStore;
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -59,9 +55,9 @@ class PlayerControllerTest {
 
     @Test
     void shouldReturnAllPlayers() throws Exception {
-        given(playerService.findAll()).willReturn(List.of(
-                new Player("Roger Federer", 40, PlayerType.PROFESIONAL),
-                new Player("Rafael Nadal", 38, PlayerType.PROFESIONAL)
+        given(playerStore.findAll()).willReturn(List.of(
+                new PlayerResponseDto(null, "Roger Federer", 40, PlayerType.PROFESIONAL),
+                new PlayerResponseDto(null, "Rafael Nadal", 38, PlayerType.PROFESIONAL)
         ));
 
         mockMvc.perform(get("/api/players"))
@@ -73,8 +69,8 @@ class PlayerControllerTest {
 
     @Test
     void shouldCreatePlayer() throws Exception {
-        given(playerService.createFromDto(any(PlayerDto.class)))
-                .willReturn(new Player("Roger Federer", 40, PlayerType.PROFESIONAL));
+        given(playerStore.create(any(PlayerDto.class)))
+                .willReturn(new PlayerResponseDto(null, "Roger Federer", 40, PlayerType.PROFESIONAL));
 
         mockMvc.perform(post("/api/players")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -87,8 +83,8 @@ class PlayerControllerTest {
 
     @Test
     void shouldUpdatePlayer() throws Exception {
-        given(playerService.update(eq("Roger Federer"), any(PlayerDto.class)))
-                .willReturn(new Player("Roger Federer", 41, PlayerType.AMATER));
+        given(playerStore.update(eq("Roger Federer"), any(PlayerDto.class)))
+                .willReturn(new PlayerResponseDto(null, "Roger Federer", 41, PlayerType.AMATER));
 
         PlayerDto updated = new PlayerDto();
         updated.setName("Roger Federer");
@@ -105,7 +101,7 @@ class PlayerControllerTest {
 
     @Test
     void shouldDeletePlayer() throws Exception {
-        doNothing().when(playerService).delete("Roger Federer");
+        doNothing().when(playerStore).delete("Roger Federer");
 
         mockMvc.perform(delete("/api/players/{name}", "Roger Federer"))
                 .andExpect(status().isNoContent());
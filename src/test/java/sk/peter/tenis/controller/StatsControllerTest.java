@@ -5,19 +5,27 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import sk.peter.tenis.annotations.TestWithoutSecurity;
+import sk.peter.tenis.config.CacheConfig;
+import sk.peter.tenis.dto.MatchDto;
 import sk.peter.tenis.entity.MatchEntity;
 import sk.peter.tenis.entity.PlayerEntity;
 import sk.peter.tenis.model.PlayerType;
 import sk.peter.tenis.repository.MatchRepository;
 import sk.peter.tenis.repository.PlayerRepository;
+import sk.peter.tenis.service.jpa.MatchChangedEvent;
+import sk.peter.tenis.service.jpa.MatchJpaService;
 
 import java.time.LocalDate;
 
 import static org.hamcrest.Matchers.*;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -36,6 +44,15 @@ class StatsControllerTest {
     @Autowired
     private MatchRepository matchRepository;
 
+    @Autowired
+    private MatchJpaService matchJpaService;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     @BeforeEach
     void setup() {
 
@@ -57,6 +74,28 @@ class StatsControllerTest {
         matchRepository.save(new MatchEntity(novak, roger, "6:7, 6:7, 6:7", LocalDate.of(2025, 5, 5)));
         matchRepository.save(new MatchEntity(peter, rafael, "6:3, 6:4", LocalDate.of(2025, 6, 1)));
         matchRepository.save(new MatchEntity(peter, miroslav, "6:4, 6:4", LocalDate.of(2025, 6, 1)));
+
+        // dáta sú zapísané priamo cez repository – leaderboard sa musí načítať znova
+        events.publishEvent(MatchChangedEvent.reload());
+        cacheManager.getCache(CacheConfig.PLAYER_IDS).clear();
+    }
+
+    @Test
+    void shouldUpdateLeaderboard_whenMatchIsSaved() throws Exception {
+        mockMvc.perform(get("/api/stats/leaderboard"))
+                .andExpect(jsonPath("$[?(@.name == 'Rafael')]", hasSize(0)));
+
+        MatchDto dto = new MatchDto();
+        dto.setPlayerA("Rafael");
+        dto.setPlayerB("Skuska");
+        dto.setScore("6:1, 6:1");
+        dto.setDate("2025-07-01");
+        matchJpaService.save(dto);
+
+        mockMvc.perform(get("/api/stats/leaderboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.name == 'Rafael')].winRatePercent", contains(50.0)))
+                .andExpect(jsonPath("$[?(@.name == 'Rafael')].matches", contains(2)));
     }
 
     @Test
@@ -72,6 +111,86 @@ class StatsControllerTest {
                 .andExpect(jsonPath("$[2].winRatePercent", is(33.3)));
     }
 
+    @Test
+    void shouldUpdatePlayerStatsInDateRange_whenMatchIsSaved() throws Exception {
+        mockMvc.perform(get("/api/stats/player").param("name", "Rafael").param("from", "2025-06-01"))
+                .andExpect(jsonPath("$.matches", is(1)))
+                .andExpect(jsonPath("$.losses", is(1)));
+
+        MatchDto dto = new MatchDto();
+        dto.setPlayerA("Skuska");
+        dto.setPlayerB("Rafael");
+        dto.setScore("1:6, 1:6");
+        dto.setDate("2025-06-15");
+        matchJpaService.save(dto);
+
+        mockMvc.perform(get("/api/stats/player")
+                        .param("name", "rafael")
+                        .param("from", "2025-06-01")
+                        .param("to", "2025-06-30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matches", is(2)))
+                .andExpect(jsonPath("$.wins", is(1)))
+                .andExpect(jsonPath("$.losses", is(1)))
+                .andExpect(jsonPath("$.winRatePercent", is(50.0)));
+    }
+
+    @Test
+    void shouldAnswerNotModified_untilDataChanges() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/stats/leaderboard"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/stats/leaderboard").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/stats/export").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        MatchDto dto = new MatchDto();
+        dto.setPlayerA("Rafael");
+        dto.setPlayerB("Skuska");
+        dto.setScore("6:1, 6:1");
+        dto.setDate("2025-07-02");
+        matchJpaService.save(dto);
+
+        MvcResult changed = mockMvc.perform(get("/api/stats/leaderboard").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(changed.getResponse().getHeader("ETag")).isNotEqualTo(etag);
+    }
+
+    @Test
+    void shouldServeNewMatchUnderNewETag() throws Exception {
+        // Arrange – rebríček je načítaný a uložený pod aktuálnou verziou; Rafael zatiaľ nevyhral
+        String etag = mockMvc.perform(get("/api/stats/leaderboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.name == 'Rafael')]", hasSize(0)))
+                .andReturn().getResponse().getHeader("ETag");
+
+        MatchDto dto = new MatchDto();
+        dto.setPlayerA("Rafael");
+        dto.setPlayerB("Skuska");
+        dto.setScore("6:0, 6:0");
+        dto.setDate("2025-07-03");
+
+        // Act
+        matchJpaService.save(dto);
+
+        // Assert – nová verzia už obsahuje zápas a potvrdzuje sa ňou
+        MvcResult changed = mockMvc.perform(get("/api/stats/leaderboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.name == 'Rafael')].matches", contains(2)))
+                .andExpect(jsonPath("$[?(@.name == 'Rafael')].wins", contains(1)))
+                .andReturn();
+        String newEtag = changed.getResponse().getHeader("ETag");
+        assertThat(newEtag).isNotEqualTo(etag);
+
+        mockMvc.perform(get("/api/stats/leaderboard").header("If-None-Match", newEtag))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     void shouldExportLeaderboardCsv() throws Exception {
         mockMvc.perform(get("/api/stats/export"))
@@ -106,4 +225,62 @@ class StatsControllerTest {
                 .andExpect(jsonPath("$.losses", is(0)))
                 .andExpect(jsonPath("$.winRatePercent", is(100.0)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReturnHeadToHead_fromFirstPlayersSide() throws Exception {
+        // Act + Assert – Miroslav proti Petrovi, Peter bol v oboch zápasoch hráč A
+        mockMvc.perform(get("/api/stats/h2h")
+                        .param("a", "miroslav")
+                        .param("b", "Peter"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matches", is(2)))
+                .andExpect(jsonPath("$.wins", is(0)))
+                .andExpect(jsonPath("$.losses", is(2)))
+                .andExpect(jsonPath("$.setsWon", is(0)))
+                .andExpect(jsonPath("$.setsLost", is(5)))
+                .andExpect(jsonPath("$.gamesWon", is(14)))
+                .andExpect(jsonPath("$.gamesLost", is(31)));
+
+        mockMvc.perform(get("/api/stats/h2h")
+                        .param("a", "Peter")
+                        .param("b", "Miroslav")
+                        .param("from", "2025-05-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matches", is(1)))
+                .andExpect(jsonPath("$.wins", is(1)))
+                .andExpect(jsonPath("$.setsWon", is(2)))
+                .andExpect(jsonPath("$.gamesWon", is(12)))
+                .andExpect(jsonPath("$.gamesLost", is(8)));
+    }
+
+    @Test
+    void shouldRejectHeadToHead_ofSamePlayer() throws Exception {
+        mockMvc.perform(get("/api/stats/h2h")
+                        .param("a", "Peter")
+                        .param("b", " peter "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnEloRanking_andPlayerHistory() throws Exception {
+        // Act + Assert – Peter vyhral všetky štyri zápasy
+        mockMvc.perform(get("/api/stats/elo"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$[0].name", is("Peter")))
+                .andExpect(jsonPath("$[0].rating", greaterThan(1500.0)))
+                .andExpect(jsonPath("$[?(@.name == 'Skuska')]", hasSize(0)));
+
+        mockMvc.perform(get("/api/stats/elo/player").param("name", "peter"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matches", is(4)))
+                .andExpect(jsonPath("$.history", hasSize(4)))
+                .andExpect(jsonPath("$.history[0].date", is("2025-04-13")))
+                .andExpect(jsonPath("$.history[0].opponent", is("Miroslav")))
+                .andExpect(jsonPath("$.history[0].won", is(true)))
+                .andExpect(jsonPath("$.history[0].delta", greaterThan(0.0)));
+
+        mockMvc.perform(get("/api/stats/elo/player").param("name", "Skuska"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,108 @@
+package sk.peter.tenis.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sk.peter.tenis.model.Match;
+import sk.peter.tenis.model.Player;
+import sk.peter.tenis.model.PlayerType;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvDataStoreTest {
+
+    @TempDir
+    Path dataDir;
+
+    @BeforeEach
+    void setup() throws Exception {
+        CsvService.useDataDir(dataDir);
+        CsvService.savePlayers(List.of(
+                new Player("Peter", 37, PlayerType.PROFESIONAL),
+                new Player("Miroslav", 39, PlayerType.AMATER)));
+        Files.writeString(dataDir.resolve("matches.csv"),
+                "HracA;HracB;Vysledok;Datum\nPeter;Miroslav;6:4, 6:4;2025-06-01\n", StandardCharsets.UTF_8);
+    }
+
+    @AfterEach
+    void restoreDataDir() {
+        CsvService.useDataDir(null);
+    }
+
+    private static CsvDataStore loadedStore() {
+        CsvDataStore store = new CsvDataStore(new DataVersion(), true);
+        store.load();
+        return store;
+    }
+
+    @Test
+    void shouldRewriteMatchesCsvAndDropJournal_onCompact() throws Exception {
+        // Arrange
+        CsvDataStore store = loadedStore();
+        Match added = new Match(store.findPlayer("Miroslav"), store.findPlayer("Peter"), "6:3, 6:3",
+                LocalDate.of(2025, 6, 2));
+        assertThat(store.addMatch(added)).isTrue();
+        assertThat(dataDir.resolve("matches.journal")).exists();
+
+        // Act
+        store.compact();
+
+        // Assert – zápas je v matches.csv a journal zmizol
+        assertThat(dataDir.resolve("matches.journal")).doesNotExist();
+        assertThat(Files.readAllLines(dataDir.resolve("matches.csv"), StandardCharsets.UTF_8))
+                .containsExactly("HracA;HracB;Vysledok;Datum",
+                        "Peter;Miroslav;6:4, 6:4;2025-06-01",
+                        "Miroslav;Peter;6:3, 6:3;2025-06-02");
+        assertThat(loadedStore().getMatches()).hasSize(2);
+    }
+
+    @Test
+    void shouldRejectDuplicateMatch_withSameKeyAsLoadedRow() throws Exception {
+        // Arrange
+        CsvDataStore store = loadedStore();
+
+        // Act + Assert – hráči v opačnom poradí a skóre s medzerami je ten istý zápas
+        Match same = new Match(store.findPlayer("miroslav"), store.findPlayer("PETER"), " 6:4, 6:4 ",
+                LocalDate.of(2025, 6, 1));
+        assertThat(store.addMatch(same)).isFalse();
+        assertThat(dataDir.resolve("matches.journal")).doesNotExist();
+    }
+
+    @Test
+    void shouldKeepMatchesInMemory_whenPlayersChange() throws Exception {
+        // Arrange – súbor sa po načítaní zmení mimo store
+        CsvDataStore store = loadedStore();
+        Files.writeString(dataDir.resolve("matches.csv"), "Peter;Miroslav;6:0, 6:0;2025-06-03\n",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        // Act
+        store.addPlayer(new Player("Novak", 36, PlayerType.PROFESIONAL));
+
+        // Assert – zápasy sa znova nečítajú zo súboru, len ukazujú na nové objekty hráčov
+        assertThat(store.getMatches()).singleElement()
+                .satisfies(m -> assertThat(m.getPlayerA()).isSameAs(store.findPlayer("Peter")));
+    }
+
+    @Test
+    void shouldDropMatchesOfRemovedPlayer_fromMatchesCsvOnCompact() throws Exception {
+        // Arrange
+        CsvDataStore store = loadedStore();
+
+        // Act
+        store.removePlayer("Miroslav");
+        store.compact();
+
+        // Assert
+        assertThat(store.getMatches()).isEmpty();
+        assertThat(Files.readAllLines(dataDir.resolve("matches.csv"), StandardCharsets.UTF_8))
+                .containsExactly("HracA;HracB;Vysledok;Datum");
+    }
+}
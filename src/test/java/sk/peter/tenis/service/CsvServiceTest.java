@@ -0,0 +1,109 @@
+package sk.peter.tenis.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sk.peter.tenis.model.Match;
+import sk.peter.tenis.model.Player;
+import sk.peter.tenis.model.PlayerType;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvServiceTest {
+
+    @TempDir
+    Path dataDir;
+
+    private final Player peter = new Player("Peter", 37, PlayerType.PROFESIONAL);
+    private final Player miroslav = new Player("Miroslav", 39, PlayerType.AMATER);
+
+    @BeforeEach
+    void setup() throws Exception {
+        CsvService.useDataDir(dataDir);
+        CsvService.savePlayers(List.of(peter, miroslav));
+    }
+
+    @AfterEach
+    void restoreDataDir() {
+        CsvService.useDataDir(null);
+    }
+
+    private static Match match(Player a, Player b, String score, String date) {
+        return new Match(a, b, score, LocalDate.parse(date));
+    }
+
+    private void writeMatchesCsv(String... rows) throws Exception {
+        Files.writeString(dataDir.resolve("matches.csv"),
+                "HracA;HracB;Vysledok;Datum\n" + String.join("\n", rows) + "\n", StandardCharsets.UTF_8);
+    }
+
+    private List<String> loadedScores() throws Exception {
+        return CsvService.loadMatchesFromCsv(CsvService.loadPlayersFromCsv()).stream()
+                .map(Match::getScore)
+                .toList();
+    }
+
+    @Test
+    void shouldReplayJournalOnTopOfMatchesCsv() throws Exception {
+        // Arrange
+        writeMatchesCsv("Peter;Miroslav;6:4, 6:4;2025-06-01", "Peter;Miroslav;6:2, 6:2;2025-06-02");
+        CsvService.appendMatch(match(miroslav, peter, "7:5, 6:3", "2025-06-03"));
+        CsvService.appendMatchRemoval(match(peter, miroslav, "6:4, 6:4", "2025-06-01"));
+
+        // Act + Assert – vložený zápas pribudne, zmazaný zmizne
+        assertThat(loadedScores()).containsExactly("6:2, 6:2", "7:5, 6:3");
+        assertThat(CsvService.hasMatchJournal()).isTrue();
+    }
+
+    @Test
+    void shouldApplyReplacementRecord() throws Exception {
+        // Arrange
+        writeMatchesCsv("Peter;Miroslav;6:4, 6:4;2025-06-01");
+
+        // Act – '-' starej verzie a '+' novej v jednom zápise
+        CsvService.appendMatchReplacement(
+                match(peter, miroslav, "6:4, 6:4", "2025-06-01"),
+                match(peter, miroslav, "7:6, 6:4", "2025-06-01"));
+
+        // Assert
+        assertThat(loadedScores()).containsExactly("7:6, 6:4");
+    }
+
+    @Test
+    void shouldDropDuplicateRows_whenLoadingMatchesCsv() throws Exception {
+        // Arrange – ten istý zápas s prehodenými hráčmi, inou veľkosťou písmen a medzerami
+        writeMatchesCsv(
+                "Peter;Miroslav;6:4, 6:4;2025-06-01",
+                "miroslav; PETER ;6:4, 6:4 ;2025-06-01",
+                "Peter;Miroslav;6:4, 6:4;2025-06-02");
+
+        // Act + Assert
+        assertThat(CsvService.loadMatchesFromCsv(CsvService.loadPlayersFromCsv()))
+                .extracting(Match::getDate)
+                .containsExactly(LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 2));
+    }
+
+    @Test
+    void shouldIgnoreTruncatedLastJournalLine_andKeepLaterRecords() throws Exception {
+        // Arrange – posledný riadok journalu je zapísaný iba čiastočne, bez konca riadku
+        writeMatchesCsv("Peter;Miroslav;6:4, 6:4;2025-06-01");
+        CsvService.appendMatch(match(peter, miroslav, "6:1, 6:1", "2025-06-05"));
+        Files.writeString(dataDir.resolve("matches.journal"), "+;Peter;Miroslav;6:3, 6:",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        // Act + Assert – neúplný záznam sa preskočí
+        assertThat(loadedScores()).containsExactly("6:4, 6:4", "6:1, 6:1");
+
+        // Act + Assert – ďalší zápis sa nesmie prilepiť k neúplnému riadku
+        CsvService.appendMatch(match(miroslav, peter, "6:0, 6:0", "2025-06-06"));
+        assertThat(loadedScores()).containsExactly("6:4, 6:4", "6:1, 6:1", "6:0, 6:0");
+    }
+}
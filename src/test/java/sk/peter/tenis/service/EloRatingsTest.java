@@ -0,0 +1,135 @@
+package sk.peter.tenis.service;
+
+import org.junit.jupiter.api.Test;
+import sk.peter.tenis.dto.EloPlayerDto;
+import sk.peter.tenis.dto.EloRatingDto;
+import sk.peter.tenis.util.ScoreCodec;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EloRatingsTest {
+
+    private static final LocalDate START = LocalDate.of(2000, 1, 1);
+
+    @Test
+    void shouldMoveRatingsByHalfOfK_betweenEqualPlayers() {
+        // Arrange
+        EloRatings elo = new EloRatings();
+
+        // Act
+        elo.addMatch(1, "peter", "Peter", "novak", "Novak", START, ScoreCodec.WINNER_A);
+        elo.addMatch(2, "peter", "Peter", "roger", "Roger", START, ScoreCodec.WINNER_NONE);
+
+        // Assert
+        List<EloRatingDto> ranking = elo.ranking();
+        assertThat(ranking).extracting(EloRatingDto::getName).containsExactly("Peter", "Roger", "Novak");
+        assertThat(ranking).extracting(EloRatingDto::getRating).containsExactly(1516.0, 1500.0, 1484.0);
+
+        EloPlayerDto peter = elo.player("peter");
+        assertThat(peter.getMatches()).isEqualTo(2);
+        assertThat(peter.getHistory().get(0).getWon()).isTrue();
+        assertThat(peter.getHistory().get(0).getDelta()).isEqualTo(16.0);
+        assertThat(peter.getHistory().get(1).getWon()).isNull();
+        assertThat(peter.getHistory().get(1).getRating()).isEqualTo(1516.0);
+        assertThat(elo.player("nobody")).isNull();
+    }
+
+    @Test
+    void shouldReplayBackDatedAndRemovedMatches_asIfAddedInOrder() {
+        // Arrange – rovnaké zápasy raz v poradí, raz s oneskorene pridaným starším zápasom
+        EloRatings inOrder = new EloRatings();
+        EloRatings backDated = new EloRatings();
+        inOrder.addMatch(1, "a", "A", "b", "B", START, ScoreCodec.WINNER_A);
+        inOrder.addMatch(2, "b", "B", "c", "C", START.plusDays(1), ScoreCodec.WINNER_A);
+        inOrder.addMatch(3, "c", "C", "a", "A", START.plusDays(2), ScoreCodec.WINNER_A);
+
+        backDated.addMatch(2, "b", "B", "c", "C", START.plusDays(1), ScoreCodec.WINNER_A);
+        backDated.addMatch(3, "c", "C", "a", "A", START.plusDays(2), ScoreCodec.WINNER_A);
+        backDated.addMatch(9, "a", "A", "c", "C", START.plusDays(5), ScoreCodec.WINNER_B);
+        backDated.ranking();
+
+        // Act
+        backDated.addMatch(1, "a", "A", "b", "B", START, ScoreCodec.WINNER_A);
+        backDated.removeMatch(9, "a", "c", START.plusDays(5), ScoreCodec.WINNER_B);
+
+        // Assert
+        assertThat(ratingsOf(backDated)).isEqualTo(ratingsOf(inOrder));
+        assertThat(backDated.player("a").getHistory()).extracting(h -> h.getDate())
+                .containsExactly(START, START.plusDays(2));
+    }
+
+    @Test
+    void shouldRemoveTheLaterOfTwoSameDayMatches() {
+        // Arrange – rovnaká dvojica hrá v jeden deň dvakrát s rovnakým víťazom
+        EloRatings expected = new EloRatings();
+        EloRatings elo = new EloRatings();
+        expected.addMatch(1, "a", "A", "b", "B", START, ScoreCodec.WINNER_A);
+        expected.addMatch(2, "b", "B", "c", "C", START, ScoreCodec.WINNER_A);
+
+        elo.addMatch(1, "a", "A", "b", "B", START, ScoreCodec.WINNER_A);
+        elo.addMatch(2, "b", "B", "c", "C", START, ScoreCodec.WINNER_A);
+        elo.addMatch(3, "a", "A", "b", "B", START, ScoreCodec.WINNER_A);
+        elo.ranking();
+
+        // Act
+        elo.removeMatch(3, "a", "b", START, ScoreCodec.WINNER_A);
+
+        // Assert – zostane prvý zápas, teda pred zápasom B s C
+        assertThat(ratingsOf(elo)).isEqualTo(ratingsOf(expected));
+        assertThat(elo.player("b").getHistory()).extracting(h -> h.getOpponent())
+                .containsExactly("A", "C");
+    }
+
+    @Test
+    void shouldMatchFullReplay_afterRandomOrderAddsAndRemovals() {
+        // Arrange – 2 000 zápasov medzi 50 hráčmi, niekoľko v jeden deň
+        Random random = new Random(42);
+        int players = 50;
+        int count = 2_000;
+        int[][] matches = new int[count][];
+        for (int i = 0; i < count; i++) {
+            int a = random.nextInt(players);
+            int b = (a + 1 + random.nextInt(players - 1)) % players;
+            int winner = random.nextBoolean() ? ScoreCodec.WINNER_A : ScoreCodec.WINNER_B;
+            matches[i] = new int[]{a, b, i / 5, winner};
+        }
+
+        EloRatings replay = new EloRatings();
+        for (int i = 0; i < count; i++) {
+            if (i % 7 != 0) add(replay, i, matches[i]);
+        }
+
+        // Act – pridávanie v náhodnom poradí a mazanie každého siedmeho zápasu
+        EloRatings elo = new EloRatings();
+        List<Integer> order = new ArrayList<>(IntStream.range(0, count).boxed().toList());
+        Collections.shuffle(order, random);
+        for (int i : order) {
+            add(elo, i, matches[i]);
+            if (i % 100 == 0) elo.ranking();
+        }
+        for (int i = 0; i < count; i += 7) {
+            int[] m = matches[i];
+            elo.removeMatch(i, m[0], m[1], START.plusDays(m[2]), m[3]);
+        }
+
+        // Assert
+        assertThat(ratingsOf(elo)).isEqualTo(ratingsOf(replay));
+        assertThat(elo.ranking().stream().mapToInt(EloRatingDto::getMatches).sum())
+                .isEqualTo(2 * (count - (count + 6) / 7));
+    }
+
+    private static void add(EloRatings elo, int seq, int[] m) {
+        elo.addMatch(seq, m[0], "P" + m[0], m[1], "P" + m[1], START.plusDays(m[2]), m[3]);
+    }
+
+    private static List<String> ratingsOf(EloRatings elo) {
+        return elo.ranking().stream().map(r -> r.getName() + "=" + r.getRating() + "/" + r.getMatches()).toList();
+    }
+}
@@ -0,0 +1,46 @@
+package sk.peter.tenis.service;
+
+import org.junit.jupiter.api.Test;
+import sk.peter.tenis.util.ScoreCodec;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeadToHeadIndexTest {
+
+    @Test
+    void shouldCountPairFromEitherSide() {
+        // Arrange – hráči sa striedajú na strane A aj B
+        HeadToHeadIndex index = new HeadToHeadIndex();
+        index.addMatch("peter", "novak", LocalDate.of(2025, 5, 10), ScoreCodec.encode("6:4, 6:2"));
+        index.addMatch("novak", "peter", LocalDate.of(2025, 1, 8), ScoreCodec.encode("6:3, 3:6, 6:1"));
+        index.addMatch("peter", "roger", LocalDate.of(2025, 3, 1), ScoreCodec.encode("6:0, 6:0"));
+
+        // Act
+        HeadToHeadIndex.Totals peter = index.totals("peter", "novak", null, null);
+        HeadToHeadIndex.Totals novak = index.totals("novak", "peter", null, null);
+        HeadToHeadIndex.Totals spring = index.totals("peter", "novak", LocalDate.of(2025, 2, 1), null);
+
+        // Assert
+        assertThat(peter).isEqualTo(new HeadToHeadIndex.Totals(2, 1, 1, 3, 2, 22, 21));
+        assertThat(novak).isEqualTo(new HeadToHeadIndex.Totals(2, 1, 1, 2, 3, 21, 22));
+        assertThat(spring).isEqualTo(new HeadToHeadIndex.Totals(1, 1, 0, 2, 0, 12, 6));
+        assertThat(index.totals("novak", "roger", null, null)).isEqualTo(new HeadToHeadIndex.Totals(0, 0, 0, 0, 0, 0, 0));
+    }
+
+    @Test
+    void shouldForgetRemovedMatch() {
+        // Arrange
+        HeadToHeadIndex index = new HeadToHeadIndex();
+        LocalDate date = LocalDate.of(2025, 5, 10);
+        index.addMatch("peter", "novak", date, ScoreCodec.encode("6:4, 6:2"));
+        index.addMatch("novak", "peter", date, ScoreCodec.encode("6:4, 6:2"));
+
+        // Act
+        index.removeMatch("peter", "novak", date, ScoreCodec.encode("6:4, 6:2"));
+
+        // Assert – ostal iba zápas, ktorý vyhral Novak
+        assertThat(index.totals("peter", "novak", date, date)).isEqualTo(new HeadToHeadIndex.Totals(1, 0, 1, 0, 2, 6, 12));
+    }
+}
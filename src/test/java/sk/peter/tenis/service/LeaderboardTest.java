@@ -0,0 +1,65 @@
+package sk.peter.tenis.service;
+
+import org.junit.jupiter.api.Test;
+import sk.peter.tenis.dto.LeaderboardDto;
+import sk.peter.tenis.util.ScoreCodec;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeaderboardTest {
+
+    @Test
+    void shouldSortByWinRateThenMatchesThenName() {
+        // Arrange
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.addMatch(1L, "Peter", 2L, "Novak", ScoreCodec.WINNER_A);
+        leaderboard.addMatch(1L, "Peter", 3L, "Miroslav", ScoreCodec.WINNER_A);
+        leaderboard.addMatch(4L, "Roger", 2L, "Novak", ScoreCodec.WINNER_A);
+        leaderboard.addMatch(2L, "Novak", 3L, "Miroslav", ScoreCodec.WINNER_A);
+
+        // Act
+        List<LeaderboardDto> rows = leaderboard.rows();
+
+        // Assert – Miroslav bez výhry sa nezobrazí
+        assertThat(rows).extracting(LeaderboardDto::getName).containsExactly("Peter", "Roger", "Novak");
+        assertThat(rows.get(2).getWinRatePercent()).isEqualTo(33.3);
+    }
+
+    @Test
+    void shouldUpdateIncrementallyWhenMatchIsReplacedOrRemoved() {
+        // Arrange
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.addMatch(1L, "Peter", 2L, "Novak", ScoreCodec.WINNER_A);
+        List<LeaderboardDto> before = leaderboard.rows();
+
+        // Act – zmena výsledku: najprv odober pôvodný zápas, potom pridaj nový
+        leaderboard.removeMatch(1L, "Peter", 2L, "Novak", ScoreCodec.WINNER_A);
+        leaderboard.addMatch(1L, "Peter", 2L, "Novak", ScoreCodec.WINNER_B);
+
+        // Assert
+        assertThat(before).extracting(LeaderboardDto::getName).containsExactly("Peter");
+        assertThat(leaderboard.rows()).extracting(LeaderboardDto::getName).containsExactly("Novak");
+        assertThat(leaderboard.rows()).isSameAs(leaderboard.rows());
+
+        leaderboard.removeMatch(1L, "Peter", 2L, "Novak", ScoreCodec.WINNER_B);
+        assertThat(leaderboard.rows()).isEmpty();
+    }
+
+    @Test
+    void shouldReturnTopKFromSortedHead() {
+        // Arrange
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.addMatch(1L, "Peter", 2L, "Novak", ScoreCodec.WINNER_A);
+        leaderboard.addMatch(1L, "Peter", 3L, "Miroslav", ScoreCodec.WINNER_A);
+        leaderboard.addMatch(4L, "Roger", 2L, "Novak", ScoreCodec.WINNER_A);
+        leaderboard.addMatch(2L, "Novak", 3L, "Miroslav", ScoreCodec.WINNER_A);
+
+        // Act + Assert – bez vykreslenia celého rebríčka aj z neho
+        assertThat(leaderboard.top(2)).extracting(LeaderboardDto::getName).containsExactly("Peter", "Roger");
+        assertThat(leaderboard.top(10)).extracting(LeaderboardDto::getName).containsExactly("Peter", "Roger", "Novak");
+        leaderboard.rows();
+        assertThat(leaderboard.top(2)).extracting(LeaderboardDto::getName).containsExactly("Peter", "Roger");
+    }
+}
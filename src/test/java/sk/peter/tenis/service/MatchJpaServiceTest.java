@@ -4,16 +4,23 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import sk.peter.tenis.dto.MatchResponseDto;
 import sk.peter.tenis.entity.MatchEntity;
 import sk.peter.tenis.entity.PlayerEntity;
 import sk.peter.tenis.model.PlayerType;
+import sk.peter.tenis.repository.MatchBatchRepository;
 import sk.peter.tenis.repository.MatchRepository;
 import sk.peter.tenis.repository.PlayerRepository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
@@ -25,6 +32,9 @@ class MatchJpaServiceTest {
     @Autowired
     private PlayerRepository playerRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     void shouldCreateAndFindMatch() {
         // Arrange – vytvoríme dvoch hráčov
@@ -88,4 +98,129 @@ class MatchJpaServiceTest {
         List<MatchEntity> after = matchRepository.findAll();
         assertThat(after).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldStoreDerivedScoreColumns() {
+        // Arrange
+        PlayerEntity playerA = playerRepository.save(new PlayerEntity("Andy Murray", 37, PlayerType.PROFESIONAL));
+        PlayerEntity playerB = playerRepository.save(new PlayerEntity("Stan Wawrinka", 39, PlayerType.PROFESIONAL));
+
+        // Act
+        MatchEntity saved = matchRepository.save(
+                new MatchEntity(playerA, playerB, "4:6, 7:5, 3:6", LocalDate.of(2025, 7, 1)));
+
+        // Assert
+        MatchEntity loaded = matchRepository.findById(saved.getId()).orElseThrow();
+        assertThat(loaded.getWinner().getId()).isEqualTo(playerB.getId());
+        assertThat(loaded.getSetsA()).isEqualTo(1);
+        assertThat(loaded.getSetsB()).isEqualTo(2);
+        assertThat(loaded.getGamesA()).isEqualTo(14);
+        assertThat(loaded.getGamesB()).isEqualTo(17);
+    }
+
+    @Test
+    void shouldProjectMatchesWithPlayerNames() {
+        // Arrange
+        PlayerEntity playerA = playerRepository.save(new PlayerEntity("Daniil Medvedev", 28, PlayerType.PROFESIONAL));
+        PlayerEntity playerB = playerRepository.save(new PlayerEntity("Jannik Sinner", 23, PlayerType.PROFESIONAL));
+        matchRepository.save(new MatchEntity(playerA, playerB, "6:3, 6:4", LocalDate.of(2025, 8, 2)));
+
+        // Act
+        List<MatchResponseDto> matches = matchRepository.findAllAsResponse();
+
+        // Assert
+        assertThat(matches).hasSize(1);
+        assertThat(matches.get(0).getPlayerAName()).isEqualTo("Daniil Medvedev");
+        assertThat(matches.get(0).getPlayerBName()).isEqualTo("Jannik Sinner");
+        assertThat(matches.get(0).getScore()).isEqualTo("6:3, 6:4");
+    }
+
+    @Test
+    void shouldPageMatchesByDateAndId() {
+        // Arrange – dva zápasy v ten istý deň, jeden skôr
+        PlayerEntity playerA = playerRepository.save(new PlayerEntity("Casper Ruud", 26, PlayerType.PROFESIONAL));
+        PlayerEntity playerB = playerRepository.save(new PlayerEntity("Holger Rune", 21, PlayerType.PROFESIONAL));
+        PlayerEntity playerC = playerRepository.save(new PlayerEntity("Ben Shelton", 22, PlayerType.PROFESIONAL));
+        MatchEntity late1 = matchRepository.save(new MatchEntity(playerA, playerB, "6:1, 6:1", LocalDate.of(2025, 9, 2)));
+        MatchEntity late2 = matchRepository.save(new MatchEntity(playerC, playerA, "6:2, 6:2", LocalDate.of(2025, 9, 2)));
+        MatchEntity early = matchRepository.save(new MatchEntity(playerA, playerB, "6:3, 6:3", LocalDate.of(2025, 9, 1)));
+
+        // Act – hráč A je v dvoch zápasoch na strane A a v jednom na strane B
+        LocalDate min = MatchRepository.MIN_DATE;
+        LocalDate max = MatchRepository.MAX_DATE;
+        List<MatchResponseDto> first = matchRepository.pageByPlayerA(
+                playerA.getId(), min, max, min, 0L, Limit.of(2));
+        MatchResponseDto last = first.get(1);
+        List<MatchResponseDto> second = matchRepository.pageByPlayerB(
+                playerA.getId(), min, max, last.getDate(), last.getId(), Limit.of(2));
+
+        // Assert
+        assertThat(first).extracting(MatchResponseDto::getId).containsExactly(early.getId(), late1.getId());
+        assertThat(second).extracting(MatchResponseDto::getId).containsExactly(late2.getId());
+    }
+
+    @Test
+    void shouldStreamMatchesInIdOrder() {
+        // Arrange
+        PlayerEntity playerA = playerRepository.save(new PlayerEntity("Taylor Fritz", 27, PlayerType.PROFESIONAL));
+        PlayerEntity playerB = playerRepository.save(new PlayerEntity("Tommy Paul", 27, PlayerType.PROFESIONAL));
+        MatchEntity first = matchRepository.save(new MatchEntity(playerA, playerB, "6:4, 6:4", LocalDate.of(2025, 10, 2)));
+        MatchEntity second = matchRepository.save(new MatchEntity(playerB, playerA, "7:5, 6:4", LocalDate.of(2025, 10, 1)));
+
+        // Act
+        List<Long> ids;
+        try (Stream<MatchResponseDto> matches = matchRepository.streamAllAsResponse()) {
+            ids = matches.map(MatchResponseDto::getId).toList();
+        }
+
+        // Assert
+        assertThat(ids).containsExactly(first.getId(), second.getId());
+    }
+
+    @Test
+    void shouldFindSameMatchWithPlayersInEitherOrder() {
+        // Arrange
+        PlayerEntity playerA = playerRepository.save(new PlayerEntity("Grigor Dimitrov", 33, PlayerType.PROFESIONAL));
+        PlayerEntity playerB = playerRepository.save(new PlayerEntity("Hubert Hurkacz", 27, PlayerType.PROFESIONAL));
+        MatchEntity stored = matchRepository.save(new MatchEntity(playerA, playerB, "6:4, 6:4", LocalDate.of(2025, 11, 3)));
+
+        // Act + Assert
+        assertThat(matchRepository.findSameMatch(playerB, playerA, LocalDate.of(2025, 11, 3), "6:4, 6:4"))
+                .contains(stored);
+        assertThat(matchRepository.findSameMatch(playerA, playerB, LocalDate.of(2025, 11, 3), "6:3, 6:4"))
+                .isEmpty();
+    }
+
+    @Test
+    void shouldRejectSameMatchStoredTwice() {
+        // Arrange
+        PlayerEntity playerA = playerRepository.save(new PlayerEntity("Alex de Minaur", 25, PlayerType.PROFESIONAL));
+        PlayerEntity playerB = playerRepository.save(new PlayerEntity("Frances Tiafoe", 26, PlayerType.PROFESIONAL));
+        matchRepository.saveAndFlush(new MatchEntity(playerA, playerB, "6:4, 6:4", LocalDate.of(2025, 11, 4)));
+
+        // Act + Assert – rovnaký zápas s vymenenými hráčmi
+        assertThatThrownBy(() -> matchRepository.saveAndFlush(
+                new MatchEntity(playerB, playerA, "6:4, 6:4", LocalDate.of(2025, 11, 4))))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void shouldInsertMatchesInBatchesWithDerivedColumns() {
+        // Arrange
+        PlayerEntity playerA = playerRepository.save(new PlayerEntity("Lorenzo Musetti", 22, PlayerType.PROFESIONAL));
+        PlayerEntity playerB = playerRepository.save(new PlayerEntity("Ugo Humbert", 26, PlayerType.PROFESIONAL));
+        List<MatchEntity> matches = List.of(
+                new MatchEntity(playerA, playerB, "6:4, 6:4", LocalDate.of(2025, 12, 1)),
+                new MatchEntity(playerB, playerA, "6:4, 6:4", LocalDate.of(2025, 12, 2)));
+
+        // Act
+        long[] ids = new MatchBatchRepository(jdbcTemplate).insertAll(matches);
+
+        // Assert
+        assertThat(ids).hasSize(2).doesNotContain(0L);
+        MatchEntity second = matchRepository.findById(ids[1]).orElseThrow();
+        assertThat(second.getWinner().getId()).isEqualTo(playerB.getId());
+        assertThat(second.getPlayerLowId()).isEqualTo(Math.min(playerA.getId(), playerB.getId()));
+        assertThat(matchRepository.findKeysBetween(LocalDate.of(2025, 12, 1), LocalDate.of(2025, 12, 2))).hasSize(2);
+    }
+}
@@ -0,0 +1,74 @@
+package sk.peter.tenis.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks on H2 that the match queries are answered by the indexes declared on MatchEntity.
+ * The statements mirror the SQL generated for the MatchRepository queries.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class MatchQueryPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private String explain(String sql) {
+        return String.join("\n", jdbc.queryForList("EXPLAIN " + sql, String.class)).toUpperCase();
+    }
+
+    @Test
+    void shouldUseDateIndexForDateRange() {
+        String plan = explain("""
+                SELECT m.id FROM matches m
+                WHERE m.date >= DATE '2025-01-01' AND m.date <= DATE '2025-12-31'
+                ORDER BY m.date, m.id
+                """);
+
+        assertThat(plan).contains("IDX_MATCH_DATE");
+    }
+
+    @Test
+    void shouldUsePlayerDateIndexesForPlayerWithDateWindow() {
+        String sideA = explain("""
+                SELECT m.id FROM matches m
+                WHERE m.player_a_id = 1 AND m.date >= DATE '2025-01-01' AND m.date <= DATE '2025-12-31'
+                ORDER BY m.date, m.id
+                """);
+        String sideB = explain("""
+                SELECT m.id FROM matches m
+                WHERE m.player_b_id = 1 AND m.date >= DATE '2025-01-01' AND m.date <= DATE '2025-12-31'
+                ORDER BY m.date, m.id
+                """);
+
+        assertThat(sideA).contains("IDX_MATCH_PLAYER_A_DATE");
+        assertThat(sideB).contains("IDX_MATCH_PLAYER_B_DATE");
+    }
+
+    @Test
+    void shouldUseCanonicalKeyForDuplicateProbe() {
+        String plan = explain("""
+                SELECT m.id FROM matches m
+                WHERE m.player_low_id = 1 AND m.player_high_id = 2 AND m.date = DATE '2025-06-01'
+                  AND m.result = '6:4, 6:4'
+                """);
+
+        assertThat(plan).contains("UK_MATCH_PAIR_DATE_RESULT");
+    }
+
+    @Test
+    void shouldUseCanonicalKeyPrefixForPairingLookup() {
+        String plan = explain("""
+                SELECT m.id FROM matches m
+                WHERE m.player_low_id = 1 AND m.player_high_id = 2 AND m.date = DATE '2025-06-01'
+                """);
+
+        assertThat(plan).contains("UK_MATCH_PAIR_DATE_RESULT");
+    }
+}
@@ -0,0 +1,40 @@
+package sk.peter.tenis.service;
+
+import org.junit.jupiter.api.Test;
+import sk.peter.tenis.dto.MatchDto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MatchRulesTest {
+
+    private static MatchDto match(String a, String b, String score, String date) {
+        MatchDto dto = new MatchDto();
+        dto.setPlayerA(a);
+        dto.setPlayerB(b);
+        dto.setScore(score);
+        dto.setDate(date);
+        return dto;
+    }
+
+    @Test
+    void shouldRejectSamePlayerAndInvalidScore() {
+        // Act + Assert – rovnaký hráč na oboch stranách, potom neplatné skóre
+        assertThatThrownBy(() -> MatchRules.validate(match("Peter", " peter ", "6:4", "2025-06-01")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Player A and player B must be different.");
+        assertThatThrownBy(() -> MatchRules.validate(match("Peter", "Miroslav", "6:6", "2025-06-01")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("A set cannot end in a draw (e.g. 6:6).");
+    }
+
+    @Test
+    void shouldReportImportRowErrorsAsMessages() {
+        // Act + Assert
+        assertThat(MatchRules.validateImportRow(match("Peter", "Miroslav", "6:4, 6:4", "2025-06-01"))).isNull();
+        assertThat(MatchRules.validateImportRow(match("Peter", "Miroslav", "6:4, 6:4", "01-06-2025")))
+                .isEqualTo("Invalid date format (use YYYY-MM-DD)");
+        assertThat(MatchRules.validateImportRow(match("Peter", "", "6:4", "2025-06-01")))
+                .isEqualTo("Both player A and player B names are required.");
+    }
+}
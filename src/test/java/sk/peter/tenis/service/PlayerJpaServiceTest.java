@@ -74,4 +74,17 @@ class PlayerJpaServiceTest {
         List<PlayerEntity> after = playerRepository.findAll();
         assertThat(after).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldFindPlayerByNormalizedName() {
+        // Arrange
+        PlayerEntity saved = playerRepository.save(new PlayerEntity("Iga Swiatek", 24, PlayerType.PROFESIONAL));
+
+        // Act + Assert – veľkosť písmen a okrajové medzery sa ignorujú
+        assertThat(saved.getNameNormalized()).isEqualTo("iga swiatek");
+        assertThat(playerRepository.findByNameIgnoreCase("  IGA swiatek ")).contains(saved);
+        assertThat(playerRepository.existsByNameIgnoreCase("iga SWIATEK")).isTrue();
+        assertThat(playerRepository.findIdByNameIgnoreCase("Iga Swiatek")).contains(saved.getId());
+        assertThat(playerRepository.findByNameIgnoreCase("Coco Gauff")).isEmpty();
+    }
+}
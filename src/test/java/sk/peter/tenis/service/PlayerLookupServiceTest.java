@@ -0,0 +1,64 @@
+package sk.peter.tenis.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import sk.peter.tenis.annotations.TestWithoutSecurity;
+import sk.peter.tenis.config.BoundedCache;
+import sk.peter.tenis.config.CacheConfig;
+import sk.peter.tenis.model.Player;
+import sk.peter.tenis.model.PlayerType;
+import sk.peter.tenis.service.jpa.PlayerJpaService;
+import sk.peter.tenis.service.jpa.PlayerLookupService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestWithoutSecurity
+@ActiveProfiles("h2")
+class PlayerLookupServiceTest {
+
+    private static final String NAME = "Cache Test Hrac";
+
+    @Autowired
+    private PlayerLookupService playerLookup;
+
+    @Autowired
+    private PlayerJpaService playerJpaService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @AfterEach
+    void cleanup() {
+        playerJpaService.deleteByName(NAME);
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache_untilPlayerIsSaved() {
+        // Arrange
+        BoundedCache cache = (BoundedCache) cacheManager.getCache(CacheConfig.PLAYER_IDS);
+        cache.clear();
+        BoundedCache.Stats before = cache.stats();
+
+        // Act – neznámy hráč sa uloží do cache ako null
+        Long missing = playerLookup.findIdByName(NAME);
+        Long missingAgain = playerLookup.findIdByName(NAME.toUpperCase());
+        playerJpaService.save(new Player(NAME, 30, PlayerType.AMATER));
+        Long found = playerLookup.findIdByName(" " + NAME + " ");
+        Long foundAgain = playerLookup.findIdByName(NAME);
+
+        // Assert – uloženie hráča vyhodilo neplatný záznam z cache
+        BoundedCache.Stats after = cache.stats();
+        assertThat(missing).isNull();
+        assertThat(missingAgain).isNull();
+        assertThat(found).isNotNull().isEqualTo(foundAgain);
+        assertThat(after.misses() - before.misses()).isEqualTo(2);
+        assertThat(after.hits() - before.hits()).isEqualTo(2);
+    }
+}
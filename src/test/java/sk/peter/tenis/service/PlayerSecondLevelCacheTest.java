@@ -0,0 +1,112 @@
+package sk.peter.tenis.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import sk.peter.tenis.entity.MatchEntity;
+import sk.peter.tenis.entity.PlayerEntity;
+import sk.peter.tenis.model.PlayerType;
+import sk.peter.tenis.repository.MatchRepository;
+import sk.peter.tenis.repository.PlayerBatchRepository;
+import sk.peter.tenis.repository.PlayerRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PlayerSecondLevelCacheTest {
+
+    private static final List<String> NAMES = List.of("Carlos Alcaraz", "Jannik Sinner", "Holger Rune");
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void cleanup() {
+        // test beží bez transakcie, dáta treba zmazať ručne
+        matchRepository.deleteAll();
+        for (String name : NAMES) {
+            playerRepository.findByNameIgnoreCase(name).ifPresent(playerRepository::delete);
+        }
+    }
+
+    @Test
+    void shouldResolveMatchPlayersFromSecondLevelCache() {
+        // Arrange
+        PlayerEntity alcaraz = playerRepository.save(new PlayerEntity("Carlos Alcaraz", 21, PlayerType.PROFESIONAL));
+        PlayerEntity sinner = playerRepository.save(new PlayerEntity("Jannik Sinner", 23, PlayerType.PROFESIONAL));
+        Long matchId = matchRepository.save(new MatchEntity(alcaraz, sinner, "6:4, 6:4", LocalDate.of(2025, 6, 8))).getId();
+        // hráči s IDENTITY ID sa do cache dostanú až pri prvom načítaní
+        loadMatchPlayers(matchId);
+        statistics.clear();
+
+        // Act – nový persistence context, hráči zápasu sa načítajú lenivo
+        String players = loadMatchPlayers(matchId);
+
+        // Assert – z databázy sa číta iba samotný zápas
+        assertThat(players).isEqualTo("Carlos Alcaraz - Jannik Sinner");
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private String loadMatchPlayers(Long matchId) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            MatchEntity match = matchRepository.findById(matchId).orElseThrow();
+            return match.getPlayerA().getName() + " - " + match.getPlayerB().getName();
+        });
+    }
+
+    @Test
+    void shouldCacheNameQuery_untilPlayersAreInsertedInBatch() {
+        // Arrange
+        statistics.clear();
+
+        // Act
+        boolean before = playerRepository.findIdByNameNormalized("holger rune").isPresent();
+        boolean beforeAgain = playerRepository.findIdByNameNormalized("holger rune").isPresent();
+        new PlayerBatchRepository(jdbcTemplate, entityManagerFactory)
+                .insertAll(List.of(new PlayerEntity("Holger Rune", 21, PlayerType.PROFESIONAL)));
+        boolean after = playerRepository.findIdByNameNormalized("holger rune").isPresent();
+
+        // Assert – druhý dotaz prišiel z cache, vloženie cez JDBC cache zneplatnilo
+        assertThat(before).isFalse();
+        assertThat(beforeAgain).isFalse();
+        assertThat(after).isTrue();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getQueryCacheMissCount()).isEqualTo(2);
+    }
+}
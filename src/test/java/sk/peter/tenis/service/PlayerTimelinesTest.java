@@ -0,0 +1,49 @@
+package sk.peter.tenis.service;
+
+import org.junit.jupiter.api.Test;
+import sk.peter.tenis.util.ScoreCodec;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlayerTimelinesTest {
+
+    @Test
+    void shouldCountResultsWithinDateWindow() {
+        // Arrange – zápasy pridané mimo poradia dátumov
+        PlayerTimelines timelines = new PlayerTimelines();
+        timelines.addMatch("peter", "novak", LocalDate.of(2025, 5, 10), ScoreCodec.WINNER_A);
+        timelines.addMatch("peter", "miroslav", LocalDate.of(2025, 1, 8), ScoreCodec.WINNER_B);
+        timelines.addMatch("novak", "peter", LocalDate.of(2025, 4, 13), ScoreCodec.WINNER_B);
+        timelines.addMatch("peter", "roger", LocalDate.of(2025, 6, 1), ScoreCodec.WINNER_NONE);
+
+        // Act
+        PlayerTimelines.Totals all = timelines.totals("peter", null, null);
+        PlayerTimelines.Totals spring = timelines.totals("peter", LocalDate.of(2025, 4, 13), LocalDate.of(2025, 5, 10));
+        PlayerTimelines.Totals none = timelines.totals("peter", LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 1));
+
+        // Assert
+        assertThat(all).isEqualTo(new PlayerTimelines.Totals(4, 2, 1));
+        assertThat(spring).isEqualTo(new PlayerTimelines.Totals(2, 2, 0));
+        assertThat(none).isEqualTo(new PlayerTimelines.Totals(0, 0, 0));
+        assertThat(timelines.totals("nobody", null, null)).isEqualTo(new PlayerTimelines.Totals(0, 0, 0));
+    }
+
+    @Test
+    void shouldForgetRemovedMatch() {
+        // Arrange
+        PlayerTimelines timelines = new PlayerTimelines();
+        LocalDate date = LocalDate.of(2025, 5, 10);
+        timelines.addMatch("peter", "novak", date, ScoreCodec.WINNER_A);
+        timelines.addMatch("peter", "novak", date, ScoreCodec.WINNER_B);
+        timelines.totals("peter", null, null);
+
+        // Act
+        timelines.removeMatch("peter", "novak", date, ScoreCodec.WINNER_A);
+
+        // Assert
+        assertThat(timelines.totals("peter", date, date)).isEqualTo(new PlayerTimelines.Totals(1, 0, 1));
+        assertThat(timelines.totals("novak", date, date)).isEqualTo(new PlayerTimelines.Totals(1, 1, 0));
+    }
+}
@@ -0,0 +1,91 @@
+package sk.peter.tenis.service;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import sk.peter.tenis.entity.MatchEntity;
+import sk.peter.tenis.entity.PlayerEntity;
+import sk.peter.tenis.model.PlayerType;
+import sk.peter.tenis.repository.MatchRepository;
+import sk.peter.tenis.repository.PlayerRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReadOnlyQueryTest {
+
+    private static final List<String> NAMES = List.of("Casper Ruud", "Taylor Fritz");
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanup() {
+        // test beží bez transakcie, dáta treba zmazať ručne
+        matchRepository.deleteAll();
+        for (String name : NAMES) {
+            playerRepository.findByNameIgnoreCase(name).ifPresent(playerRepository::delete);
+        }
+    }
+
+    @Test
+    void shouldReturnSearchResultsAsReadOnlyEntities() {
+        // Arrange
+        PlayerEntity ruud = playerRepository.save(new PlayerEntity("Casper Ruud", 25, PlayerType.PROFESIONAL));
+        PlayerEntity fritz = playerRepository.save(new PlayerEntity("Taylor Fritz", 26, PlayerType.PROFESIONAL));
+        matchRepository.save(new MatchEntity(ruud, fritz, "6:3, 6:4", LocalDate.of(2025, 5, 20)));
+        matchRepository.save(new MatchEntity(fritz, ruud, "7:5, 6:2", LocalDate.of(2025, 6, 2)));
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+
+        // Act + Assert – Hibernate si pre výsledky nedrží snapshot na dirty checking
+        tx.executeWithoutResult(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            List<MatchEntity> byDate = matchRepository.search(null, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31));
+            List<MatchEntity> byPlayer = matchRepository.search(ruud.getId(), null, null);
+
+            assertThat(byDate).hasSize(2);
+            assertThat(byPlayer).hasSize(2);
+            assertThat(byDate).allMatch(session::isReadOnly);
+            assertThat(byPlayer).allMatch(session::isReadOnly);
+        });
+    }
+
+    @Test
+    void shouldNotFlushChangesMadeInReadOnlyTransaction() {
+        // Arrange
+        PlayerEntity ruud = playerRepository.save(new PlayerEntity("Casper Ruud", 25, PlayerType.PROFESIONAL));
+        PlayerEntity fritz = playerRepository.save(new PlayerEntity("Taylor Fritz", 26, PlayerType.PROFESIONAL));
+        Long matchId = matchRepository.save(new MatchEntity(ruud, fritz, "6:3, 6:4", LocalDate.of(2025, 5, 20))).getId();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+
+        // Act – zmena entity v read-only transakcii
+        tx.executeWithoutResult(status -> matchRepository.findById(matchId).orElseThrow().setResult("0:6, 0:6"));
+
+        // Assert
+        assertThat(matchRepository.findById(matchId).orElseThrow().getResult()).isEqualTo("6:3, 6:4");
+    }
+}
@@ -0,0 +1,88 @@
+package sk.peter.tenis.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import sk.peter.tenis.entity.MatchEntity;
+import sk.peter.tenis.entity.PlayerEntity;
+import sk.peter.tenis.model.PlayerType;
+import sk.peter.tenis.repository.MatchBatchRepository;
+import sk.peter.tenis.repository.MatchRepository;
+import sk.peter.tenis.repository.PlayerBatchRepository;
+import sk.peter.tenis.repository.PlayerRepository;
+import sk.peter.tenis.service.jpa.SeedJpaService;
+import sk.peter.tenis.service.jpa.SeedJpaService.MatchRow;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SeedJpaServiceTest {
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SeedJpaService seedService;
+
+    @BeforeEach
+    void setup() {
+        seedService = new SeedJpaService(playerRepository,
+                new PlayerBatchRepository(jdbcTemplate, entityManagerFactory), new MatchBatchRepository(jdbcTemplate), event -> { }, new DataVersion());
+    }
+
+    @Test
+    void shouldSeedPlayersOnceByNormalizedName() {
+        // Arrange
+        playerRepository.save(new PlayerEntity("Jannik Sinner", 23, PlayerType.PROFESIONAL));
+
+        // Act
+        int inserted = seedService.seedPlayers(List.of(
+                new PlayerEntity("JANNIK SINNER", 23, PlayerType.PROFESIONAL),
+                new PlayerEntity("Casper Ruud", 26, PlayerType.PROFESIONAL),
+                new PlayerEntity(" casper ruud ", 26, PlayerType.AMATER)));
+
+        // Assert
+        assertThat(inserted).isEqualTo(1);
+        PlayerEntity ruud = playerRepository.findByNameIgnoreCase("casper ruud").orElseThrow();
+        assertThat(ruud.getType()).isEqualTo(PlayerType.PROFESIONAL);
+    }
+
+    @Test
+    void shouldSeedMatchesSkippingUnknownPlayersAndRepeatedRows() {
+        // Arrange
+        PlayerEntity playerA = playerRepository.save(new PlayerEntity("Holger Rune", 21, PlayerType.PROFESIONAL));
+        PlayerEntity playerB = playerRepository.save(new PlayerEntity("Ben Shelton", 22, PlayerType.PROFESIONAL));
+        LocalDate date = LocalDate.of(2026, 1, 10);
+
+        // Act – rovnaký zápas s vymenenými hráčmi a neznámy hráč sa preskočia
+        int inserted = seedService.seedMatches(Stream.of(
+                new MatchRow("holger rune", "Ben Shelton", "6:4, 6:4", date),
+                new MatchRow("Ben Shelton", "Holger Rune", "6:4, 6:4", date),
+                new MatchRow("Holger Rune", "Nobody", "6:4, 6:4", date),
+                new MatchRow("Ben Shelton", "Holger Rune", "7:5, 6:4", date)));
+
+        // Assert
+        assertThat(inserted).isEqualTo(2);
+        List<MatchEntity> stored = matchRepository.findByDateBetween(date, date);
+        assertThat(stored).hasSize(2);
+        assertThat(stored).extracting(m -> m.getWinner().getId())
+                .containsExactlyInAnyOrder(playerA.getId(), playerB.getId());
+    }
+}
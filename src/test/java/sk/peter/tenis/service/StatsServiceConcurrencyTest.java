@@ -0,0 +1,90 @@
+package sk.peter.tenis.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sk.peter.tenis.dto.LeaderboardDto;
+import sk.peter.tenis.repository.MatchRepository;
+import sk.peter.tenis.repository.PlayerRepository;
+import sk.peter.tenis.repository.PlayerResultRow;
+import sk.peter.tenis.service.jpa.MatchChangedEvent;
+import sk.peter.tenis.service.jpa.PlayerLookupService;
+import sk.peter.tenis.util.ScoreCodec;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class StatsServiceConcurrencyTest {
+
+    private final MatchRepository matchRepository = mock(MatchRepository.class);
+    private final StatsService statsService = new StatsService(matchRepository, mock(PlayerRepository.class),
+            mock(PlayerLookupService.class), new DataVersion(), mock(PlatformTransactionManager.class));
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldCountMatchOnce_whenCommittedWhileLeaderboardLoads() throws Exception {
+        // Arrange – prvé načítanie rebríčka čaká, kým súbežný zápis commitne nový zápas
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        List<PlayerResultRow> afterCommit = List.of(row(1L, "Peter", 2, 2, 0), row(2L, "Miroslav", 2, 0, 2));
+        given(matchRepository.aggregatePlayerResults())
+                .willAnswer(invocation -> {
+                    loadStarted.countDown();
+                    assertThat(committed.await(5, TimeUnit.SECONDS)).isTrue();
+                    return afterCommit;
+                })
+                .willReturn(afterCommit);
+
+        MatchChangedEvent event = MatchChangedEvent.added(List.of(new MatchChangedEvent.Outcome(
+                2L, 1L, "Peter", 2L, "Miroslav", LocalDate.of(2025, 6, 2), ScoreCodec.WINNER_A)));
+
+        // Act – zápis ohlási zmenu vo svojej transakcii a commitne, kým načítanie beží
+        CompletableFuture<List<LeaderboardDto>> load = CompletableFuture.supplyAsync(statsService::getLeaderboard);
+        assertThat(loadStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        TransactionSynchronizationManager.initSynchronization();
+        statsService.onMatchChangePublished(event);
+        List<TransactionSynchronization> writeTransaction = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        committed.countDown();
+
+        // načítanie už vidí commitnutý zápas; udalosť po commite čaká na jeho koniec (synchronized)
+        assertThat(load.get(5, TimeUnit.SECONDS)).isNotEmpty();
+        statsService.onMatchChanged(event);
+        writeTransaction.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Assert – zápas sa nesmie započítať dvakrát
+        assertThat(statsService.getLeaderboard())
+                .filteredOn(row -> row.getName().equals("Peter"))
+                .singleElement()
+                .satisfies(row -> {
+                    assertThat(row.getMatches()).isEqualTo(2);
+                    assertThat(row.getWins()).isEqualTo(2);
+                });
+    }
+
+    private static PlayerResultRow row(long id, String name, long played, long wins, long losses) {
+        PlayerResultRow row = mock(PlayerResultRow.class);
+        given(row.getId()).willReturn(id);
+        given(row.getName()).willReturn(name);
+        given(row.getPlayed()).willReturn(played);
+        given(row.getWins()).willReturn(wins);
+        given(row.getLosses()).willReturn(losses);
+        return row;
+    }
+}
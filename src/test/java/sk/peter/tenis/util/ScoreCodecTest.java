@@ -0,0 +1,77 @@
+package sk.peter.tenis.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoreCodecTest {
+
+    @Test
+    void shouldEncodeSetsGamesAndWinner() {
+        int score = ScoreCodec.encode("6:4, 3:6, 7:5");
+
+        assertThat(ScoreCodec.isValid(score)).isTrue();
+        assertThat(ScoreCodec.setsA(score)).isEqualTo(2);
+        assertThat(ScoreCodec.setsB(score)).isEqualTo(1);
+        assertThat(ScoreCodec.gamesA(score)).isEqualTo(16);
+        assertThat(ScoreCodec.gamesB(score)).isEqualTo(15);
+        assertThat(ScoreCodec.winner(score)).isEqualTo(ScoreCodec.WINNER_A);
+    }
+
+    @Test
+    void shouldDetectWinnerB() {
+        int score = ScoreCodec.encode("6:7, 6:7, 6:7");
+
+        assertThat(ScoreCodec.isValid(score)).isTrue();
+        assertThat(ScoreCodec.winner(score)).isEqualTo(ScoreCodec.WINNER_B);
+    }
+
+    @Test
+    void shouldReportRuleViolations() {
+        assertThat(ScoreCodec.error(ScoreCodec.encode(null))).isEqualTo(ScoreCodec.ERR_EMPTY);
+        assertThat(ScoreCodec.error(ScoreCodec.encode("  "))).isEqualTo(ScoreCodec.ERR_EMPTY);
+        assertThat(ScoreCodec.error(ScoreCodec.encode("6-4"))).isEqualTo(ScoreCodec.ERR_FORMAT);
+        assertThat(ScoreCodec.error(ScoreCodec.encode("6:x"))).isEqualTo(ScoreCodec.ERR_NOT_NUMBER);
+        assertThat(ScoreCodec.error(ScoreCodec.encode("6:6"))).isEqualTo(ScoreCodec.ERR_DRAW);
+        assertThat(ScoreCodec.error(ScoreCodec.encode("5:3"))).isEqualTo(ScoreCodec.ERR_TOO_FEW_GAMES);
+        assertThat(ScoreCodec.error(ScoreCodec.encode("6:5"))).isEqualTo(ScoreCodec.ERR_SIX_GAMES_MARGIN);
+        assertThat(ScoreCodec.error(ScoreCodec.encode("7:4"))).isEqualTo(ScoreCodec.ERR_SEVEN_GAMES);
+        assertThat(ScoreCodec.error(ScoreCodec.encode("8:6"))).isEqualTo(ScoreCodec.ERR_TOO_MANY_GAMES);
+    }
+
+    @Test
+    void shouldReportFirstViolationAndStillCountWellFormedSets() {
+        int score = ScoreCodec.encode("6:4, 6-3, 5:7");
+
+        assertThat(ScoreCodec.error(score)).isEqualTo(ScoreCodec.ERR_FORMAT);
+        assertThat(ScoreCodec.setsA(score)).isEqualTo(1);
+        assertThat(ScoreCodec.setsB(score)).isEqualTo(1);
+        assertThat(ScoreCodec.winner(score)).isEqualTo(ScoreCodec.WINNER_NONE);
+    }
+
+    @Test
+    void shouldAcceptLenientNotation_likeTheSplitBasedParser() {
+        // Act
+        int trailingSeparator = ScoreCodec.encode("6:4, 7:5,");
+        int leadingZeros = ScoreCodec.encode("06:4");
+        int spacesInSet = ScoreCodec.encode("6 : 4, 3 :6");
+
+        // Assert
+        assertThat(ScoreCodec.isValid(trailingSeparator)).isTrue();
+        assertThat(ScoreCodec.setsA(trailingSeparator)).isEqualTo(2);
+        assertThat(ScoreCodec.isValid(leadingZeros)).isTrue();
+        assertThat(ScoreCodec.gamesA(leadingZeros)).isEqualTo(6);
+        assertThat(ScoreCodec.isValid(spacesInSet)).isTrue();
+        assertThat(ScoreCodec.gamesA(spacesInSet)).isEqualTo(9);
+        assertThat(ScoreCodec.gamesB(spacesInSet)).isEqualTo(10);
+    }
+
+    @Test
+    void shouldRejectEmptySetsAndSeparatorsOnly() {
+        // Act + Assert – prázdna sada v strede alebo na začiatku je chyba formátu
+        assertThat(ScoreCodec.error(ScoreCodec.encode("6:4,, 6:3"))).isEqualTo(ScoreCodec.ERR_FORMAT);
+        assertThat(ScoreCodec.error(ScoreCodec.encode(", 6:4"))).isEqualTo(ScoreCodec.ERR_FORMAT);
+        assertThat(ScoreCodec.error(ScoreCodec.encode(" , "))).isEqualTo(ScoreCodec.ERR_EMPTY);
+        assertThat(ScoreCodec.error(ScoreCodec.encode("6 4:6"))).isEqualTo(ScoreCodec.ERR_NOT_NUMBER);
+    }
+}
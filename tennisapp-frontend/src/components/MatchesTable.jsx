@@ -1,16 +1,21 @@
 import { useEffect, useState } from "react";
 import { api } from "../services/api";
 
+const PAGE_SIZE = 50;
+
 export default function MatchesTable({ canDelete, onMatchesChanged }) {
   const [matches, setMatches] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError] = useState("");
 
   useEffect(() => {
     const fetchMatches = async () => {
       try {
-        const data = await api.getMatches();
-        setMatches(Array.isArray(data) ? data : []);
+        const page = await api.getMatchesPage({ size: PAGE_SIZE });
+        setMatches(Array.isArray(page?.items) ? page.items : []);
+        setNextCursor(page?.nextCursor ?? null);
       } catch (err) {
         setError(err.message);
       } finally {
@@ -20,6 +25,20 @@ export default function MatchesTable({ canDelete, onMatchesChanged }) {
     fetchMatches();
   }, []);
 
+  const loadMore = async () => {
+    if (!nextCursor) return;
+    setLoadingMore(true);
+    try {
+      const page = await api.getMatchesPage({ size: PAGE_SIZE, cursor: nextCursor });
+      setMatches((prev) => [...prev, ...(page?.items ?? [])]);
+      setNextCursor(page?.nextCursor ?? null);
+    } catch (err) {
+      setError(err.message);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const deleteMatch = async (id) => {
     if (!window.confirm("Naozaj chceš zmazať tento zápas?")) return;
     try {
@@ -67,6 +86,11 @@ export default function MatchesTable({ canDelete, onMatchesChanged }) {
           ))}
         </tbody>
       </table>
+      {nextCursor && (
+        <button onClick={loadMore} disabled={loadingMore}>
+          {loadingMore ? "Načítavam..." : "Načítať ďalšie"}
+        </button>
+      )}
     </div>
   );
 }
\ No newline at end of file
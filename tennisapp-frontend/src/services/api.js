@@ -117,6 +117,19 @@ export const api = {
     return handle(await fetch(`${BASE_URL}/api/matches`));
   },
 
+  // jedna stránka zápasov zoradená podľa dátumu – { items, nextCursor }
+  async getMatchesPage({ size = 50, cursor, player, from, to } = {}) {
+    const params = new URLSearchParams({ size: String(size) });
+    if (cursor) params.append("cursor", cursor);
+    if (player) params.append("player", player);
+    if (from) params.append("from", from);
+    if (to) params.append("to", to);
+
+    return handle(
+      await fetch(`${BASE_URL}/api/matches?${params.toString()}`)
+    );
+  },
+
   async deleteMatch(id) {
     return handle(
       await fetch(`${BASE_URL}/api/matches/${id}`, {